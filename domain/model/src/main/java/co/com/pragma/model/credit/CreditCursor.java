@@ -0,0 +1,36 @@
+package co.com.pragma.model.credit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición opaca en el listado ordenado por {@code (fecha_creacion, id)} descendente.
+ * Se serializa en Base64 URL-safe para que el cliente no dependa de su formato; el punto de
+ * entrada la decodifica para rechazar un cursor inválido con 400 antes de consultar.
+ */
+public record CreditCursor(LocalDateTime fechaCreacion, Long id) {
+
+  public static final String ERROR_INVALID_CURSOR = "Cursor de paginación inválido";
+  private static final String SEPARATOR = "|";
+
+  public String encode() {
+    String raw = fechaCreacion + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static CreditCursor decode(String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = raw.lastIndexOf(SEPARATOR);
+      if (separator <= 0) {
+        throw new IllegalArgumentException(ERROR_INVALID_CURSOR);
+      }
+      return new CreditCursor(LocalDateTime.parse(raw.substring(0, separator)),
+              Long.valueOf(raw.substring(separator + 1)));
+    } catch (DateTimeParseException | IllegalArgumentException e) {
+      throw new IllegalArgumentException(ERROR_INVALID_CURSOR, e);
+    }
+  }
+}
@@ -18,6 +18,7 @@ public class CreditDetailDTO {
   private Double tasainteres;
   private Double salariobase;
   private String estadosolicitud;
+  private String cursor;
 }
 
 
@@ -0,0 +1,35 @@
+package co.com.pragma.model.credit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class CreditListFilter {
+  private String estado;
+  private String estadoSolicitud;
+  private Long tipoCredito;
+  private LocalDate fechaDesde;
+  private LocalDate fechaHasta;
+  private BigDecimal montoMin;
+  private BigDecimal montoMax;
+  private CreditSortField sortBy;
+  private Boolean ascending;
+
+  public boolean hasCriteria() {
+    return hasConditions() || sortBy != null || ascending != null;
+  }
+
+  public boolean hasConditions() {
+    return estado != null || estadoSolicitud != null || tipoCredito != null
+            || fechaDesde != null || fechaHasta != null
+            || montoMin != null || montoMax != null;
+  }
+}
@@ -15,5 +15,7 @@ public class CreditListResponse {
   private String statusResponse;
   private List<CreditDetailDTO> creditDetailDTO;
   private Long totalCredits;
+  private Boolean totalExact;
+  private String nextCursor;
   private String errorMessage;
 }
@@ -0,0 +1,17 @@
+package co.com.pragma.model.credit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class CreditPage {
+  private List<CreditDetailDTO> credits;
+  private CreditCount count;
+}
@@ -0,0 +1,5 @@
+package co.com.pragma.model.credit;
+
+public enum CreditSortField {
+  FECHA_CREACION, MONTO, PLAZO
+}
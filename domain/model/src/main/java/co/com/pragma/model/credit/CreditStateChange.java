@@ -0,0 +1,15 @@
+package co.com.pragma.model.credit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class CreditStateChange {
+  private Long idSolicitud;
+  private String estado;
+}
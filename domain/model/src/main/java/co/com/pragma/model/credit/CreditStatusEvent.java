@@ -0,0 +1,19 @@
+package co.com.pragma.model.credit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class CreditStatusEvent {
+  private Long idSolicitud;
+  private Long userId;
+  private String estado;
+  private LocalDateTime fecha;
+}
@@ -1,19 +1,44 @@
 package co.com.pragma.model.gateway;
 
+import co.com.pragma.model.credit.CreditCount;
+import co.com.pragma.model.credit.CreditCursor;
 import co.com.pragma.model.credit.CreditDetailDTO;
+import co.com.pragma.model.credit.CreditListFilter;
+import co.com.pragma.model.credit.CreditPage;
 import co.com.pragma.model.credit.CreditParameters;
 import co.com.pragma.model.credit.CreditReponse;
+import co.com.pragma.model.credit.CreditStateChange;
+import co.com.pragma.model.credit.PrestamoActivo;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.Map;
 
 public interface CreditGateway {
   Mono<CreditReponse> createCredit(CreditParameters creditParameters);
-  Flux<CreditDetailDTO> findAllCredits(int page, int size, String token);
+  Flux<CreditReponse> createCredits(List<CreditParameters> credits);
+  /**
+   * Filas por bloque que createCredits escribe con una sola sentencia; la carga masiva acumula
+   * los elementos válidos en bloques de este tamaño.
+   */
+  int creditBatchSize();
+  Flux<CreditDetailDTO> findAllCredits(int page, int size);
+  Mono<CreditPage> findCreditPage(int page, int size);
+  Mono<CreditPage> findCreditPage(CreditListFilter filter, int page, int size);
+  Flux<CreditDetailDTO> findAllCreditsByCursor(CreditCursor cursor, int size);
   Mono<Long> findSizeAllCredits();
+  Mono<CreditCount> countCredits();
+  Mono<Long> findCreditListVersion();
   Mono<CreditReponse> findById(Long id);
+  /**
+   * Como findById, pero siempre contra el primario y sin caché: para quien necesita el último
+   * estado confirmado.
+   */
+  Mono<CreditReponse> findLatestById(Long id);
   Mono<CreditParameters> save(CreditParameters creditParameters);
   Flux<CreditParameters> findAllCredits(String userId);
+  Flux<PrestamoActivo> findActiveLoans(Long userId);
   Mono<CreditParameters> updateState(Long id, String estado);
+  Flux<CreditParameters> updateStates(List<CreditStateChange> changes);
 }
@@ -0,0 +1,10 @@
+package co.com.pragma.model.gateway;
+
+import co.com.pragma.model.credit.CreditStatusEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface CreditStatusEventGateway {
+  Mono<Void> publish(CreditStatusEvent event);
+  Flux<CreditStatusEvent> events();
+}
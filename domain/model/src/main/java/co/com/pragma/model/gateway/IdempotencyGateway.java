@@ -0,0 +1,14 @@
+package co.com.pragma.model.gateway;
+
+import reactor.core.publisher.Mono;
+
+public interface IdempotencyGateway {
+  /**
+   * Ejecuta action una sola vez por clave mientras la clave no expire. Las peticiones
+   * concurrentes con la misma clave esperan a la primera y las posteriores reciben su
+   * respuesta guardada. Si fingerprint no coincide con el de la primera ejecución se
+   * emite IdempotencyConflictException. Solo se guarda un resultado exitoso: si action
+   * falla, la clave se libera y el error se propaga a todos los que esperaban.
+   */
+  <T> Mono<T> execute(String key, String fingerprint, Class<T> type, Mono<T> action);
+}
@@ -1,9 +1,16 @@
 package co.com.pragma.model.gateway;
 
+import co.com.pragma.model.token.TokenClaims;
+
 import java.util.List;
 
 public interface JwtProvider {
   boolean validateToken(String token);
+  /**
+   * true si la firma del token ya se verificó y sus claims siguen en caché; no verifica nada.
+   */
+  boolean isVerified(String token);
+  TokenClaims getClaimsFromToken(String token);
   String getUserIdFromToken(String token);
   String getEmailFromToken(String token);
   Double getSalarioFromToken(String token);
@@ -0,0 +1,21 @@
+package co.com.pragma.model.idempotency;
+
+import lombok.Getter;
+
+@Getter
+public class IdempotencyConflictException extends RuntimeException {
+
+  public enum Reason {
+    /** La clave ya se usó con otro cuerpo de petición. */
+    KEY_REUSED,
+    /** Otra petición con la misma clave sigue en curso y no terminó dentro del tiempo de espera. */
+    IN_PROGRESS
+  }
+
+  private final Reason reason;
+
+  public IdempotencyConflictException(Reason reason, String message) {
+    super(message);
+    this.reason = reason;
+  }
+}
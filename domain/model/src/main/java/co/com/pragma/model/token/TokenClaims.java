@@ -0,0 +1,29 @@
+package co.com.pragma.model.token;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Inmutable: el proveedor de JWT reutiliza la misma instancia para todas las peticiones con el
+ * mismo token.
+ */
+@Value
+public class TokenClaims {
+  String userId;
+  List<String> roles;
+  String email;
+  Double salarioBase;
+  Instant expiration;
+
+  @Builder(toBuilder = true)
+  public TokenClaims(String userId, List<String> roles, String email, Double salarioBase, Instant expiration) {
+    this.userId = userId;
+    this.roles = roles != null ? List.copyOf(roles) : null;
+    this.email = email;
+    this.salarioBase = salarioBase;
+    this.expiration = expiration;
+  }
+}
@@ -0,0 +1,39 @@
+package co.com.pragma.model.credit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CreditCursorTest {
+
+  @Test
+  void encodeAndDecode_shouldRoundTrip() {
+    // Arrange
+    CreditCursor cursor = new CreditCursor(LocalDateTime.parse("2024-03-01T08:15:30.123456"), 99L);
+
+    // Act
+    String encoded = cursor.encode();
+
+    // Assert
+    assertFalse(encoded.contains("="));
+    assertEquals(cursor, CreditCursor.decode(encoded));
+  }
+
+  @Test
+  void decode_nullDate_shouldThrowIllegalArgument() {
+    String encoded = new CreditCursor(null, 99L).encode();
+
+    assertThrows(IllegalArgumentException.class, () -> CreditCursor.decode(encoded));
+  }
+
+  @Test
+  void decode_invalidCursor_shouldThrowIllegalArgument() {
+    IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+            () -> CreditCursor.decode("@@@"));
+    assertEquals(CreditCursor.ERROR_INVALID_CURSOR, error.getMessage());
+  }
+}
@@ -2,6 +2,7 @@ package co.com.pragma.usecase;
 
 import co.com.pragma.model.credit.*;
 import co.com.pragma.model.gateway.*;
+import co.com.pragma.model.token.TokenClaims;
 import co.com.pragma.usecase.exceptions.ConstraintViolation;
 import co.com.pragma.usecase.exceptions.ConstraintViolationException;
 import co.com.pragma.usecase.gateway.GatewayExposeUser;
@@ -23,15 +24,14 @@ public class CalculateDebtCapacityUseCase {
   private final GatewayExposeUser gatewayExposeUser;
   private final NotificacionSQSCapacidadGateway notificacionSQSCapacidadGateway;
   private final JsonConverter jsonConverter;
-  private final JwtProvider jwtProvider;
   private final CreditTypeGateway creditTypeGateway;
 
-  public Mono<CreditReponse> createCreditAutomatic(CreditParameters creditParameters, String token) {
+  public Mono<CreditReponse> createCreditAutomatic(CreditParameters creditParameters, TokenClaims tokenClaims) {
     log.info(Constants.LOG_INIT_CREDIT_CREATION);
-    String email = jwtProvider.getEmailFromToken(token);
-    String saldo = String.valueOf(jwtProvider.getSalarioFromToken(token));
+    String email = tokenClaims.getEmail();
+    String saldo = String.valueOf(tokenClaims.getSalarioBase());
     return Mono.just(creditParameters)
-            .flatMap(params -> validateJwtIdUser(params, token))
+            .flatMap(params -> validateJwtIdUser(params, tokenClaims))
             .flatMap(this::validateCreditType)
             .flatMap(this::validateUserExistence)
             .doOnNext(creditReponse -> creditReponse.getCreditParameters().setEmailNotification(email))
@@ -71,14 +71,7 @@ public class CalculateDebtCapacityUseCase {
   }
 
   Mono<List<PrestamoActivo>> obtenerPrestamosActivos(Long userId) {
-    return creditGateway.findAllCredits(String.valueOf(userId))
-            .filter(credit -> Constants.STATUS_APPROVED.equals(credit.getEstado()))
-            .map(credit -> PrestamoActivo.builder()
-                    .prestamoId(String.valueOf(credit.getIdEntidadGuardada()))
-                    .monto(credit.getMonto().doubleValue())
-                    .plazoMeses(credit.getPlazoMeses())
-                    .tasaInteresMensual(credit.getTasaInteres().doubleValue())
-                    .build())
+    return creditGateway.findActiveLoans(userId)
             .collectList();
   }
 
@@ -99,8 +92,8 @@ public class CalculateDebtCapacityUseCase {
             });
   }
 
-  Mono<CreditReponse> validateJwtIdUser(CreditParameters parameters, String token) {
-    String userId = jwtProvider.getUserIdFromToken(token);
+  Mono<CreditReponse> validateJwtIdUser(CreditParameters parameters, TokenClaims tokenClaims) {
+    String userId = tokenClaims.getUserId();
     if (!String.valueOf(parameters.getUserId()).equals(userId)) {
       log.warning(Constants.LOG_USER_ID_MISMATCH);
       return buildErrorResponse(parameters)
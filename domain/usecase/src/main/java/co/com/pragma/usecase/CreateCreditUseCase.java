@@ -4,15 +4,26 @@ import co.com.pragma.model.credit.CreditParameters;
 import co.com.pragma.model.credit.CreditReponse;
 import co.com.pragma.model.gateway.CreditGateway;
 import co.com.pragma.model.gateway.CreditTypeGateway;
-import co.com.pragma.model.gateway.JwtProvider;
+import co.com.pragma.model.gateway.IdempotencyGateway;
+import co.com.pragma.model.token.TokenClaims;
 import co.com.pragma.usecase.exceptions.ConstraintViolation;
 import co.com.pragma.usecase.exceptions.ConstraintViolationException;
 import co.com.pragma.usecase.gateway.GatewayExposeUser;
 import co.com.pragma.usecase.utils.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.java.Log;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Log
@@ -22,13 +33,13 @@ public class CreateCreditUseCase {
   private final GatewayExposeUser gatewayExposeUser;
   private final CreditTypeGateway creditTypeGateway;
   private final CreditGateway creditGateway;
-  private final JwtProvider jwtProvider;
+  private final IdempotencyGateway idempotencyGateway;
 
-  public Mono<CreditReponse> createCredit(CreditParameters creditParameters, String token) {
+  public Mono<CreditReponse> createCredit(CreditParameters creditParameters, TokenClaims tokenClaims) {
     log.info(Constants.LOG_INIT_CREDIT_CREATION);
-    String email = jwtProvider.getEmailFromToken(token);
+    String email = tokenClaims.getEmail();
     return Mono.just(creditParameters)
-            .flatMap(params -> validateJwtIdUser(params, token))
+            .flatMap(params -> validateJwtIdUser(params, tokenClaims))
             .flatMap(this::validateCreditType)
             .flatMap(this::validateUserExistence)
             .doOnNext(creditReponse -> creditReponse.getCreditParameters().setEmailNotification(email))
@@ -37,8 +48,130 @@ public class CreateCreditUseCase {
             .doOnSuccess(response -> log.info(Constants.LOG_END_CREDIT_CREATION + response.getStatusResponse()));
   }
 
-  private Mono<CreditReponse> validateJwtIdUser(CreditParameters parameters, String token){
-    String userId = jwtProvider.getUserIdFromToken(token);
+  /**
+   * Igual que createCredit, pero con Idempotency-Key: un reintento con la misma clave devuelve
+   * la respuesta de la primera ejecución sin volver a validar ni insertar. La clave se acota
+   * al usuario del token para que dos clientes no compartan respuestas. Solo se guarda una
+   * respuesta OK: las respuestas de error salen del gateway como excepción para que libere la
+   * clave, y aquí se devuelven tal cual.
+   */
+  public Mono<CreditReponse> createCredit(CreditParameters creditParameters, TokenClaims tokenClaims,
+                                          String idempotencyKey) {
+    if (idempotencyKey == null || idempotencyKey.isBlank()) {
+      return createCredit(creditParameters, tokenClaims);
+    }
+    String fingerprint = fingerprint(creditParameters);
+    Mono<CreditReponse> action = Mono.defer(() -> createCredit(creditParameters, tokenClaims))
+            .flatMap(response -> Constants.STATUS_OK.equals(response.getStatusResponse())
+                    ? Mono.just(response)
+                    : Mono.error(new UnsuccessfulResponse(response)));
+    return idempotencyGateway.execute(tokenClaims.getUserId() + Constants.IDEMPOTENCY_KEY_SEPARATOR + idempotencyKey,
+                    fingerprint, CreditReponse.class, action)
+            .onErrorResume(UnsuccessfulResponse.class, e -> Mono.just(e.response));
+  }
+
+  private static final class UnsuccessfulResponse extends RuntimeException {
+    private final transient CreditReponse response;
+
+    private UnsuccessfulResponse(CreditReponse response) {
+      super(response.getErrorMessage(), null, false, false);
+      this.response = response;
+    }
+  }
+
+  private static String fingerprint(CreditParameters creditParameters) {
+    try {
+      byte[] digest = MessageDigest.getInstance(Constants.FINGERPRINT_ALGORITHM)
+              .digest(creditParameters.toString().getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Carga masiva: cada elemento se valida con las mismas reglas que createCredit, pero las
+   * consultas de tipo de crédito y de usuario se comparten dentro del lote. Los válidos se
+   * guardan por bloques del tamaño que admite el gateway y se emite una respuesta por elemento
+   * en el orden de entrada, también para los que fallan la validación.
+   */
+  public Flux<CreditReponse> createCredits(Flux<CreditParameters> credits, TokenClaims tokenClaims) {
+    Map<Long, Mono<Long>> creditTypes = new ConcurrentHashMap<>();
+    Map<Long, Mono<Long>> users = new ConcurrentHashMap<>();
+    Function<Long, Mono<Long>> creditTypeLookup =
+            id -> creditTypes.computeIfAbsent(id, key -> creditTypeGateway.getCreditTypeById(key).cache());
+    Function<Long, Mono<Long>> userLookup =
+            document -> users.computeIfAbsent(document, key -> gatewayExposeUser.findByDocument(key).cache());
+
+    return credits
+            .flatMapSequential(params -> validateBatchItem(params, tokenClaims, creditTypeLookup, userLookup),
+                    Constants.BATCH_VALIDATION_CONCURRENCY)
+            .buffer(creditGateway.creditBatchSize())
+            .concatMap(this::persistCredits);
+  }
+
+  private Mono<CreditReponse> validateBatchItem(CreditParameters params, TokenClaims tokenClaims,
+                                                Function<Long, Mono<Long>> creditTypeLookup,
+                                                Function<Long, Mono<Long>> userLookup) {
+    return validateJwtIdUser(params, tokenClaims)
+            .flatMap(response -> validateCreditType(response, creditTypeLookup)
+                    .switchIfEmpty(buildResponseMono(Constants.STATUS_ERROR, params,
+                            Constants.MSG_CREDIT_TYPE_NOT_FOUND)))
+            .flatMap(response -> isError(response)
+                    ? Mono.just(response)
+                    : validateUserExistence(response, userLookup).switchIfEmpty(buildErrorResponse(params)))
+            .doOnNext(response -> response.getCreditParameters().setEmailNotification(tokenClaims.getEmail()))
+            .onErrorResume(e -> buildResponseMono(Constants.STATUS_ERROR, params, extractErrorMessage(e)));
+  }
+
+  private Flux<CreditReponse> persistCredits(List<CreditReponse> chunk) {
+    List<CreditParameters> valid = chunk.stream()
+            .filter(response -> !isError(response))
+            .map(CreditReponse::getCreditParameters)
+            .toList();
+    if (valid.isEmpty()) {
+      return Flux.fromIterable(chunk);
+    }
+    log.info(Constants.LOG_SAVING_CREDIT_BATCH + valid.size());
+
+    return creditGateway.createCredits(valid)
+            .collectList()
+            .flatMapMany(saved -> Flux.fromIterable(pairWithSaved(chunk, valid.size(), saved)));
+  }
+
+  private List<CreditReponse> pairWithSaved(List<CreditReponse> chunk, int validCount, List<CreditReponse> saved) {
+    boolean matches = saved.size() == validCount;
+    if (!matches) {
+      log.severe(Constants.LOG_BATCH_SIZE_MISMATCH + saved.size() + Constants.COMMA_SEPARATOR + validCount);
+    }
+    List<CreditReponse> results = new ArrayList<>(chunk.size());
+    int next = 0;
+    for (CreditReponse response : chunk) {
+      if (isError(response)) {
+        results.add(response);
+      } else if (matches) {
+        results.add(toBatchResult(saved.get(next++)));
+      } else {
+        results.add(buildResponse(Constants.STATUS_ERROR, response.getCreditParameters(),
+                Constants.MSG_UNEXPECTED_ERROR));
+      }
+    }
+    return results;
+  }
+
+  private CreditReponse toBatchResult(CreditReponse saved) {
+    if (saved.getErrorMessage() != null) {
+      return buildResponse(Constants.STATUS_ERROR, saved.getCreditParameters(), Constants.MSG_UNEXPECTED_ERROR);
+    }
+    return buildResponse(Constants.STATUS_OK, saved.getCreditParameters(), null);
+  }
+
+  private boolean isError(CreditReponse response) {
+    return Constants.STATUS_ERROR.equals(response.getStatusResponse());
+  }
+
+  private Mono<CreditReponse> validateJwtIdUser(CreditParameters parameters, TokenClaims tokenClaims){
+    String userId = tokenClaims.getUserId();
     if(!String.valueOf(parameters.getUserId()).equals(userId)){
       log.warning(Constants.LOG_USER_ID_MISMATCH);
       return buildErrorResponse(parameters)
@@ -51,9 +184,13 @@ public class CreateCreditUseCase {
   }
 
   private Mono<CreditReponse> validateUserExistence(CreditReponse response) {
+    return validateUserExistence(response, gatewayExposeUser::findByDocument);
+  }
+
+  private Mono<CreditReponse> validateUserExistence(CreditReponse response, Function<Long, Mono<Long>> userLookup) {
     CreditParameters params = response.getCreditParameters();
     log.info(Constants.LOG_VALIDATING_USER + params.getDocumentNumber());
-    return gatewayExposeUser.findByDocument(params.getDocumentNumber())
+    return userLookup.apply(params.getDocumentNumber())
             .flatMap(userId -> {
               if (userId == null || userId == 0L) {
                 return buildErrorResponse(params);
@@ -64,6 +201,10 @@ public class CreateCreditUseCase {
   }
 
   private Mono<CreditReponse> validateCreditType(CreditReponse response) {
+    return validateCreditType(response, creditTypeGateway::getCreditTypeById);
+  }
+
+  private Mono<CreditReponse> validateCreditType(CreditReponse response, Function<Long, Mono<Long>> creditTypeLookup) {
     log.info(Constants.LOG_VALIDATING_CREDIT_TYPE);
     if (Constants.STATUS_ERROR.equals(response.getStatusResponse())) {
       log.warning(Constants.LOG_SKIP_CREDIT_TYPE_VALIDATION);
@@ -73,7 +214,7 @@ public class CreateCreditUseCase {
     CreditParameters params = response.getCreditParameters();
     log.info(Constants.LOG_QUERYING_CREDIT_TYPE + params.getTipoPrestamo());
 
-    return creditTypeGateway.getCreditTypeById(params.getTipoPrestamo())
+    return creditTypeLookup.apply(params.getTipoPrestamo())
             .map(idTipoCredito -> {
               params.setEstado(Constants.ESTADO_PENDIENTE_REVISION);
               return buildResponse(Constants.STATUS_VALID_TYPE, params, null);
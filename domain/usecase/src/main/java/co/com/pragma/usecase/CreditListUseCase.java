@@ -1,8 +1,12 @@
 package co.com.pragma.usecase;
 
+import co.com.pragma.model.credit.CreditCount;
+import co.com.pragma.model.credit.CreditCursor;
 import co.com.pragma.model.credit.CreditDetailDTO;
+import co.com.pragma.model.credit.CreditListFilter;
 import co.com.pragma.model.credit.CreditListResponse;
 import co.com.pragma.model.gateway.CreditGateway;
+import co.com.pragma.model.token.TokenClaims;
 import co.com.pragma.usecase.utils.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.java.Log;
@@ -16,27 +20,76 @@ import java.util.List;
 public class CreditListUseCase {
   private final CreditGateway creditGateway;
 
-  public Flux<CreditListResponse> getCreditsList(int page, int size, String token) {
+  public Flux<CreditListResponse> getCreditsList(int page, int size, TokenClaims tokenClaims) {
     log.info(Constants.LOG_FETCHING_CREDITS_LIST + page + Constants.SIZE + size);
 
-    Mono<Long> totalCreditsMono = creditGateway.findSizeAllCredits();
-    Flux<CreditDetailDTO> creditsFlux = creditGateway.findAllCredits(page, size, token);
+    return creditGateway.findCreditPage(page, size)
+            .map(creditPage -> buildCreditListResponse(creditPage.getCredits(), creditPage.getCount()))
+            .flux()
+            .onErrorResume(this::handleError);
+  }
+
+  public Flux<CreditListResponse> getCreditsList(CreditListFilter filter, int page, int size, TokenClaims tokenClaims) {
+    if (filter == null || !filter.hasCriteria()) {
+      return getCreditsList(page, size, tokenClaims);
+    }
+    log.info(Constants.LOG_FETCHING_FILTERED_CREDITS + filter + Constants.SIZE + size);
+
+    return creditGateway.findCreditPage(filter, page, size)
+            .map(creditPage -> buildCreditListResponse(creditPage.getCredits(), creditPage.getCount()))
+            .flux()
+            .onErrorResume(this::handleError);
+  }
+
+  public Flux<CreditListResponse> getCreditsListByCursor(CreditCursor cursor, int size, TokenClaims tokenClaims) {
+    log.info(Constants.LOG_FETCHING_CREDITS_BY_CURSOR + size);
+
+    Mono<CreditCount> totalCreditsMono = creditGateway.countCredits();
+    Flux<CreditDetailDTO> creditsFlux = creditGateway.findAllCreditsByCursor(cursor, size);
+
+    return Mono.zip(totalCreditsMono, creditsFlux.collectList())
+            .map(tuple -> buildCreditListResponse(tuple.getT2(), tuple.getT1()).toBuilder()
+                    .nextCursor(nextCursor(tuple.getT2(), size))
+                    .build())
+            .flux()
+            .onErrorResume(this::handleError);
+  }
 
-    return buildCreditListResponse(creditsFlux, totalCreditsMono);
+  public Flux<CreditDetailDTO> streamCreditsByCursor(CreditCursor cursor, int size, TokenClaims tokenClaims) {
+    log.info(Constants.LOG_STREAMING_CREDITS_BY_CURSOR + size);
+    return creditGateway.findAllCreditsByCursor(cursor, size)
+            .doOnError(error -> log.severe(Constants.LOG_ERROR_FETCHING_CREDITS + ": " + error.getMessage()));
   }
 
-  private Flux<CreditListResponse> buildCreditListResponse(Flux<CreditDetailDTO> creditsFlux, Mono<Long> totalCreditsMono) {
+  public Mono<CreditCount> countCredits() {
+    return creditGateway.countCredits();
+  }
+
+  public Mono<Long> getCreditListVersion() {
+    return creditGateway.findCreditListVersion();
+  }
+
+  public Flux<CreditDetailDTO> streamCredits(int page, int size, TokenClaims tokenClaims) {
+    log.info(Constants.LOG_STREAMING_CREDITS_LIST + page + Constants.SIZE + size);
+    return creditGateway.findAllCredits(page, size)
+            .doOnError(error -> log.severe(Constants.LOG_ERROR_FETCHING_CREDITS + ": " + error.getMessage()));
+  }
+
+  private CreditListResponse buildCreditListResponse(List<CreditDetailDTO> creditDetails, CreditCount creditCount) {
+    return CreditListResponse.builder()
+            .totalCredits(creditCount.getTotal())
+            .totalExact(creditCount.getExact())
+            .creditDetailDTO(creditDetails)
+            .statusResponse(Constants.STATUS_OK)
+            .errorMessage(null)
+            .build();
+  }
 
-    return totalCreditsMono.flatMapMany(totalCredits ->
-            creditsFlux.collectList()
-                    .map(creditDetails -> CreditListResponse.builder()
-                            .totalCredits(totalCredits)
-                            .creditDetailDTO(creditDetails)
-                            .statusResponse(Constants.STATUS_OK)
-                            .errorMessage(null)
-                            .build()
-                    )
-    ).onErrorResume(this::handleError);
+  private String nextCursor(List<CreditDetailDTO> creditDetails, int size) {
+    if (creditDetails == null || creditDetails.isEmpty() || creditDetails.size() < size) {
+      return null;
+    }
+    return creditDetails.get(creditDetails.size() - 1).getCursor();
   }
 
   private Flux<CreditListResponse> handleError(Throwable error) {
@@ -0,0 +1,89 @@
+package co.com.pragma.usecase;
+
+import co.com.pragma.model.credit.CreditReponse;
+import co.com.pragma.model.credit.CreditStatusEvent;
+import co.com.pragma.model.gateway.CreditGateway;
+import co.com.pragma.model.gateway.CreditStatusEventGateway;
+import co.com.pragma.model.token.TokenClaims;
+import co.com.pragma.usecase.exceptions.NotFoundException;
+import co.com.pragma.usecase.utils.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.java.Log;
+import reactor.core.Disposable;
+import reactor.core.publisher.ConnectableFlux;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+@Log
+@RequiredArgsConstructor
+public class CreditStatusStreamUseCase {
+
+  private final CreditGateway creditGateway;
+  private final CreditStatusEventGateway creditStatusEventGateway;
+
+  public Flux<CreditStatusEvent> streamByUser(TokenClaims tokenClaims) {
+    String userId = tokenClaims.getUserId();
+    log.info(Constants.LOG_STREAMING_STATUS_BY_USER + userId);
+    return creditStatusEventGateway.events()
+            .filter(event -> Objects.equals(String.valueOf(event.getUserId()), userId));
+  }
+
+  /**
+   * Se suscribe a los cambios antes de leer el estado actual del primario, así un cambio que
+   * ocurra entre la lectura y la suscripción no se pierde: queda guardado y se emite después
+   * del estado actual, salvo que repita su estado. Se compara solo solicitud y estado: los
+   * eventos llevan la fecha en que se publicaron y nunca coinciden con la del estado leído.
+   */
+  public Flux<CreditStatusEvent> streamBySolicitud(Long idSolicitud, TokenClaims tokenClaims) {
+    return Flux.defer(() -> {
+      ConnectableFlux<CreditStatusEvent> changes = statusChanges(idSolicitud)
+              .replay(Constants.STATUS_EVENTS_BUFFER_SIZE);
+      Disposable subscription = changes.connect();
+      return toStatusEvent(idSolicitud, tokenClaims, creditGateway.findLatestById(idSolicitud))
+              .flatMapMany(current -> Flux.just(current).concatWith(changes.skipWhile(change -> isSameStatus(current, change))))
+              .doFinally(signal -> subscription.dispose());
+    });
+  }
+
+  /**
+   * Solo el dueño de la solicitud o un asesor pueden seguirla; en otro caso se responde como
+   * si no existiera para no revelar ids ajenos. Puede venir del caché de lecturas, así que
+   * sirve para autorizar pero no como estado inicial de un stream.
+   */
+  public Mono<CreditStatusEvent> currentStatus(Long idSolicitud, TokenClaims tokenClaims) {
+    return toStatusEvent(idSolicitud, tokenClaims, creditGateway.findById(idSolicitud));
+  }
+
+  private Mono<CreditStatusEvent> toStatusEvent(Long idSolicitud, TokenClaims tokenClaims,
+                                                Mono<CreditReponse> credit) {
+    log.info(Constants.LOG_STREAMING_STATUS_BY_SOLICITUD + idSolicitud);
+    return credit
+            .map(CreditReponse::getCreditParameters)
+            .filter(params -> isAdvisor(tokenClaims)
+                    || Objects.equals(String.valueOf(params.getUserId()), tokenClaims.getUserId()))
+            .map(params -> CreditStatusEvent.builder()
+                    .idSolicitud(idSolicitud)
+                    .userId(params.getUserId())
+                    .estado(params.getEstado())
+                    .fecha(params.getFechaDecision())
+                    .build())
+            .switchIfEmpty(Mono.error(new NotFoundException(
+                    String.format(Constants.CREDIT_NOT_FOUND_MESSAGE, idSolicitud))));
+  }
+
+  public Flux<CreditStatusEvent> statusChanges(Long idSolicitud) {
+    return creditStatusEventGateway.events()
+            .filter(event -> idSolicitud.equals(event.getIdSolicitud()));
+  }
+
+  private static boolean isSameStatus(CreditStatusEvent current, CreditStatusEvent change) {
+    return Objects.equals(current.getIdSolicitud(), change.getIdSolicitud())
+            && Objects.equals(current.getEstado(), change.getEstado());
+  }
+
+  private boolean isAdvisor(TokenClaims tokenClaims) {
+    return tokenClaims.getRoles() != null && tokenClaims.getRoles().contains(Constants.ROLE_ADVISOR);
+  }
+}
@@ -0,0 +1,38 @@
+package co.com.pragma.usecase;
+
+import co.com.pragma.model.credit.CreditParameters;
+import co.com.pragma.model.gateway.CreditGateway;
+import co.com.pragma.model.token.TokenClaims;
+import co.com.pragma.usecase.exceptions.NotFoundException;
+import co.com.pragma.usecase.utils.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.java.Log;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+@Log
+@RequiredArgsConstructor
+public class FindCreditUseCase {
+
+  private final CreditGateway creditGateway;
+
+  /**
+   * Solo el dueño de la solicitud o un asesor pueden verla; en otro caso se responde como si
+   * no existiera. Un fallo al consultar se propaga como error y no como 404.
+   */
+  public Mono<CreditParameters> findById(Long id, TokenClaims tokenClaims) {
+    log.info(Constants.LOG_FINDING_CREDIT + id);
+    return creditGateway.findById(id)
+            .flatMap(response -> Constants.STATUS_FAILURE.equals(response.getStatusResponse())
+                    ? Mono.error(new IllegalStateException(response.getErrorMessage()))
+                    : Mono.justOrEmpty(response.getCreditParameters()))
+            .filter(credit -> isAdvisor(tokenClaims)
+                    || Objects.equals(String.valueOf(credit.getUserId()), tokenClaims.getUserId()))
+            .switchIfEmpty(Mono.error(new NotFoundException(String.format(Constants.CREDIT_NOT_FOUND_MESSAGE, id))));
+  }
+
+  private boolean isAdvisor(TokenClaims tokenClaims) {
+    return tokenClaims.getRoles() != null && tokenClaims.getRoles().contains(Constants.ROLE_ADVISOR);
+  }
+}
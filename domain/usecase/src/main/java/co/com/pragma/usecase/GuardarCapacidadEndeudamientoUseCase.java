@@ -1,10 +1,13 @@
 package co.com.pragma.usecase;
 
 import co.com.pragma.model.credit.CreditParameters;
+import co.com.pragma.model.credit.CreditStateChange;
+import co.com.pragma.model.credit.CreditStatusEvent;
 import co.com.pragma.model.credit.MessageCapacidadEndeudamiento;
 import co.com.pragma.model.credit.MontoAprobado;
 import co.com.pragma.model.credit.NotificacionEstado;
 import co.com.pragma.model.gateway.CreditGateway;
+import co.com.pragma.model.gateway.CreditStatusEventGateway;
 import co.com.pragma.model.gateway.JsonConverter;
 import co.com.pragma.model.gateway.NotificationEmailSQSGateway;
 import co.com.pragma.model.gateway.ReportSQSGateway;
@@ -13,6 +16,9 @@ import lombok.AllArgsConstructor;
 import lombok.extern.java.Log;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Log
 @AllArgsConstructor
 public class GuardarCapacidadEndeudamientoUseCase {
@@ -21,15 +27,46 @@ public class GuardarCapacidadEndeudamientoUseCase {
   private final NotificationEmailSQSGateway notificationEmailSQSGateway;
   private final JsonConverter jsonConverter;
   private final ReportSQSGateway reportSQSGateway;
+  private final CreditStatusEventGateway creditStatusEventGateway;
 
   public Mono<Void> actualizarEstadoSolicitudCredito(MessageCapacidadEndeudamiento message) {
     Long idSolicitud = Long.valueOf(message.getIdSolicitud());
     return creditGateway.updateState(idSolicitud, message.getEstado())
+            .flatMap(credit -> publishStatusChange(idSolicitud, credit).thenReturn(credit))
             .flatMap(credit -> processApprovedCredit(credit, message.getEstado()))
             .flatMap(this::emitirNotificacion)
             .then();
   }
 
+  /**
+   * Variante por lotes: un solo UPDATE para todos los cambios y, por cada fila actualizada, el
+   * mismo evento, reporte y notificación que el flujo unitario. El Mono falla solo si falla el
+   * UPDATE; los errores de notificación se registran y no afectan al lote.
+   */
+  public Mono<Void> actualizarEstadosSolicitudesCredito(List<CreditStateChange> changes) {
+    return Mono.defer(() -> {
+      log.info(Constants.LOG_APPLYING_STATE_BATCH + changes.size());
+      return creditGateway.updateStates(changes)
+              .concatMap(credit -> publishStatusChange(credit.getIdEntidadGuardada(), credit)
+                      .then(processApprovedCredit(credit, credit.getEstado()))
+                      .flatMap(this::emitirNotificacion))
+              .then();
+    });
+  }
+
+  private Mono<Void> publishStatusChange(Long idSolicitud, CreditParameters credit) {
+    return creditStatusEventGateway.publish(CreditStatusEvent.builder()
+                    .idSolicitud(idSolicitud)
+                    .userId(credit.getUserId())
+                    .estado(credit.getEstado())
+                    .fecha(LocalDateTime.now())
+                    .build())
+            .onErrorResume(e -> {
+              log.warning(Constants.LOG_ERROR_PUBLISHING_STATUS + e.getMessage());
+              return Mono.empty();
+            });
+  }
+
   private Mono<CreditParameters> processApprovedCredit(CreditParameters credit, String newStatus) {
     if (newStatus.equals(Constants.STATUS_APPROVED_LAMDA)) {
       MontoAprobado montoAprobado = MontoAprobado.builder()
@@ -1,15 +1,19 @@
 package co.com.pragma.usecase;
 
 import co.com.pragma.model.credit.CreditApproved;
+import co.com.pragma.model.credit.CreditParameters;
 import co.com.pragma.model.credit.CreditReponse;
+import co.com.pragma.model.credit.CreditStatusEvent;
 import co.com.pragma.model.credit.MontoAprobado;
 import co.com.pragma.model.gateway.*;
+import co.com.pragma.model.token.TokenClaims;
 import co.com.pragma.usecase.exceptions.NotFoundException;
 import co.com.pragma.usecase.utils.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.java.Log;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Log
@@ -20,13 +24,17 @@ public class UpdateCreditUseCase {
   private final NotificacionSQSGateway notificacionSQSGateway;
   private final ReportSQSGateway reportSQSGateway;
   private final JsonConverter jsonConverter;
-  private final JwtProvider jwtProvider;
+  private final CreditStatusEventGateway creditStatusEventGateway;
 
-  public Mono<CreditReponse> updateCreditStatus(Long id, CreditApproved requestBody, String token) {
+  public Mono<CreditReponse> updateCreditStatus(Long id, CreditApproved requestBody, TokenClaims tokenClaims) {
     String newStatus = requestBody.getApproved() ? Constants.STATUS_APPROVED : Constants.STATUS_REJECTED;
-    String email = jwtProvider.getEmailFromToken(token);
-    return creditGateway.findById(id)
-            .flatMap(credit -> updateCredit(credit, newStatus))
+    String email = tokenClaims.getEmail();
+    return creditGateway.updateState(id, newStatus)
+            .map(updatedCredit -> CreditReponse.builder()
+                    .statusResponse(Constants.STATUS_OK)
+                    .creditParameters(updatedCredit)
+                    .build())
+            .flatMap(credit -> publishStatusChange(id, credit.getCreditParameters()).thenReturn(credit))
             .doOnNext(credit -> processApprovedCredit(credit, newStatus))
             .doOnNext(creditReponse -> creditReponse.getCreditParameters().setEmailNotification(email))
             .doOnNext(this::emitNotification)
@@ -34,13 +42,17 @@ public class UpdateCreditUseCase {
             .onErrorResume(this::handleError);
   }
 
-  private Mono<CreditReponse> updateCredit(CreditReponse credit, String newStatus) {
-    credit.getCreditParameters().setEstado(newStatus);
-    return creditGateway.save(credit.getCreditParameters())
-            .map(updatedCredit -> CreditReponse.builder()
-                    .statusResponse(Constants.STATUS_OK)
-                    .creditParameters(updatedCredit)
-                    .build());
+  private Mono<Void> publishStatusChange(Long id, CreditParameters credit) {
+    return creditStatusEventGateway.publish(CreditStatusEvent.builder()
+                    .idSolicitud(id)
+                    .userId(credit.getUserId())
+                    .estado(credit.getEstado())
+                    .fecha(LocalDateTime.now())
+                    .build())
+            .onErrorResume(e -> {
+              log.warning(Constants.LOG_ERROR_PUBLISHING_STATUS + e.getMessage());
+              return Mono.empty();
+            });
   }
 
   private void emitNotification(CreditReponse creditResponse) {
@@ -5,10 +5,12 @@ public class Constants {
   public static final String STATUS_VALID_USER = "VALID_USER";
   public static final String STATUS_VALID_TYPE = "VALID_TYPE";
   public static final String STATUS_OK = "OK";
+  public static final String STATUS_FAILURE = "FAILURE";
   public static final String MSG_UNAUTHORIZED_USER = "Usuario no autorizado";
 
   public static final String MSG_USER_NOT_FOUND = "El usuario no existe";
   public static final String MSG_UNEXPECTED_ERROR = "Error inesperado";
+  public static final String MSG_CREDIT_TYPE_NOT_FOUND = "El tipo de crédito no existe";
   public static final String ESTADO_PENDIENTE_REVISION = "PENDIENTE DE REVISION";
 
   // Mensajes de log
@@ -27,10 +29,22 @@ public class Constants {
   public static final String LOG_ERROR_MESSAGE_EXTRACTED = "Mensaje de error extraído: ";
   public static final String LOG_EXTRACTING_ERROR_MESSAGE = "Extrayendo mensaje de error de excepción tipo: ";
   public static final String LOG_SKIP_USER_VALIDATION =" No se validará el usuario debido a que no existe en base de datos";
+  public static final String LOG_SAVING_CREDIT_BATCH = "Guardando lote de créditos válidos: ";
+  public static final String LOG_BATCH_SIZE_MISMATCH = "El lote guardado no coincide con los válidos enviados (guardados, válidos): ";
+
+  public static final String IDEMPOTENCY_KEY_SEPARATOR = ":";
+  public static final String FINGERPRINT_ALGORITHM = "SHA-256";
+
+  // Carga masiva
+  public static final int BATCH_VALIDATION_CONCURRENCY = 16;
   // Separadores
   public static final String COMMA_SEPARATOR = ", ";
 
   public static final String LOG_FETCHING_CREDITS_LIST = "Obteniendo lista de créditos paginada Pagina: ";
+  public static final String LOG_STREAMING_CREDITS_LIST = "Transmitiendo lista de créditos en NDJSON Pagina: ";
+  public static final String LOG_FETCHING_FILTERED_CREDITS = "Obteniendo lista de créditos filtrada: ";
+  public static final String LOG_FETCHING_CREDITS_BY_CURSOR = "Obteniendo lista de créditos por cursor Size: ";
+  public static final String LOG_STREAMING_CREDITS_BY_CURSOR = "Transmitiendo lista de créditos por cursor en NDJSON Size: ";
   public static final String LOG_ERROR_FETCHING_CREDITS = "Error al obtener créditos";
   public static final String LOG_ERROR_UPDATE = "Error al actualizar el crédito: ";
 
@@ -45,4 +59,13 @@ public class Constants {
   public static final String LOG_SUCCESS = "Estado de la solicitud de crédito actualizado exitosamente";
   public static final String LOG_ERROR = "Error al actualizar el estado de la solicitud de crédito: ";
 
+  // Eventos de cambio de estado
+  public static final String ROLE_ADVISOR = "ASESOR";
+  public static final String LOG_STREAMING_STATUS_BY_USER = "Suscripción a cambios de estado del usuario: ";
+  public static final String LOG_STREAMING_STATUS_BY_SOLICITUD = "Suscripción a cambios de estado de la solicitud: ";
+  public static final int STATUS_EVENTS_BUFFER_SIZE = 16;
+  public static final String LOG_FINDING_CREDIT = "Consultando solicitud: ";
+  public static final String LOG_ERROR_PUBLISHING_STATUS = "No se pudo publicar el cambio de estado: ";
+  public static final String LOG_APPLYING_STATE_BATCH = "Aplicando lote de cambios de estado: ";
+
 }
@@ -4,6 +4,7 @@ import co.com.pragma.model.credit.CreditParameters;
 import co.com.pragma.model.credit.CreditReponse;
 import co.com.pragma.model.credit.PrestamoActivo;
 import co.com.pragma.model.gateway.*;
+import co.com.pragma.model.token.TokenClaims;
 import co.com.pragma.usecase.exceptions.ConstraintViolationException;
 import co.com.pragma.usecase.gateway.GatewayExposeUser;
 import co.com.pragma.usecase.utils.Constants;
@@ -25,7 +26,6 @@ class CalculateDebtCapacityUseCaseTest {
   private GatewayExposeUser gatewayExposeUser;
   private NotificacionSQSCapacidadGateway notificacionSQSCapacidadGateway;
   private JsonConverter jsonConverter;
-  private JwtProvider jwtProvider;
   private CreditTypeGateway creditTypeGateway;
   private CalculateDebtCapacityUseCase useCase;
 
@@ -35,10 +35,9 @@ class CalculateDebtCapacityUseCaseTest {
     gatewayExposeUser = Mockito.mock(GatewayExposeUser.class);
     notificacionSQSCapacidadGateway = Mockito.mock(NotificacionSQSCapacidadGateway.class);
     jsonConverter = Mockito.mock(JsonConverter.class);
-    jwtProvider = Mockito.mock(JwtProvider.class);
     creditTypeGateway = Mockito.mock(CreditTypeGateway.class);
     useCase = new CalculateDebtCapacityUseCase(
-            creditGateway, gatewayExposeUser, notificacionSQSCapacidadGateway, jsonConverter, jwtProvider, creditTypeGateway
+            creditGateway, gatewayExposeUser, notificacionSQSCapacidadGateway, jsonConverter, creditTypeGateway
     );
   }
 
@@ -53,20 +52,21 @@ class CalculateDebtCapacityUseCaseTest {
             .documentNumber(Long.valueOf("123456"))
             .build();
 
-    String token = "token";
-    Mockito.when(jwtProvider.getEmailFromToken(token)).thenReturn("test@email.com");
-    Mockito.when(jwtProvider.getSalarioFromToken(token)).thenReturn(5000.0);
-    Mockito.when(jwtProvider.getUserIdFromToken(token)).thenReturn("1");
+    TokenClaims tokenClaims = TokenClaims.builder()
+            .userId("1")
+            .email("test@email.com")
+            .salarioBase(5000.0)
+            .build();
     Mockito.when(creditTypeGateway.getCreditTypeById(2L)).thenReturn(Mono.just(2L));
     Mockito.when(gatewayExposeUser.findByDocument(Long.valueOf("123456"))).thenReturn(Mono.just(1L));
     Mockito.when(creditGateway.createCredit(Mockito.any())).thenReturn(Mono.just(
             CreditReponse.builder().statusResponse(Constants.STATUS_VALID_USER).creditParameters(params).build()
     ));
-    Mockito.when(creditGateway.findAllCredits("1")).thenReturn(reactor.core.publisher.Flux.empty());
+    Mockito.when(creditGateway.findActiveLoans(1L)).thenReturn(reactor.core.publisher.Flux.empty());
     Mockito.when(jsonConverter.toJson(Mockito.any())).thenReturn(Optional.of("{}"));
     Mockito.when(notificacionSQSCapacidadGateway.emit(Mockito.anyString())).thenReturn(Mono.empty());
 
-    Mono<CreditReponse> result = useCase.createCreditAutomatic(params, token);
+    Mono<CreditReponse> result = useCase.createCreditAutomatic(params, tokenClaims);
 
     CreditReponse response = result.block();
     assertNotNull(response);
@@ -80,10 +80,9 @@ class CalculateDebtCapacityUseCaseTest {
             .documentNumber(Long.valueOf("123456"))
             .build();
 
-    String token = "token";
-    Mockito.when(jwtProvider.getUserIdFromToken(token)).thenReturn("1");
+    TokenClaims tokenClaims = TokenClaims.builder().userId("1").build();
 
-    Mono<CreditReponse> result = useCase.createCreditAutomatic(params, token);
+    Mono<CreditReponse> result = useCase.createCreditAutomatic(params, tokenClaims);
 
     CreditReponse response = result.block();
     assertNotNull(response);
@@ -99,12 +98,11 @@ class CalculateDebtCapacityUseCaseTest {
             .documentNumber(Long.valueOf("123456"))
             .build();
 
-    String token = "token";
-    Mockito.when(jwtProvider.getUserIdFromToken(token)).thenReturn("1");
+    TokenClaims tokenClaims = TokenClaims.builder().userId("1").build();
     Mockito.when(creditTypeGateway.getCreditTypeById(2L)).thenReturn(Mono.just(2L));
     Mockito.when(gatewayExposeUser.findByDocument(Long.valueOf("123456"))).thenReturn(Mono.just(0L));
 
-    Mono<CreditReponse> result = useCase.createCreditAutomatic(params, token);
+    Mono<CreditReponse> result = useCase.createCreditAutomatic(params, tokenClaims);
 
     CreditReponse response = result.block();
     assertNotNull(response);
@@ -116,7 +114,7 @@ class CalculateDebtCapacityUseCaseTest {
   void testHandleErrorConstraintViolationException() {
     ConstraintViolationException exception = new ConstraintViolationException(List.of());
     Mono<CreditReponse> result = useCase.createCreditAutomatic(
-            CreditParameters.builder().userId(1L).build(), "token"
+            CreditParameters.builder().userId(1L).build(), TokenClaims.builder().build()
     ).onErrorResume(e -> useCase.handleError(exception));
 
     CreditReponse response = result.block();
@@ -132,10 +130,11 @@ class CalculateDebtCapacityUseCaseTest {
             .tipoPrestamo(2L)
             .documentNumber(123456L)
             .build();
-    String token = "token";
+    TokenClaims tokenClaims = TokenClaims.builder()
+            .userId("1")
+            .email("test@email.com")
+            .build();
 
-    Mockito.when(jwtProvider.getEmailFromToken(token)).thenReturn("test@email.com");
-    Mockito.when(jwtProvider.getUserIdFromToken(token)).thenReturn("1");
     Mockito.when(creditTypeGateway.getCreditTypeById(Mockito.any()))
             .thenReturn(Mono.just(1L));
     Mockito.when(gatewayExposeUser.findByDocument(Mockito.any()))
@@ -155,7 +154,7 @@ class CalculateDebtCapacityUseCaseTest {
       );
     });
 
-    Mono<CreditReponse> result = useCase.createCreditAutomatic(params, token);
+    Mono<CreditReponse> result = useCase.createCreditAutomatic(params, tokenClaims);
     CreditReponse response = result.block();
 
     assertEquals(null, response.getCreditParameters().getEmailNotification());
@@ -165,15 +164,15 @@ class CalculateDebtCapacityUseCaseTest {
   void testObtenerPrestamosActivos_AAA() {
     // Arrange
     Long userId = 1L;
-    var creditMock = Mockito.mock(CreditParameters.class);
-    Mockito.when(creditMock.getEstado()).thenReturn(Constants.STATUS_APPROVED);
-    Mockito.when(creditMock.getIdEntidadGuardada()).thenReturn(10L);
-    Mockito.when(creditMock.getMonto()).thenReturn(new BigDecimal("5000"));
-    Mockito.when(creditMock.getPlazoMeses()).thenReturn(24);
-    Mockito.when(creditMock.getTasaInteres()).thenReturn(new BigDecimal("2.5"));
+    PrestamoActivo activo = PrestamoActivo.builder()
+            .prestamoId("10")
+            .monto(5000.0)
+            .plazoMeses(24)
+            .tasaInteresMensual(2.5)
+            .build();
 
-    Mockito.when(creditGateway.findAllCredits("1"))
-            .thenReturn(reactor.core.publisher.Flux.just(creditMock));
+    Mockito.when(creditGateway.findActiveLoans(userId))
+            .thenReturn(reactor.core.publisher.Flux.just(activo));
 
     // Act
     Mono<List<PrestamoActivo>> result = useCase.obtenerPrestamosActivos(userId);
@@ -181,12 +180,8 @@ class CalculateDebtCapacityUseCaseTest {
     // Assert
     List<PrestamoActivo> prestamos = result.block();
     assertNotNull(prestamos);
-    assertEquals(1, prestamos.size());
-    PrestamoActivo prestamo = prestamos.get(0);
-    assertEquals("10", prestamo.getPrestamoId());
-    assertEquals(5000.0, prestamo.getMonto());
-    assertEquals(24, prestamo.getPlazoMeses());
-    assertEquals(2.5, prestamo.getTasaInteresMensual());
+    assertEquals(List.of(activo), prestamos);
+    Mockito.verify(creditGateway, Mockito.never()).findAllCredits(Mockito.anyString());
   }
 
 
@@ -195,10 +190,9 @@ class CalculateDebtCapacityUseCaseTest {
     CreditParameters params = CreditParameters.builder()
             .userId(2L)
             .build();
-    String token = "token";
-    Mockito.when(jwtProvider.getUserIdFromToken(token)).thenReturn("1");
+    TokenClaims tokenClaims = TokenClaims.builder().userId("1").build();
 
-    Mono<CreditReponse> result = useCase.validateJwtIdUser(params, token);
+    Mono<CreditReponse> result = useCase.validateJwtIdUser(params, tokenClaims);
     CreditReponse response = result.block();
 
     assertNotNull(response);
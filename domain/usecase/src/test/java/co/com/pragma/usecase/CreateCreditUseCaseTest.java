@@ -4,7 +4,8 @@ import co.com.pragma.model.credit.CreditParameters;
 import co.com.pragma.model.credit.CreditReponse;
 import co.com.pragma.model.gateway.CreditGateway;
 import co.com.pragma.model.gateway.CreditTypeGateway;
-import co.com.pragma.model.gateway.JwtProvider;
+import co.com.pragma.model.gateway.IdempotencyGateway;
+import co.com.pragma.model.token.TokenClaims;
 import co.com.pragma.usecase.exceptions.ConstraintViolation;
 import co.com.pragma.usecase.exceptions.ConstraintViolationException;
 import co.com.pragma.usecase.gateway.GatewayExposeUser;
@@ -14,13 +15,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.matches;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,10 +46,9 @@ class CreateCreditUseCaseTest {
   private CreditGateway creditGateway;
 
   @Mock
-  private JwtProvider jwtProvider;
+  private IdempotencyGateway idempotencyGateway;
 
   private CreateCreditUseCase createCreditUseCase;
-  private static final String TOKEN = "valid-token";
   private static final Long USER_ID = 123L;
   private static final String DOCUMENT_NUMBER = "1234567890";
   private static final Long CREDIT_TYPE_ID = 1L;
@@ -50,10 +59,17 @@ class CreateCreditUseCaseTest {
             gatewayExposeUser,
             creditTypeGateway,
             creditGateway,
-            jwtProvider
+            idempotencyGateway
     );
   }
 
+  private TokenClaims claimsFor(String userId) {
+    return TokenClaims.builder()
+            .userId(userId)
+            .email("user@mail.com")
+            .build();
+  }
+
   @Test
   void createCredit_Success_ReturnsValidCreditResponse() {
     // Arrange
@@ -62,13 +78,13 @@ class CreateCreditUseCaseTest {
     creditParameters.setDocumentNumber(Long.valueOf(DOCUMENT_NUMBER));
     creditParameters.setTipoPrestamo(CREDIT_TYPE_ID);
 
-    when(jwtProvider.getUserIdFromToken(TOKEN)).thenReturn(String.valueOf(USER_ID));
+    TokenClaims tokenClaims = claimsFor(String.valueOf(USER_ID));
     when(creditTypeGateway.getCreditTypeById(CREDIT_TYPE_ID)).thenReturn(Mono.just(CREDIT_TYPE_ID));
     when(gatewayExposeUser.findByDocument(Long.valueOf(DOCUMENT_NUMBER))).thenReturn(Mono.just(USER_ID));
     when(creditGateway.createCredit(any(CreditParameters.class))).thenReturn(Mono.empty());
 
     // Act
-    Mono<CreditReponse> result = createCreditUseCase.createCredit(creditParameters, TOKEN);
+    Mono<CreditReponse> result = createCreditUseCase.createCredit(creditParameters, tokenClaims);
 
     // Assert
     StepVerifier.create(result)
@@ -79,6 +95,66 @@ class CreateCreditUseCaseTest {
             .verifyComplete();
   }
 
+  @Test
+  void createCredit_WithIdempotencyKey_DelegatesToGatewayWithUserScopedKey() {
+    // Arrange
+    CreditParameters creditParameters = new CreditParameters();
+    creditParameters.setUserId(USER_ID);
+    TokenClaims tokenClaims = claimsFor(String.valueOf(USER_ID));
+    CreditReponse stored = CreditReponse.builder().statusResponse(Constants.STATUS_OK).build();
+    when(idempotencyGateway.execute(eq(USER_ID + ":key-1"), matches("[0-9a-f]{64}"), eq(CreditReponse.class), any()))
+            .thenReturn(Mono.just(stored));
+
+    // Act & Assert
+    StepVerifier.create(createCreditUseCase.createCredit(creditParameters, tokenClaims, "key-1"))
+            .expectNext(stored)
+            .verifyComplete();
+    verify(creditGateway, never()).createCredit(any());
+  }
+
+  @Test
+  void createCredit_WithIdempotencyKeyAndFailingGateway_FailsActionSoKeyIsNotStored() {
+    // Arrange
+    CreditParameters creditParameters = new CreditParameters();
+    creditParameters.setUserId(USER_ID);
+    creditParameters.setDocumentNumber(Long.valueOf(DOCUMENT_NUMBER));
+    creditParameters.setTipoPrestamo(CREDIT_TYPE_ID);
+    TokenClaims tokenClaims = claimsFor(String.valueOf(USER_ID));
+    AtomicBoolean actionFailed = new AtomicBoolean();
+    when(creditTypeGateway.getCreditTypeById(CREDIT_TYPE_ID)).thenReturn(Mono.just(CREDIT_TYPE_ID));
+    when(gatewayExposeUser.findByDocument(Long.valueOf(DOCUMENT_NUMBER))).thenReturn(Mono.just(USER_ID));
+    when(creditGateway.createCredit(any(CreditParameters.class))).thenReturn(Mono.error(new RuntimeException("db")));
+    when(idempotencyGateway.execute(any(), any(), eq(CreditReponse.class), any()))
+            .thenAnswer(invocation -> invocation.<Mono<CreditReponse>>getArgument(3)
+                    .doOnError(e -> actionFailed.set(true)));
+
+    // Act & Assert
+    StepVerifier.create(createCreditUseCase.createCredit(creditParameters, tokenClaims, "key-1"))
+            .expectNextMatches(response -> Constants.STATUS_ERROR.equals(response.getStatusResponse())
+                    && Constants.MSG_UNEXPECTED_ERROR.equals(response.getErrorMessage()))
+            .verifyComplete();
+    assertTrue(actionFailed.get());
+  }
+
+  @Test
+  void createCredit_WithBlankIdempotencyKey_SkipsGateway() {
+    // Arrange
+    CreditParameters creditParameters = new CreditParameters();
+    creditParameters.setUserId(USER_ID);
+    creditParameters.setDocumentNumber(Long.valueOf(DOCUMENT_NUMBER));
+    creditParameters.setTipoPrestamo(CREDIT_TYPE_ID);
+    TokenClaims tokenClaims = claimsFor(String.valueOf(USER_ID));
+    when(creditTypeGateway.getCreditTypeById(CREDIT_TYPE_ID)).thenReturn(Mono.just(CREDIT_TYPE_ID));
+    when(gatewayExposeUser.findByDocument(Long.valueOf(DOCUMENT_NUMBER))).thenReturn(Mono.just(USER_ID));
+    when(creditGateway.createCredit(any(CreditParameters.class))).thenReturn(Mono.empty());
+
+    // Act & Assert
+    StepVerifier.create(createCreditUseCase.createCredit(creditParameters, tokenClaims, " "))
+            .expectNextMatches(response -> Constants.STATUS_OK.equals(response.getStatusResponse()))
+            .verifyComplete();
+    verify(idempotencyGateway, never()).execute(any(), any(), any(), any());
+  }
+
   @Test
   void createCredit_InvalidJwt_ReturnsErrorResponse() {
     // Arrange
@@ -87,7 +163,7 @@ class CreateCreditUseCaseTest {
     creditParameters.setDocumentNumber(Long.valueOf(DOCUMENT_NUMBER));
     creditParameters.setTipoPrestamo(CREDIT_TYPE_ID);
 
-    when(jwtProvider.getUserIdFromToken(TOKEN)).thenReturn("456");
+    TokenClaims tokenClaims = claimsFor("456");
 
     when(gatewayExposeUser.findByDocument(Long.valueOf(DOCUMENT_NUMBER)))
             .thenReturn(Mono.just(USER_ID));
@@ -97,7 +173,7 @@ class CreateCreditUseCaseTest {
 
 
     // Act
-    Mono<CreditReponse> result = createCreditUseCase.createCredit(creditParameters, TOKEN);
+    Mono<CreditReponse> result = createCreditUseCase.createCredit(creditParameters, tokenClaims);
 
     // Assert
     StepVerifier.create(result)
@@ -115,12 +191,12 @@ class CreateCreditUseCaseTest {
     creditParameters.setUserId(USER_ID);
     creditParameters.setDocumentNumber(Long.valueOf(DOCUMENT_NUMBER));
 
-    when(jwtProvider.getUserIdFromToken(TOKEN)).thenReturn(String.valueOf(USER_ID));
+    TokenClaims tokenClaims = claimsFor(String.valueOf(USER_ID));
     when(creditTypeGateway.getCreditTypeById(any())).thenReturn(Mono.just(CREDIT_TYPE_ID));
     when(gatewayExposeUser.findByDocument(Long.valueOf(DOCUMENT_NUMBER))).thenReturn(Mono.just(0L)); // Usuario no encontrado
 
     // Act
-    Mono<CreditReponse> result = createCreditUseCase.createCredit(creditParameters, TOKEN);
+    Mono<CreditReponse> result = createCreditUseCase.createCredit(creditParameters, tokenClaims);
 
     // Assert
     StepVerifier.create(result)
@@ -141,14 +217,14 @@ class CreateCreditUseCaseTest {
     String errorMessage = "Validation error";
     ConstraintViolation violation = new ConstraintViolation(errorMessage);
 
-    when(jwtProvider.getUserIdFromToken(TOKEN)).thenReturn(String.valueOf(USER_ID));
+    TokenClaims tokenClaims = claimsFor(String.valueOf(USER_ID));
     when(creditTypeGateway.getCreditTypeById(CREDIT_TYPE_ID)).thenReturn(Mono.just(CREDIT_TYPE_ID));
     when(gatewayExposeUser.findByDocument(Long.valueOf(DOCUMENT_NUMBER))).thenReturn(Mono.just(USER_ID));
     when(creditGateway.createCredit(any(CreditParameters.class)))
             .thenReturn(Mono.error(new ConstraintViolationException(Collections.singletonList(violation))));
 
     // Act
-    Mono<CreditReponse> result = createCreditUseCase.createCredit(creditParameters, TOKEN);
+    Mono<CreditReponse> result = createCreditUseCase.createCredit(creditParameters, tokenClaims);
 
     // Assert
     StepVerifier.create(result)
@@ -166,14 +242,14 @@ class CreateCreditUseCaseTest {
     creditParameters.setDocumentNumber(Long.valueOf(DOCUMENT_NUMBER));
     creditParameters.setTipoPrestamo(CREDIT_TYPE_ID);
 
-    when(jwtProvider.getUserIdFromToken(TOKEN)).thenReturn(String.valueOf(USER_ID));
+    TokenClaims tokenClaims = claimsFor(String.valueOf(USER_ID));
     when(creditTypeGateway.getCreditTypeById(CREDIT_TYPE_ID)).thenReturn(Mono.just(CREDIT_TYPE_ID));
     when(gatewayExposeUser.findByDocument(Long.valueOf(DOCUMENT_NUMBER))).thenReturn(Mono.just(USER_ID));
     when(creditGateway.createCredit(any(CreditParameters.class)))
             .thenReturn(Mono.error(new RuntimeException("Unexpected error")));
 
     // Act
-    Mono<CreditReponse> result = createCreditUseCase.createCredit(creditParameters, TOKEN);
+    Mono<CreditReponse> result = createCreditUseCase.createCredit(creditParameters, tokenClaims);
 
     // Assert
     StepVerifier.create(result)
@@ -182,4 +258,112 @@ class CreateCreditUseCaseTest {
                             Constants.MSG_UNEXPECTED_ERROR.equals(response.getErrorMessage()))
             .verifyComplete();
   }
+
+  @Test
+  void createCredits_ShouldShareLookupsAndReturnResultPerItemInOrder() {
+    // Arrange
+    CreditParameters first = CreditParameters.builder()
+            .userId(USER_ID).documentNumber(Long.valueOf(DOCUMENT_NUMBER)).tipoPrestamo(CREDIT_TYPE_ID).build();
+    CreditParameters foreign = CreditParameters.builder()
+            .userId(999L).documentNumber(Long.valueOf(DOCUMENT_NUMBER)).tipoPrestamo(CREDIT_TYPE_ID).build();
+    CreditParameters second = first.toBuilder().build();
+    when(creditGateway.creditBatchSize()).thenReturn(500);
+    when(creditTypeGateway.getCreditTypeById(CREDIT_TYPE_ID)).thenReturn(Mono.just(CREDIT_TYPE_ID));
+    when(gatewayExposeUser.findByDocument(Long.valueOf(DOCUMENT_NUMBER))).thenReturn(Mono.just(USER_ID));
+    when(creditGateway.createCredits(anyList())).thenAnswer(invocation -> {
+      List<CreditParameters> valid = invocation.getArgument(0);
+      return Flux.range(0, valid.size()).map(i -> CreditReponse.builder()
+              .statusResponse("SUCCESS")
+              .creditParameters(valid.get(i).toBuilder().idEntidadGuardada(100L + i).build())
+              .build());
+    });
+
+    // Act & Assert
+    StepVerifier.create(createCreditUseCase.createCredits(Flux.just(first, foreign, second),
+                    claimsFor(String.valueOf(USER_ID))))
+            .expectNextMatches(response -> Constants.STATUS_OK.equals(response.getStatusResponse())
+                    && response.getCreditParameters().getIdEntidadGuardada() == 100L
+                    && "user@mail.com".equals(response.getCreditParameters().getEmailNotification()))
+            .expectNextMatches(response -> Constants.STATUS_ERROR.equals(response.getStatusResponse())
+                    && Constants.MSG_UNAUTHORIZED_USER.equals(response.getErrorMessage()))
+            .expectNextMatches(response -> response.getCreditParameters().getIdEntidadGuardada() == 101L)
+            .verifyComplete();
+    verify(creditTypeGateway, times(1)).getCreditTypeById(CREDIT_TYPE_ID);
+    verify(gatewayExposeUser, times(1)).findByDocument(Long.valueOf(DOCUMENT_NUMBER));
+    verify(creditGateway, times(1)).createCredits(anyList());
+  }
+
+  @Test
+  void createCredits_UnknownUser_ShouldNotInsert() {
+    // Arrange
+    CreditParameters params = CreditParameters.builder()
+            .userId(USER_ID).documentNumber(Long.valueOf(DOCUMENT_NUMBER)).tipoPrestamo(CREDIT_TYPE_ID).build();
+    when(creditGateway.creditBatchSize()).thenReturn(500);
+    when(creditTypeGateway.getCreditTypeById(CREDIT_TYPE_ID)).thenReturn(Mono.just(CREDIT_TYPE_ID));
+    when(gatewayExposeUser.findByDocument(Long.valueOf(DOCUMENT_NUMBER))).thenReturn(Mono.empty());
+
+    // Act & Assert
+    StepVerifier.create(createCreditUseCase.createCredits(Flux.just(params), claimsFor(String.valueOf(USER_ID))))
+            .expectNextMatches(response -> Constants.STATUS_ERROR.equals(response.getStatusResponse())
+                    && Constants.MSG_USER_NOT_FOUND.equals(response.getErrorMessage()))
+            .verifyComplete();
+    verify(creditGateway, never()).createCredits(anyList());
+  }
+
+  @Test
+  void createCredits_UnknownCreditType_ShouldReturnErrorForThatItem() {
+    // Arrange
+    CreditParameters params = CreditParameters.builder()
+            .userId(USER_ID).documentNumber(Long.valueOf(DOCUMENT_NUMBER)).tipoPrestamo(CREDIT_TYPE_ID).build();
+    when(creditGateway.creditBatchSize()).thenReturn(500);
+    when(creditTypeGateway.getCreditTypeById(CREDIT_TYPE_ID)).thenReturn(Mono.empty());
+
+    // Act & Assert
+    StepVerifier.create(createCreditUseCase.createCredits(Flux.just(params), claimsFor(String.valueOf(USER_ID))))
+            .expectNextMatches(response -> Constants.STATUS_ERROR.equals(response.getStatusResponse())
+                    && Constants.MSG_CREDIT_TYPE_NOT_FOUND.equals(response.getErrorMessage()))
+            .verifyComplete();
+    verify(creditGateway, never()).createCredits(anyList());
+  }
+
+  @Test
+  void createCredits_SavedCountMismatch_ShouldReturnErrorPerValidItem() {
+    // Arrange
+    CreditParameters first = CreditParameters.builder()
+            .userId(USER_ID).documentNumber(Long.valueOf(DOCUMENT_NUMBER)).tipoPrestamo(CREDIT_TYPE_ID).build();
+    CreditParameters second = first.toBuilder().build();
+    when(creditGateway.creditBatchSize()).thenReturn(500);
+    when(creditTypeGateway.getCreditTypeById(CREDIT_TYPE_ID)).thenReturn(Mono.just(CREDIT_TYPE_ID));
+    when(gatewayExposeUser.findByDocument(Long.valueOf(DOCUMENT_NUMBER))).thenReturn(Mono.just(USER_ID));
+    when(creditGateway.createCredits(anyList())).thenReturn(Flux.just(CreditReponse.builder()
+            .statusResponse("SUCCESS").creditParameters(first).build()));
+
+    // Act & Assert
+    StepVerifier.create(createCreditUseCase.createCredits(Flux.just(first, second),
+                    claimsFor(String.valueOf(USER_ID))))
+            .expectNextMatches(response -> Constants.STATUS_ERROR.equals(response.getStatusResponse()))
+            .expectNextMatches(response -> Constants.STATUS_ERROR.equals(response.getStatusResponse()))
+            .verifyComplete();
+  }
+
+  @Test
+  void createCredits_ShouldFlushInBlocksOfTheGatewayBatchSize() {
+    // Arrange
+    CreditParameters params = CreditParameters.builder()
+            .userId(USER_ID).documentNumber(Long.valueOf(DOCUMENT_NUMBER)).tipoPrestamo(CREDIT_TYPE_ID).build();
+    when(creditGateway.creditBatchSize()).thenReturn(2);
+    when(creditTypeGateway.getCreditTypeById(CREDIT_TYPE_ID)).thenReturn(Mono.just(CREDIT_TYPE_ID));
+    when(gatewayExposeUser.findByDocument(Long.valueOf(DOCUMENT_NUMBER))).thenReturn(Mono.just(USER_ID));
+    when(creditGateway.createCredits(anyList())).thenAnswer(invocation -> Flux.fromIterable(
+                    invocation.<List<CreditParameters>>getArgument(0))
+            .map(valid -> CreditReponse.builder().statusResponse("SUCCESS").creditParameters(valid).build()));
+
+    // Act & Assert
+    StepVerifier.create(createCreditUseCase.createCredits(
+                    Flux.just(params, params.toBuilder().build(), params.toBuilder().build()),
+                    claimsFor(String.valueOf(USER_ID))))
+            .expectNextCount(3)
+            .verifyComplete();
+    verify(creditGateway, times(2)).createCredits(anyList());
+  }
 }
@@ -1,7 +1,12 @@
 package co.com.pragma.usecase;
 
+import co.com.pragma.model.credit.CreditCount;
+import co.com.pragma.model.credit.CreditCursor;
 import co.com.pragma.model.credit.CreditDetailDTO;
+import co.com.pragma.model.credit.CreditListFilter;
+import co.com.pragma.model.credit.CreditPage;
 import co.com.pragma.model.gateway.CreditGateway;
+import co.com.pragma.model.token.TokenClaims;
 import co.com.pragma.usecase.utils.Constants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +16,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
@@ -24,18 +30,23 @@ class CreditListUseCaseTest {
 
   private CreditListUseCase creditListUseCase;
 
+  private final TokenClaims tokenClaims = TokenClaims.builder().userId("1").build();
+
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
     creditListUseCase = new CreditListUseCase(creditGateway);
   }
 
+  private CreditCount exactCount(Long total) {
+    return CreditCount.builder().total(total).exact(true).build();
+  }
+
   @Test
   void getCreditsList_shouldReturnCreditListResponse_whenSuccessful() {
     // Arrange
     int page = 0;
     int size = 10;
-    String token = "test-token";
 
     List<CreditDetailDTO> creditDetails = Arrays.asList(
             CreditDetailDTO.builder().nombre("1").build(),
@@ -43,21 +54,54 @@ class CreditListUseCaseTest {
     );
     Long totalCredits = 2L;
 
-    when(creditGateway.findSizeAllCredits()).thenReturn(Mono.just(totalCredits));
-    when(creditGateway.findAllCredits(page, size, token)).thenReturn(Flux.fromIterable(creditDetails));
+    when(creditGateway.findCreditPage(page, size)).thenReturn(Mono.just(CreditPage.builder()
+            .credits(creditDetails)
+            .count(exactCount(totalCredits))
+            .build()));
 
     // Act & Assert
-    StepVerifier.create(creditListUseCase.getCreditsList(page, size, token))
+    StepVerifier.create(creditListUseCase.getCreditsList(page, size, tokenClaims))
             .expectNextMatches(response ->
                     response.getTotalCredits().equals(totalCredits) &&
+                            response.getTotalExact() &&
                             response.getCreditDetailDTO().size() == 2 &&
                             response.getStatusResponse().equals(Constants.STATUS_OK) &&
                             response.getErrorMessage() == null
             )
             .verifyComplete();
 
-    verify(creditGateway).findSizeAllCredits();
-    verify(creditGateway).findAllCredits(page, size, token);
+    verify(creditGateway).findCreditPage(page, size);
+  }
+
+  @Test
+  void getCreditsList_withFilter_shouldUseFilteredPage() {
+    // Arrange
+    CreditListFilter filter = CreditListFilter.builder().estadoSolicitud("PENDIENTE").build();
+    when(creditGateway.findCreditPage(filter, 0, 10)).thenReturn(Mono.just(CreditPage.builder()
+            .credits(List.of(CreditDetailDTO.builder().nombre("1").build()))
+            .count(exactCount(1L))
+            .build()));
+
+    // Act & Assert
+    StepVerifier.create(creditListUseCase.getCreditsList(filter, 0, 10, tokenClaims))
+            .expectNextMatches(response -> response.getTotalCredits() == 1L
+                    && response.getCreditDetailDTO().size() == 1)
+            .verifyComplete();
+  }
+
+  @Test
+  void getCreditsList_withEmptyFilter_shouldUseUnfilteredPage() {
+    // Arrange
+    when(creditGateway.findCreditPage(0, 10)).thenReturn(Mono.just(CreditPage.builder()
+            .credits(List.of())
+            .count(exactCount(0L))
+            .build()));
+
+    // Act & Assert
+    StepVerifier.create(creditListUseCase.getCreditsList(CreditListFilter.builder().build(), 0, 10, tokenClaims))
+            .expectNextCount(1)
+            .verifyComplete();
+    verify(creditGateway).findCreditPage(0, 10);
   }
 
   @Test
@@ -65,14 +109,12 @@ class CreditListUseCaseTest {
     // Arrange
     int page = 0;
     int size = 10;
-    String token = "test-token";
     String errorMessage = "Error fetching credits";
 
-    when(creditGateway.findSizeAllCredits()).thenReturn(Mono.just(0L));
-    when(creditGateway.findAllCredits(page, size, token)).thenReturn(Flux.error(new RuntimeException(errorMessage)));
+    when(creditGateway.findCreditPage(page, size)).thenReturn(Mono.error(new RuntimeException(errorMessage)));
 
     // Act & Assert
-    StepVerifier.create(creditListUseCase.getCreditsList(page, size, token))
+    StepVerifier.create(creditListUseCase.getCreditsList(page, size, tokenClaims))
             .expectNextMatches(response ->
                     response.getTotalCredits() == 0L &&
                             response.getCreditDetailDTO().isEmpty() &&
@@ -81,4 +123,63 @@ class CreditListUseCaseTest {
             )
             .verifyComplete();
   }
-}
\ No newline at end of file
+
+  @Test
+  void streamCredits_shouldEmitRowsWithoutCollecting() {
+    // Arrange
+    int page = 2;
+    int size = 500;
+    when(creditGateway.findAllCredits(page, size)).thenReturn(Flux.just(
+            CreditDetailDTO.builder().nombre("1").build(),
+            CreditDetailDTO.builder().nombre("2").build()));
+
+    // Act & Assert
+    StepVerifier.create(creditListUseCase.streamCredits(page, size, tokenClaims), 1)
+            .expectNextMatches(credit -> credit.getNombre().equals("1"))
+            .thenRequest(1)
+            .expectNextMatches(credit -> credit.getNombre().equals("2"))
+            .verifyComplete();
+  }
+
+  @Test
+  void countCredits_shouldDelegateToGateway() {
+    // Arrange
+    when(creditGateway.countCredits()).thenReturn(Mono.just(exactCount(42L)));
+
+    // Act & Assert
+    StepVerifier.create(creditListUseCase.countCredits())
+            .expectNextMatches(count -> count.getTotal() == 42L && count.getExact())
+            .verifyComplete();
+  }
+
+  @Test
+  void getCreditsListByCursor_fullPage_shouldReturnNextCursor() {
+    // Arrange
+    when(creditGateway.countCredits()).thenReturn(Mono.just(exactCount(5L)));
+    CreditCursor cursor = new CreditCursor(LocalDateTime.parse("2024-03-01T08:15:30"), 7L);
+    when(creditGateway.findAllCreditsByCursor(cursor, 2)).thenReturn(Flux.just(
+            CreditDetailDTO.builder().nombre("1").cursor("c1").build(),
+            CreditDetailDTO.builder().nombre("2").cursor("c2").build()));
+
+    // Act & Assert
+    StepVerifier.create(creditListUseCase.getCreditsListByCursor(cursor, 2, tokenClaims))
+            .expectNextMatches(response -> "c2".equals(response.getNextCursor())
+                    && response.getCreditDetailDTO().size() == 2
+                    && response.getStatusResponse().equals(Constants.STATUS_OK))
+            .verifyComplete();
+  }
+
+  @Test
+  void getCreditsListByCursor_lastPage_shouldNotReturnNextCursor() {
+    // Arrange
+    when(creditGateway.countCredits()).thenReturn(Mono.just(exactCount(5L)));
+    when(creditGateway.findAllCreditsByCursor(null, 2)).thenReturn(Flux.just(
+            CreditDetailDTO.builder().nombre("1").cursor("c1").build()));
+
+    // Act & Assert
+    StepVerifier.create(creditListUseCase.getCreditsListByCursor(null, 2, tokenClaims))
+            .expectNextMatches(response -> response.getNextCursor() == null
+                    && response.getCreditDetailDTO().size() == 1)
+            .verifyComplete();
+  }
+}
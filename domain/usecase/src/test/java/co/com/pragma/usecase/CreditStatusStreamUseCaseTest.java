@@ -0,0 +1,138 @@
+package co.com.pragma.usecase;
+
+import co.com.pragma.model.credit.CreditParameters;
+import co.com.pragma.model.credit.CreditReponse;
+import co.com.pragma.model.credit.CreditStatusEvent;
+import co.com.pragma.model.gateway.CreditGateway;
+import co.com.pragma.model.gateway.CreditStatusEventGateway;
+import co.com.pragma.model.token.TokenClaims;
+import co.com.pragma.usecase.exceptions.NotFoundException;
+import co.com.pragma.usecase.utils.Constants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CreditStatusStreamUseCaseTest {
+
+  @Mock
+  private CreditGateway creditGateway;
+
+  @Mock
+  private CreditStatusEventGateway creditStatusEventGateway;
+
+  private CreditStatusStreamUseCase useCase;
+
+  private final CreditStatusEvent ownEvent = CreditStatusEvent.builder()
+          .idSolicitud(10L).userId(1L).estado(Constants.STATUS_APPROVED).build();
+  private final CreditStatusEvent otherEvent = CreditStatusEvent.builder()
+          .idSolicitud(20L).userId(2L).estado(Constants.STATUS_REJECTED).build();
+
+  @BeforeEach
+  void setUp() {
+    useCase = new CreditStatusStreamUseCase(creditGateway, creditStatusEventGateway);
+  }
+
+  private CreditReponse creditOf(Long userId) {
+    return CreditReponse.builder()
+            .creditParameters(CreditParameters.builder().userId(userId).estado("PENDIENTE DE REVISION").build())
+            .build();
+  }
+
+  @Test
+  void streamByUser_shouldOnlyEmitEventsOfTokenUser() {
+    // Arrange
+    when(creditStatusEventGateway.events()).thenReturn(Flux.just(otherEvent, ownEvent));
+
+    // Act & Assert
+    StepVerifier.create(useCase.streamByUser(TokenClaims.builder().userId("1").build()))
+            .expectNext(ownEvent)
+            .verifyComplete();
+  }
+
+  @Test
+  void streamBySolicitud_owner_shouldStartWithCurrentState() {
+    // Arrange
+    when(creditGateway.findLatestById(10L)).thenReturn(Mono.just(creditOf(1L)));
+    when(creditStatusEventGateway.events()).thenReturn(Flux.just(otherEvent, ownEvent));
+
+    // Act & Assert
+    StepVerifier.create(useCase.streamBySolicitud(10L, TokenClaims.builder().userId("1").build()))
+            .expectNextMatches(event -> "PENDIENTE DE REVISION".equals(event.getEstado()))
+            .expectNext(ownEvent)
+            .verifyComplete();
+  }
+
+  @Test
+  void streamBySolicitud_changeDuringRead_shouldBeEmittedAfterCurrentState() {
+    // Arrange
+    Sinks.Many<CreditStatusEvent> events = Sinks.many().multicast().directBestEffort();
+    when(creditStatusEventGateway.events()).thenReturn(events.asFlux());
+    when(creditGateway.findLatestById(10L)).thenReturn(Mono.fromSupplier(() -> {
+      events.tryEmitNext(ownEvent);
+      return creditOf(1L);
+    }));
+
+    // Act & Assert
+    StepVerifier.create(useCase.streamBySolicitud(10L, TokenClaims.builder().userId("1").build()))
+            .expectNextMatches(event -> "PENDIENTE DE REVISION".equals(event.getEstado()))
+            .expectNext(ownEvent)
+            .thenCancel()
+            .verify();
+    verify(creditGateway, never()).findById(any());
+  }
+
+  @Test
+  void streamBySolicitud_currentStateReemittedWithNewDate_shouldNotBeDuplicated() {
+    // Arrange
+    CreditStatusEvent replayed = CreditStatusEvent.builder()
+            .idSolicitud(10L).userId(1L).estado("PENDIENTE DE REVISION").fecha(LocalDateTime.now()).build();
+    when(creditGateway.findLatestById(10L)).thenReturn(Mono.just(creditOf(1L)));
+    when(creditStatusEventGateway.events()).thenReturn(Flux.just(replayed, ownEvent));
+
+    // Act & Assert
+    StepVerifier.create(useCase.streamBySolicitud(10L, TokenClaims.builder().userId("1").build()))
+            .expectNextMatches(event -> "PENDIENTE DE REVISION".equals(event.getEstado()) && event.getFecha() == null)
+            .expectNext(ownEvent)
+            .verifyComplete();
+  }
+
+  @Test
+  void streamBySolicitud_advisor_shouldFollowAnyApplication() {
+    // Arrange
+    when(creditGateway.findLatestById(10L)).thenReturn(Mono.just(creditOf(1L)));
+    when(creditStatusEventGateway.events()).thenReturn(Flux.empty());
+    TokenClaims advisor = TokenClaims.builder().userId("99").roles(List.of(Constants.ROLE_ADVISOR)).build();
+
+    // Act & Assert
+    StepVerifier.create(useCase.streamBySolicitud(10L, advisor))
+            .expectNextCount(1)
+            .verifyComplete();
+  }
+
+  @Test
+  void streamBySolicitud_foreignApplication_shouldFailAsNotFound() {
+    // Arrange
+    when(creditGateway.findLatestById(10L)).thenReturn(Mono.just(creditOf(1L)));
+    when(creditStatusEventGateway.events()).thenReturn(Flux.never());
+
+    // Act & Assert
+    StepVerifier.create(useCase.streamBySolicitud(10L, TokenClaims.builder().userId("2").build()))
+            .expectError(NotFoundException.class)
+            .verify();
+  }
+}
@@ -0,0 +1,86 @@
+package co.com.pragma.usecase;
+
+import co.com.pragma.model.credit.CreditParameters;
+import co.com.pragma.model.credit.CreditReponse;
+import co.com.pragma.model.gateway.CreditGateway;
+import co.com.pragma.model.token.TokenClaims;
+import co.com.pragma.usecase.exceptions.NotFoundException;
+import co.com.pragma.usecase.utils.Constants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FindCreditUseCaseTest {
+
+  @Mock
+  private CreditGateway creditGateway;
+
+  private FindCreditUseCase useCase;
+
+  @BeforeEach
+  void setUp() {
+    useCase = new FindCreditUseCase(creditGateway);
+  }
+
+  private CreditReponse creditOf(Long userId) {
+    return CreditReponse.builder()
+            .statusResponse("SUCCESS")
+            .creditParameters(CreditParameters.builder().idEntidadGuardada(10L).userId(userId).build())
+            .build();
+  }
+
+  @Test
+  void findById_owner_shouldReturnCredit() {
+    // Arrange
+    when(creditGateway.findById(10L)).thenReturn(Mono.just(creditOf(1L)));
+
+    // Act & Assert
+    StepVerifier.create(useCase.findById(10L, TokenClaims.builder().userId("1").build()))
+            .expectNextMatches(credit -> credit.getIdEntidadGuardada() == 10L)
+            .verifyComplete();
+  }
+
+  @Test
+  void findById_advisor_shouldReturnAnyCredit() {
+    // Arrange
+    when(creditGateway.findById(10L)).thenReturn(Mono.just(creditOf(1L)));
+    TokenClaims advisor = TokenClaims.builder().userId("9").roles(List.of(Constants.ROLE_ADVISOR)).build();
+
+    // Act & Assert
+    StepVerifier.create(useCase.findById(10L, advisor))
+            .expectNextCount(1)
+            .verifyComplete();
+  }
+
+  @Test
+  void findById_otherUser_shouldLookLikeNotFound() {
+    // Arrange
+    when(creditGateway.findById(10L)).thenReturn(Mono.just(creditOf(1L)));
+
+    // Act & Assert
+    StepVerifier.create(useCase.findById(10L, TokenClaims.builder().userId("2").build()))
+            .expectError(NotFoundException.class)
+            .verify();
+  }
+
+  @Test
+  void findById_gatewayFailure_shouldPropagateError() {
+    // Arrange
+    when(creditGateway.findById(10L)).thenReturn(Mono.just(CreditReponse.builder()
+            .statusResponse(Constants.STATUS_FAILURE).errorMessage("timeout").build()));
+
+    // Act & Assert
+    StepVerifier.create(useCase.findById(10L, TokenClaims.builder().userId("1").build()))
+            .expectError(IllegalStateException.class)
+            .verify();
+  }
+}
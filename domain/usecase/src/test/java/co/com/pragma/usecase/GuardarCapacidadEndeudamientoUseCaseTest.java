@@ -1,18 +1,22 @@
 package co.com.pragma.usecase;
 
 import co.com.pragma.model.credit.CreditParameters;
+import co.com.pragma.model.credit.CreditStateChange;
 import co.com.pragma.model.credit.MessageCapacidadEndeudamiento;
 import co.com.pragma.model.gateway.CreditGateway;
+import co.com.pragma.model.gateway.CreditStatusEventGateway;
 import co.com.pragma.model.gateway.JsonConverter;
 import co.com.pragma.model.gateway.NotificationEmailSQSGateway;
 import co.com.pragma.model.gateway.ReportSQSGateway;
 import co.com.pragma.usecase.utils.Constants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -24,6 +28,7 @@ class GuardarCapacidadEndeudamientoUseCaseTest {
   private NotificationEmailSQSGateway notificationEmailSQSGateway;
   private JsonConverter jsonConverter;
   private ReportSQSGateway reportSQSGateway;
+  private CreditStatusEventGateway creditStatusEventGateway;
 
   private GuardarCapacidadEndeudamientoUseCase useCase;
 
@@ -33,9 +38,11 @@ class GuardarCapacidadEndeudamientoUseCaseTest {
     notificationEmailSQSGateway = mock(NotificationEmailSQSGateway.class);
     jsonConverter = mock(JsonConverter.class);
     reportSQSGateway = mock(ReportSQSGateway.class);
+    creditStatusEventGateway = mock(CreditStatusEventGateway.class);
+    when(creditStatusEventGateway.publish(any())).thenReturn(Mono.empty());
 
     useCase = new GuardarCapacidadEndeudamientoUseCase(
-            creditGateway, notificationEmailSQSGateway, jsonConverter, reportSQSGateway);
+            creditGateway, notificationEmailSQSGateway, jsonConverter, reportSQSGateway, creditStatusEventGateway);
   }
 
   @Test
@@ -63,6 +70,8 @@ class GuardarCapacidadEndeudamientoUseCaseTest {
 
     verify(reportSQSGateway, times(1)).emit("{json}");
     verify(notificationEmailSQSGateway, times(1)).emit("{json}");
+    verify(creditStatusEventGateway).publish(argThat(event -> event.getIdSolicitud() == 123L
+            && Constants.STATUS_APPROVED_LAMDA.equals(event.getEstado())));
   }
 
   @Test
@@ -118,4 +127,58 @@ class GuardarCapacidadEndeudamientoUseCaseTest {
     verify(reportSQSGateway, times(1)).emit("{json}");
     verify(notificationEmailSQSGateway, times(1)).emit("{json}");
   }
-}
\ No newline at end of file
+
+  @Test
+  void actualizarEstadosSolicitudesCredito_debeAplicarUnSoloUpdateYNotificarCadaFila() {
+    // Arrange
+    CreditStateChange aprobado = CreditStateChange.builder()
+            .idSolicitud(1L)
+            .estado(Constants.STATUS_APPROVED_LAMDA)
+            .build();
+    CreditStateChange rechazado = CreditStateChange.builder()
+            .idSolicitud(2L)
+            .estado("RECHAZADO")
+            .build();
+
+    CreditParameters creditAprobado = CreditParameters.builder()
+            .idEntidadGuardada(1L)
+            .monto(BigDecimal.valueOf(1000.0))
+            .estado(Constants.STATUS_APPROVED_LAMDA)
+            .build();
+    CreditParameters creditRechazado = CreditParameters.builder()
+            .idEntidadGuardada(2L)
+            .monto(BigDecimal.valueOf(2000.0))
+            .estado("RECHAZADO")
+            .build();
+
+    when(creditGateway.updateStates(anyList())).thenReturn(Flux.just(creditAprobado, creditRechazado));
+    when(jsonConverter.toJson(any())).thenReturn(Optional.of("{json}"));
+    when(reportSQSGateway.emit("{json}")).thenReturn(Mono.empty());
+    when(notificationEmailSQSGateway.emit("{json}")).thenReturn(Mono.empty());
+
+    // Act & Assert
+    StepVerifier.create(useCase.actualizarEstadosSolicitudesCredito(List.of(aprobado, rechazado)))
+            .verifyComplete();
+
+    verify(creditGateway, times(1)).updateStates(argThat(changes -> changes.size() == 2
+            && changes.get(0).getIdSolicitud() == 1L
+            && "RECHAZADO".equals(changes.get(1).getEstado())));
+    verify(creditGateway, never()).updateState(any(), any());
+    verify(reportSQSGateway, times(1)).emit("{json}");
+    verify(notificationEmailSQSGateway, times(2)).emit("{json}");
+    verify(creditStatusEventGateway, times(2)).publish(any());
+  }
+
+  @Test
+  void actualizarEstadosSolicitudesCredito_errorEnUpdate_debePropagarse() {
+    // Arrange
+    CreditStateChange change = CreditStateChange.builder().idSolicitud(3L).estado("RECHAZADO").build();
+    when(creditGateway.updateStates(anyList())).thenThrow(new IllegalArgumentException("db"));
+
+    // Act & Assert
+    StepVerifier.create(useCase.actualizarEstadosSolicitudesCredito(List.of(change)))
+            .verifyErrorMessage("db");
+
+    verifyNoInteractions(notificationEmailSQSGateway);
+  }
+}
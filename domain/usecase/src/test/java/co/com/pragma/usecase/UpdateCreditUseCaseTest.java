@@ -4,6 +4,7 @@ import co.com.pragma.model.credit.CreditApproved;
 import co.com.pragma.model.credit.CreditParameters;
 import co.com.pragma.model.credit.CreditReponse;
 import co.com.pragma.model.gateway.*;
+import co.com.pragma.model.token.TokenClaims;
 import co.com.pragma.usecase.utils.Constants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,7 +22,7 @@ class UpdateCreditUseCaseTest {
   private NotificacionSQSGateway notificacionSQSGateway;
   private ReportSQSGateway reportSQSGateway;
   private JsonConverter jsonConverter;
-  private JwtProvider jwtProvider;
+  private CreditStatusEventGateway creditStatusEventGateway;
   private UpdateCreditUseCase useCase;
 
   @BeforeEach
@@ -30,17 +31,18 @@ class UpdateCreditUseCaseTest {
     notificacionSQSGateway = mock(NotificacionSQSGateway.class);
     reportSQSGateway = mock(ReportSQSGateway.class);
     jsonConverter = mock(JsonConverter.class);
-    jwtProvider = mock(JwtProvider.class);
+    creditStatusEventGateway = mock(CreditStatusEventGateway.class);
+    when(creditStatusEventGateway.publish(any())).thenReturn(Mono.empty());
 
     useCase = new UpdateCreditUseCase(
-            creditGateway, notificacionSQSGateway, reportSQSGateway, jsonConverter, jwtProvider);
+            creditGateway, notificacionSQSGateway, reportSQSGateway, jsonConverter, creditStatusEventGateway);
   }
 
   @Test
   void updateCreditStatus_creditFoundAndApproved() {
     // Arrange
     Long id = 1L;
-    String token = "jwt.token";
+    TokenClaims tokenClaims = TokenClaims.builder().email("user@mail.com").build();
     CreditApproved request = new CreditApproved(true);
 
     CreditParameters params = CreditParameters.builder()
@@ -48,20 +50,14 @@ class UpdateCreditUseCaseTest {
             .estado("PENDING")
             .build();
 
-    CreditReponse existing = CreditReponse.builder()
-            .creditParameters(params)
-            .build();
-
-    when(jwtProvider.getEmailFromToken(token)).thenReturn("user@mail.com");
-    when(creditGateway.findById(id)).thenReturn(Mono.just(existing));
-    when(creditGateway.save(any(CreditParameters.class)))
-            .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+    when(creditGateway.updateState(eq(id), anyString()))
+            .thenAnswer(inv -> Mono.just(params.toBuilder().estado(inv.getArgument(1)).build()));
     when(jsonConverter.toJson(any())).thenReturn(Optional.of("{json}"));
     when(reportSQSGateway.emit("{json}")).thenReturn(Mono.empty());
     when(notificacionSQSGateway.emit("{json}")).thenReturn(Mono.empty());
 
     // Act & Assert
-    StepVerifier.create(useCase.updateCreditStatus(id, request, token))
+    StepVerifier.create(useCase.updateCreditStatus(id, request, tokenClaims))
             .assertNext(response -> {
               assert response.getStatusResponse().equals(Constants.STATUS_OK);
               assert response.getCreditParameters().getEstado().equals(Constants.STATUS_APPROVED);
@@ -71,13 +67,15 @@ class UpdateCreditUseCaseTest {
 
     verify(reportSQSGateway, times(1)).emit("{json}");
     verify(notificacionSQSGateway, times(1)).emit("{json}");
-    verify(creditGateway, times(1)).save(any(CreditParameters.class));
+    verify(creditGateway, times(1)).updateState(id, Constants.STATUS_APPROVED);
+    verify(creditGateway, never()).findById(any());
+    verify(creditGateway, never()).save(any());
   }
 
   @Test
   void updateCreditStatus_creditFoundAndRejected() {
     Long id = 2L;
-    String token = "jwt.token";
+    TokenClaims tokenClaims = TokenClaims.builder().email("user@mail.com").build();
     CreditApproved request = new CreditApproved(false);
 
     CreditParameters params = CreditParameters.builder()
@@ -85,18 +83,12 @@ class UpdateCreditUseCaseTest {
             .estado("PENDING")
             .build();
 
-    CreditReponse existing = CreditReponse.builder()
-            .creditParameters(params)
-            .build();
-
-    when(jwtProvider.getEmailFromToken(token)).thenReturn("user@mail.com");
-    when(creditGateway.findById(id)).thenReturn(Mono.just(existing));
-    when(creditGateway.save(any(CreditParameters.class)))
-            .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+    when(creditGateway.updateState(eq(id), anyString()))
+            .thenAnswer(inv -> Mono.just(params.toBuilder().estado(inv.getArgument(1)).build()));
     when(jsonConverter.toJson(any())).thenReturn(Optional.of("{json}"));
     when(notificacionSQSGateway.emit("{json}")).thenReturn(Mono.empty());
 
-    StepVerifier.create(useCase.updateCreditStatus(id, request, token))
+    StepVerifier.create(useCase.updateCreditStatus(id, request, tokenClaims))
             .assertNext(response -> {
               assert response.getCreditParameters().getEstado().equals(Constants.STATUS_REJECTED);
             })
@@ -109,13 +101,12 @@ class UpdateCreditUseCaseTest {
   @Test
   void updateCreditStatus_creditNotFound() {
     Long id = 3L;
-    String token = "jwt.token";
+    TokenClaims tokenClaims = TokenClaims.builder().email("user@mail.com").build();
     CreditApproved request = new CreditApproved(true);
 
-    when(jwtProvider.getEmailFromToken(token)).thenReturn("user@mail.com");
-    when(creditGateway.findById(id)).thenReturn(Mono.empty());
+    when(creditGateway.updateState(id, Constants.STATUS_APPROVED)).thenReturn(Mono.empty());
 
-    StepVerifier.create(useCase.updateCreditStatus(id, request, token))
+    StepVerifier.create(useCase.updateCreditStatus(id, request, tokenClaims))
             .assertNext(response -> {
               assert response.getStatusResponse().equals(Constants.STATUS_ERROR);
               assert response.getErrorMessage().contains("no encontrado");
@@ -127,13 +118,12 @@ class UpdateCreditUseCaseTest {
   @Test
   void updateCreditStatus_gatewayThrowsError() {
     Long id = 4L;
-    String token = "jwt.token";
+    TokenClaims tokenClaims = TokenClaims.builder().email("user@mail.com").build();
     CreditApproved request = new CreditApproved(true);
 
-    when(jwtProvider.getEmailFromToken(token)).thenReturn("user@mail.com");
-    when(creditGateway.findById(id)).thenReturn(Mono.error(new RuntimeException("DB error")));
+    when(creditGateway.updateState(id, Constants.STATUS_APPROVED)).thenReturn(Mono.error(new RuntimeException("DB error")));
 
-    StepVerifier.create(useCase.updateCreditStatus(id, request, token))
+    StepVerifier.create(useCase.updateCreditStatus(id, request, tokenClaims))
             .assertNext(response -> {
               assert response.getStatusResponse().equals(Constants.STATUS_ERROR);
               assert response.getErrorMessage().contains("DB error");
@@ -0,0 +1,21 @@
+package co.com.pragma.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Filas por sentencia en la carga masiva. Cada fila usa 9 parámetros y Postgres admite
+ * 65535 por sentencia, por eso el tamaño se limita a MAX_CHUNK_SIZE.
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.credit-batch")
+public record CreditBatchProperties(Integer chunkSize) {
+
+  public static final int DEFAULT_CHUNK_SIZE = 500;
+  public static final int MAX_CHUNK_SIZE = 5000;
+
+  public CreditBatchProperties {
+    if (chunkSize == null || chunkSize <= 0) {
+      chunkSize = DEFAULT_CHUNK_SIZE;
+    }
+    chunkSize = Math.min(chunkSize, MAX_CHUNK_SIZE);
+  }
+}
@@ -0,0 +1,23 @@
+package co.com.pragma.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Caché de solicitudes por id. Las escrituras de esta instancia invalidan la entrada al
+ * confirmarse; ttl acota cuánto puede verse un cambio hecho por otra instancia.
+ * Con maxSize 0 el caché queda deshabilitado.
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.credit-cache")
+public record CreditCacheProperties(Long maxSize, Duration ttl) {
+
+  public CreditCacheProperties {
+    if (maxSize == null || maxSize < 0) {
+      maxSize = 10_000L;
+    }
+    if (ttl == null) {
+      ttl = Duration.ofSeconds(30);
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package co.com.pragma.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * notifyEnabled reparte los cambios de estado entre nodos con LISTEN/NOTIFY sobre channel;
+ * apagado, solo los reciben los suscriptores del mismo proceso. subscriberBuffer es el
+ * máximo de eventos pendientes por suscriptor lento antes de descartar los más viejos.
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.credit-events")
+public record CreditEventsProperties(Boolean notifyEnabled, String channel, Integer subscriberBuffer) {
+
+  public static final String DEFAULT_CHANNEL = "solicitudes_estado";
+  public static final int DEFAULT_SUBSCRIBER_BUFFER = 256;
+
+  public CreditEventsProperties {
+    if (notifyEnabled == null) {
+      notifyEnabled = false;
+    }
+    if (channel == null || channel.isBlank()) {
+      channel = DEFAULT_CHANNEL;
+    }
+    if (!channel.matches("[a-z_][a-z0-9_]*")) {
+      throw new IllegalArgumentException("Canal LISTEN/NOTIFY inválido: " + channel);
+    }
+    if (subscriberBuffer == null || subscriberBuffer <= 0) {
+      subscriberBuffer = DEFAULT_SUBSCRIBER_BUFFER;
+    }
+  }
+}
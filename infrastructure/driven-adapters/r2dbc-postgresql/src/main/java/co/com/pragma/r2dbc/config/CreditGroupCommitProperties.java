@@ -0,0 +1,31 @@
+package co.com.pragma.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Escritura agrupada de solicitudes: las altas concurrentes se juntan hasta maxBatchSize filas o
+ * hasta que pasa linger desde la primera, y se insertan con un único INSERT. maxInFlightBatches
+ * acota cuántos lotes ocupan conexión a la vez. Deshabilitado por defecto.
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.credit-group-commit")
+public record CreditGroupCommitProperties(Boolean enabled, Integer maxBatchSize, Duration linger,
+                                          Integer maxInFlightBatches) {
+
+  public CreditGroupCommitProperties {
+    if (enabled == null) {
+      enabled = false;
+    }
+    if (maxBatchSize == null || maxBatchSize < 1) {
+      maxBatchSize = 64;
+    }
+    maxBatchSize = Math.min(maxBatchSize, CreditBatchProperties.MAX_CHUNK_SIZE);
+    if (linger == null || linger.isNegative() || linger.isZero()) {
+      linger = Duration.ofMillis(5);
+    }
+    if (maxInFlightBatches == null || maxInFlightBatches < 1) {
+      maxInFlightBatches = 2;
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package co.com.pragma.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "adapters.r2dbc.credit-list")
+public record CreditListProperties(CountStrategy countStrategy) {
+
+  /**
+   * SEQUENTIAL: total y página en dos viajes consecutivos (comportamiento original).
+   * PARALLEL: total y página en paralelo, cada uno en su propia conexión del pool.
+   * WINDOW: una sola sentencia con COUNT(*) OVER(). Sin filtro materializa el join completo antes
+   * del LIMIT, por lo que cada página cuesta tanto como el listado entero; solo para tablas pequeñas.
+   */
+  public enum CountStrategy {
+    SEQUENTIAL, PARALLEL, WINDOW
+  }
+
+  public CreditListProperties {
+    if (countStrategy == null) {
+      countStrategy = CountStrategy.PARALLEL;
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package co.com.pragma.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * ttl: tiempo que una clave completada se puede reutilizar para repetir la respuesta.
+ * waitTimeout: espera máxima de un duplicado concurrente antes de responder conflicto.
+ * pollInterval: frecuencia con la que se consulta una clave que está en curso en otro nodo.
+ * maxCachedResponses: respuestas completadas que se guardan también en memoria.
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.idempotency")
+public record IdempotencyProperties(Duration ttl, Duration waitTimeout, Duration pollInterval,
+                                    Long maxCachedResponses) {
+
+  public IdempotencyProperties {
+    if (ttl == null) {
+      ttl = Duration.ofHours(24);
+    }
+    if (waitTimeout == null) {
+      waitTimeout = Duration.ofSeconds(10);
+    }
+    if (pollInterval == null) {
+      pollInterval = Duration.ofMillis(200);
+    }
+    if (maxCachedResponses == null) {
+      maxCachedResponses = 10_000L;
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package co.com.pragma.r2dbc.config;
+
+import co.com.pragma.r2dbc.utils.Constants;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.Connection;
+import reactor.core.publisher.Mono;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Pool que exporta su ocupación (adquiridas, ociosas, creadas y adquisiciones en espera) y el
+ * tiempo que tarda cada adquisición, incluidas las que terminan en timeout. Con estas series se
+ * dimensiona maxSize: esperas altas con adquiridas en el máximo indican un pool corto.
+ * También publica el tamaño configurado del caché de sentencias preparadas y si se usa binario.
+ */
+class MeteredConnectionPool extends ConnectionPool {
+
+  private final Timer acquireTimer;
+
+  MeteredConnectionPool(ConnectionPoolConfiguration configuration, String name,
+                        PostgresqlConnectionProperties.Options options, MeterRegistry meterRegistry) {
+    super(configuration);
+    Gauge.builder(Constants.DB_STATEMENT_CACHE_SIZE, options, o -> o.preparedStatementCacheQueries())
+            .tag(Constants.POOL_TAG, name)
+            .tag(Constants.BINARY_TAG, String.valueOf(options.forceBinary()))
+            .register(meterRegistry);
+    this.acquireTimer = Timer.builder(Constants.DB_POOL_ACQUIRE_TIMER)
+            .tag(Constants.POOL_TAG, name)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    getMetrics().ifPresent(metrics -> {
+      gauge(meterRegistry, Constants.DB_POOL_ACQUIRED, name, metrics, PoolMetrics::acquiredSize);
+      gauge(meterRegistry, Constants.DB_POOL_IDLE, name, metrics, PoolMetrics::idleSize);
+      gauge(meterRegistry, Constants.DB_POOL_ALLOCATED, name, metrics, PoolMetrics::allocatedSize);
+      gauge(meterRegistry, Constants.DB_POOL_PENDING, name, metrics, PoolMetrics::pendingAcquireSize);
+      gauge(meterRegistry, Constants.DB_POOL_MAX_ALLOCATED, name, metrics, PoolMetrics::getMaxAllocatedSize);
+    });
+  }
+
+  @Override
+  public Mono<Connection> create() {
+    return Mono.defer(() -> {
+      Timer.Sample sample = Timer.start();
+      return super.create().doOnTerminate(() -> sample.stop(acquireTimer));
+    });
+  }
+
+  private static void gauge(MeterRegistry meterRegistry, String metric, String name, PoolMetrics metrics,
+                            ToDoubleFunction<PoolMetrics> value) {
+    Gauge.builder(metric, metrics, value)
+            .tag(Constants.POOL_TAG, name)
+            .register(meterRegistry);
+  }
+}
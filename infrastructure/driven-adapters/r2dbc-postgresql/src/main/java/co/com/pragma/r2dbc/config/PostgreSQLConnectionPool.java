@@ -1,5 +1,6 @@
 package co.com.pragma.r2dbc.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.r2dbc.pool.ConnectionPool;
 import io.r2dbc.pool.ConnectionPoolConfiguration;
 import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
@@ -7,18 +8,15 @@ import io.r2dbc.postgresql.PostgresqlConnectionFactory;
 import io.r2dbc.postgresql.client.SSLMode;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-
-import java.time.Duration;
+import org.springframework.context.annotation.DependsOn;
 
 @Configuration
 public class PostgreSQLConnectionPool {
-  public static final int INITIAL_SIZE = 12;
-  public static final int MAX_SIZE = 15;
-  public static final int MAX_IDLE_TIME = 30;
-  public static final int DEFAULT_PORT = 5432;
+  public static final String POOL_NAME = "api-postgres-connection-pool";
 
   @Bean
-  public ConnectionPool getConnectionConfig(PostgresqlConnectionProperties properties) {
+  @DependsOn(SchemaMigrator.BEAN_NAME)
+  public ConnectionPool getConnectionConfig(PostgresqlConnectionProperties properties, MeterRegistry meterRegistry) {
     PostgresqlConnectionConfiguration dbConfiguration = PostgresqlConnectionConfiguration.builder()
             .host(properties.host())
             .port(properties.port())
@@ -26,18 +24,31 @@ public class PostgreSQLConnectionPool {
             .schema(properties.schema())
             .username(properties.username())
             .password(properties.password())
-            .sslMode(SSLMode.PREFER)
+            .sslMode(SSLMode.fromValue(properties.options().sslMode()))
+            .preparedStatementCacheQueries(properties.options().preparedStatementCacheQueries())
+            .forceBinary(properties.options().forceBinary())
             .build();
 
+    return createPool(POOL_NAME, dbConfiguration, properties.pool(), properties.options(), meterRegistry);
+  }
+
+  static ConnectionPool createPool(String name, PostgresqlConnectionConfiguration dbConfiguration,
+                                   PostgresqlConnectionProperties.Pool pool,
+                                   PostgresqlConnectionProperties.Options options, MeterRegistry meterRegistry) {
     ConnectionPoolConfiguration poolConfiguration = ConnectionPoolConfiguration.builder()
             .connectionFactory(new PostgresqlConnectionFactory(dbConfiguration))
-            .name("api-postgres-connection-pool")
-            .initialSize(INITIAL_SIZE)
-            .maxSize(MAX_SIZE)
-            .maxIdleTime(Duration.ofMinutes(MAX_IDLE_TIME))
-            .validationQuery("SELECT 1")
+            .name(name)
+            .initialSize(pool.initialSize())
+            .maxSize(pool.maxSize())
+            .maxIdleTime(pool.maxIdleTime())
+            .maxLifeTime(pool.maxLifeTime())
+            .maxAcquireTime(pool.maxAcquireTime())
+            .maxCreateConnectionTime(pool.maxCreateConnectionTime())
+            .backgroundEvictionInterval(pool.backgroundEvictionInterval())
+            .acquireRetry(pool.acquireRetry())
+            .validationQuery(pool.validationQuery())
             .build();
 
-    return new ConnectionPool(poolConfiguration);
+    return new MeteredConnectionPool(poolConfiguration, name, options, meterRegistry);
   }
-}
\ No newline at end of file
+}
@@ -2,6 +2,8 @@ package co.com.pragma.r2dbc.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "adapters.r2dbc")
 public record PostgresqlConnectionProperties(
         String host,
@@ -9,5 +11,92 @@ public record PostgresqlConnectionProperties(
         String database,
         String schema,
         String username,
-        String password) {
+        String password,
+        Options options,
+        Pool pool) {
+
+  public static final int DEFAULT_PORT = 5432;
+
+  public PostgresqlConnectionProperties {
+    if (port == null) {
+      port = DEFAULT_PORT;
+    }
+    if (options == null) {
+      options = new Options(null, null, null);
+    }
+    if (pool == null) {
+      pool = new Pool(null, null, null, null, null, null, null, null, null);
+    }
+  }
+
+  /**
+   * sslMode acepta los nombres de SSLMode del driver (disable, prefer, require, verify-full...).
+   * preparedStatementCacheQueries es el máximo de sentencias preparadas por conexión (LRU): 0 las
+   * desactiva y -1 no pone límite. forceBinary pide los valores en binario en vez de texto, lo que
+   * evita parsear numeric y timestamp en cada fila.
+   */
+  public record Options(String sslMode, Integer preparedStatementCacheQueries, Boolean forceBinary) {
+
+    public static final int DEFAULT_PREPARED_STATEMENT_CACHE_QUERIES = 256;
+
+    public Options {
+      if (sslMode == null || sslMode.isBlank()) {
+        sslMode = "prefer";
+      }
+      if (preparedStatementCacheQueries == null || preparedStatementCacheQueries < -1) {
+        preparedStatementCacheQueries = DEFAULT_PREPARED_STATEMENT_CACHE_QUERIES;
+      }
+      if (forceBinary == null) {
+        forceBinary = true;
+      }
+    }
+  }
+
+  /**
+   * Tamaños y tiempos del pool de conexiones. Una duración negativa deja el límite desactivado,
+   * como en r2dbc-pool; backgroundEvictionInterval en cero desactiva el desalojo en segundo plano.
+   * acquireRetry es el número de reintentos si falla la primera adquisición.
+   */
+  public record Pool(
+          Integer initialSize,
+          Integer maxSize,
+          Duration maxIdleTime,
+          Duration maxLifeTime,
+          Duration maxAcquireTime,
+          Duration maxCreateConnectionTime,
+          Duration backgroundEvictionInterval,
+          Integer acquireRetry,
+          String validationQuery) {
+
+    public Pool {
+      if (maxSize == null || maxSize < 1) {
+        maxSize = 15;
+      }
+      if (initialSize == null || initialSize < 0) {
+        initialSize = Math.min(12, maxSize);
+      }
+      initialSize = Math.min(initialSize, maxSize);
+      if (maxIdleTime == null) {
+        maxIdleTime = Duration.ofMinutes(30);
+      }
+      if (maxLifeTime == null) {
+        maxLifeTime = Duration.ofMinutes(30);
+      }
+      if (maxAcquireTime == null) {
+        maxAcquireTime = Duration.ofSeconds(5);
+      }
+      if (maxCreateConnectionTime == null) {
+        maxCreateConnectionTime = Duration.ofSeconds(5);
+      }
+      if (backgroundEvictionInterval == null) {
+        backgroundEvictionInterval = Duration.ofMinutes(1);
+      }
+      if (acquireRetry == null || acquireRetry < 0) {
+        acquireRetry = 1;
+      }
+      if (validationQuery == null || validationQuery.isBlank()) {
+        validationQuery = "SELECT 1";
+      }
+    }
+  }
 }
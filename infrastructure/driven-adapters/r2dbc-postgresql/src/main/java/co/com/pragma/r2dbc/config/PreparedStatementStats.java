@@ -0,0 +1,87 @@
+package co.com.pragma.r2dbc.config;
+
+import co.com.pragma.r2dbc.utils.Constants;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * El driver no expone aciertos de su caché de sentencias, así que la proporción se mide en el
+ * servidor: entre dos muestras, 1 - planes / ejecuciones de las sentencias de este usuario y base.
+ * Sin ejecuciones en el intervalo el gauge conserva el último valor.
+ */
+@Component
+@Log
+public class PreparedStatementStats implements DisposableBean {
+
+  static final String STATS_SQL = """
+              SELECT COALESCE(SUM(calls), 0)::bigint AS calls, COALESCE(SUM(plans), 0)::bigint AS plans
+              FROM pg_stat_statements
+              WHERE dbid = (SELECT oid FROM pg_database WHERE datname = current_database())
+                AND userid = (SELECT oid FROM pg_roles WHERE rolname = current_user)
+          """;
+
+  private final DatabaseClient databaseClient;
+  private final AtomicReference<Sample> last = new AtomicReference<>();
+  private volatile double hitRatio = Double.NaN;
+  private final Disposable sampler;
+
+  public PreparedStatementStats(StatementStatsProperties properties, DatabaseClient databaseClient,
+                                MeterRegistry meterRegistry) {
+    this.databaseClient = databaseClient;
+    Gauge.builder(Constants.DB_STATEMENT_PLAN_HIT_RATIO, this, PreparedStatementStats::hitRatio)
+            .tag(Constants.POOL_TAG, PostgreSQLConnectionPool.POOL_NAME)
+            .register(meterRegistry);
+    this.sampler = properties.enabled()
+            ? Flux.interval(properties.interval())
+                    .concatMap(tick -> sample())
+                    .subscribe()
+            : Disposables.disposed();
+  }
+
+  double hitRatio() {
+    return hitRatio;
+  }
+
+  Mono<Void> sample() {
+    return databaseClient.sql(STATS_SQL)
+            .map((row, metadata) -> new Sample(row.get("calls", Long.class), row.get("plans", Long.class)))
+            .one()
+            .doOnNext(this::record)
+            .then()
+            .onErrorResume(e -> {
+              log.warning(Constants.LOG_STATEMENT_STATS_UNAVAILABLE + e.getMessage());
+              return Mono.empty();
+            });
+  }
+
+  void record(Sample current) {
+    Sample previous = last.getAndSet(current);
+    if (previous == null) {
+      return;
+    }
+    long calls = current.calls() - previous.calls();
+    long plans = current.plans() - previous.plans();
+    // un reset de pg_stat_statements deja deltas negativos: se descarta el intervalo
+    if (calls > 0 && plans >= 0) {
+      hitRatio = Math.max(0.0, 1.0 - (double) plans / calls);
+    }
+  }
+
+  @Override
+  public void destroy() {
+    sampler.dispose();
+  }
+
+  record Sample(long calls, long plans) {
+  }
+}
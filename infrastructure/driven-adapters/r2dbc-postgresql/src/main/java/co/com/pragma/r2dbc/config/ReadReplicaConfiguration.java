@@ -0,0 +1,58 @@
+package co.com.pragma.r2dbc.config;
+
+import co.com.pragma.r2dbc.routing.ReplicaHealth;
+import co.com.pragma.r2dbc.routing.ReplicaRoutingConnectionFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.client.SSLMode;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Con adapters.r2dbc.replica.enabled la fábrica de conexiones de la aplicación pasa a ser la de
+ * enrutamiento; el pool del primario sigue siendo el destino por defecto.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "adapters.r2dbc.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfiguration {
+  public static final String REPLICA_POOL_NAME = "api-postgres-replica-pool";
+
+  @Bean
+  public ConnectionPool replicaConnectionPool(ReplicaProperties replica, PostgresqlConnectionProperties primary,
+                                              MeterRegistry meterRegistry) {
+    PostgresqlConnectionConfiguration dbConfiguration = PostgresqlConnectionConfiguration.builder()
+            .host(replica.host())
+            .port(replica.port())
+            .database(replica.database() != null ? replica.database() : primary.database())
+            .schema(replica.schema() != null ? replica.schema() : primary.schema())
+            .username(replica.username() != null ? replica.username() : primary.username())
+            .password(replica.password() != null ? replica.password() : primary.password())
+            .sslMode(SSLMode.fromValue(primary.options().sslMode()))
+            .preparedStatementCacheQueries(primary.options().preparedStatementCacheQueries())
+            .forceBinary(primary.options().forceBinary())
+            .build();
+
+    return PostgreSQLConnectionPool.createPool(REPLICA_POOL_NAME, dbConfiguration, replica.pool(),
+            primary.options(), meterRegistry);
+  }
+
+  @Bean
+  public ReplicaHealth replicaHealth(@Qualifier("replicaConnectionPool") ConnectionPool replicaConnectionPool,
+                                     ReplicaProperties replica, MeterRegistry meterRegistry) {
+    return new ReplicaHealth(replicaConnectionPool, replica, meterRegistry);
+  }
+
+  @Bean
+  @Primary
+  public ConnectionFactory replicaRoutingConnectionFactory(
+          @Qualifier("getConnectionConfig") ConnectionPool primaryConnectionPool,
+          @Qualifier("replicaConnectionPool") ConnectionPool replicaConnectionPool,
+          ReplicaHealth replicaHealth) {
+    return new ReplicaRoutingConnectionFactory(primaryConnectionPool, replicaConnectionPool, replicaHealth);
+  }
+}
@@ -0,0 +1,47 @@
+package co.com.pragma.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Réplica de lectura para el listado de asesores y las consultas de reporte. database, schema,
+ * username y password toman los del primario si no se informan. Si la réplica no responde en
+ * checkTimeout o su retraso supera maxLag, las lecturas vuelven al primario hasta el siguiente
+ * chequeo sano.
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.replica")
+public record ReplicaProperties(
+        Boolean enabled,
+        String host,
+        Integer port,
+        String database,
+        String schema,
+        String username,
+        String password,
+        Duration maxLag,
+        Duration checkInterval,
+        Duration checkTimeout,
+        PostgresqlConnectionProperties.Pool pool) {
+
+  public ReplicaProperties {
+    if (enabled == null) {
+      enabled = false;
+    }
+    if (port == null) {
+      port = PostgresqlConnectionProperties.DEFAULT_PORT;
+    }
+    if (maxLag == null || maxLag.isNegative()) {
+      maxLag = Duration.ofSeconds(5);
+    }
+    if (checkInterval == null || checkInterval.isNegative() || checkInterval.isZero()) {
+      checkInterval = Duration.ofSeconds(5);
+    }
+    if (checkTimeout == null || checkTimeout.isNegative() || checkTimeout.isZero()) {
+      checkTimeout = Duration.ofSeconds(2);
+    }
+    if (pool == null) {
+      pool = new PostgresqlConnectionProperties.Pool(null, null, null, null, null, null, null, null, null);
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package co.com.pragma.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Migraciones versionadas que se aplican al arrancar, antes de abrir el pool R2DBC. Una base ya
+ * existente sin historial de Flyway se toma como baselineVersion y recibe solo las posteriores.
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.migrations")
+public record SchemaMigrationProperties(Boolean enabled, List<String> locations, String baselineVersion) {
+
+  public SchemaMigrationProperties {
+    if (enabled == null) {
+      enabled = true;
+    }
+    if (locations == null || locations.isEmpty()) {
+      locations = List.of("classpath:db/migration");
+    }
+    if (baselineVersion == null || baselineVersion.isBlank()) {
+      baselineVersion = "1";
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package co.com.pragma.r2dbc.config;
+
+import co.com.pragma.r2dbc.utils.Constants;
+import lombok.extern.java.Log;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Aplica las migraciones con Flyway sobre JDBC, que Flyway necesita aunque la aplicación use
+ * R2DBC. Corre una vez al crear el bean y el pool depende de él, así ninguna consulta llega a un
+ * esquema sin migrar. Un fallo detiene el arranque.
+ * Las migraciones parten de la versión 1, que se crea fuera de este módulo; si sus tablas no
+ * existen se detiene antes de migrar con un mensaje claro en lugar de fallar dentro de V2.
+ */
+@Component(SchemaMigrator.BEAN_NAME)
+@Log
+public class SchemaMigrator implements InitializingBean {
+  public static final String BEAN_NAME = "schemaMigrator";
+  static final List<String> BASE_TABLES = List.of("crediya.solicitudes_credito");
+
+  private final PostgresqlConnectionProperties connection;
+  private final SchemaMigrationProperties migrations;
+
+  public SchemaMigrator(PostgresqlConnectionProperties connection, SchemaMigrationProperties migrations) {
+    this.connection = connection;
+    this.migrations = migrations;
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    if (!migrations.enabled()) {
+      log.info(Constants.LOG_MIGRATIONS_DISABLED);
+      return;
+    }
+    Flyway flyway = flyway();
+    try (Connection jdbc = flyway.getConfiguration().getDataSource().getConnection()) {
+      requireBaseSchema(jdbc);
+    } catch (SQLException e) {
+      throw new IllegalStateException(Constants.ERROR_MIGRATIONS_CONNECTION + e.getMessage(), e);
+    }
+    MigrateResult result = flyway.migrate();
+    log.info(Constants.LOG_MIGRATIONS_APPLIED + result.migrationsExecuted + " -> " + result.targetSchemaVersion);
+  }
+
+  Flyway flyway() {
+    return Flyway.configure()
+            .dataSource(jdbcUrl(connection), connection.username(), connection.password())
+            .schemas(connection.schema())
+            .locations(migrations.locations().toArray(String[]::new))
+            .baselineOnMigrate(true)
+            .baselineVersion(migrations.baselineVersion())
+            .load();
+  }
+
+  static void requireBaseSchema(Connection jdbc) throws SQLException {
+    try (PreparedStatement exists = jdbc.prepareStatement("SELECT to_regclass(?) IS NOT NULL")) {
+      for (String table : BASE_TABLES) {
+        exists.setString(1, table);
+        try (ResultSet result = exists.executeQuery()) {
+          if (!result.next() || !result.getBoolean(1)) {
+            throw new IllegalStateException(Constants.ERROR_BASE_SCHEMA_MISSING + table);
+          }
+        }
+      }
+    }
+  }
+
+  static String jdbcUrl(PostgresqlConnectionProperties connection) {
+    return "jdbc:postgresql://" + connection.host() + ":" + connection.port() + "/" + connection.database()
+            + "?sslmode=" + connection.options().sslMode();
+  }
+}
@@ -0,0 +1,22 @@
+package co.com.pragma.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Muestreo de pg_stat_statements para estimar cuántas ejecuciones reutilizan un plan. Requiere la
+ * extensión y pg_stat_statements.track_planning = on; por eso viene apagado.
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.statement-stats")
+public record StatementStatsProperties(Boolean enabled, Duration interval) {
+
+  public StatementStatsProperties {
+    if (enabled == null) {
+      enabled = false;
+    }
+    if (interval == null || interval.isNegative() || interval.isZero()) {
+      interval = Duration.ofMinutes(1);
+    }
+  }
+}
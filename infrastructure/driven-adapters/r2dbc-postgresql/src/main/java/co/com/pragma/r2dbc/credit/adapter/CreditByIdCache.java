@@ -0,0 +1,66 @@
+package co.com.pragma.r2dbc.credit.adapter;
+
+import co.com.pragma.r2dbc.config.CreditCacheProperties;
+import co.com.pragma.r2dbc.credit.entity.CreditApplication;
+import co.com.pragma.r2dbc.utils.Constants;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Read-through por id delante de la tabla de solicitudes. Las lecturas concurrentes del mismo id
+ * comparten una sola consulta, y las ausencias no se guardan. Invalidar también descarta una
+ * carga en curso, así que una lectura que empezó antes de una escritura no deja su valor viejo.
+ * Guarda la entidad y no el DTO: cada lectura se mapea de nuevo y nadie muta la copia cacheada.
+ */
+@Component
+public class CreditByIdCache {
+
+  private final AsyncCache<Long, CreditApplication> cache;
+  private final boolean enabled;
+  private final Timer loadTimer;
+
+  public CreditByIdCache(CreditCacheProperties properties, MeterRegistry meterRegistry) {
+    this.enabled = properties.maxSize() > 0;
+    this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.maxSize())
+            .expireAfterWrite(properties.ttl())
+            .recordStats()
+            .buildAsync();
+    this.loadTimer = Timer.builder(Constants.CREDIT_CACHE_LOAD_TIMER)
+            .tag(Constants.CACHE_TAG, Constants.CREDIT_CACHE_NAME)
+            .register(meterRegistry);
+    CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), Constants.CREDIT_CACHE_NAME);
+    Gauge.builder(Constants.CREDIT_CACHE_HIT_RATIO, cache, c -> c.synchronous().stats().hitRate())
+            .tag(Constants.CACHE_TAG, Constants.CREDIT_CACHE_NAME)
+            .register(meterRegistry);
+  }
+
+  public Mono<CreditApplication> get(Long id, Function<Long, Mono<CreditApplication>> loader) {
+    if (!enabled) {
+      return loader.apply(id);
+    }
+    // suppressCancel: si un lector cancela, la carga sigue para los demás que la comparten
+    return Mono.fromFuture(() -> cache.get(id, (key, executor) -> timed(loader.apply(key)).toFuture()), true);
+  }
+
+  public void invalidate(Long id) {
+    if (id != null) {
+      cache.synchronous().invalidate(id);
+    }
+  }
+
+  private Mono<CreditApplication> timed(Mono<CreditApplication> load) {
+    return Mono.defer(() -> {
+      Timer.Sample sample = Timer.start();
+      return load.doFinally(signal -> sample.stop(loadTimer));
+    });
+  }
+}
@@ -0,0 +1,157 @@
+package co.com.pragma.r2dbc.credit.adapter;
+
+import co.com.pragma.r2dbc.config.CreditGroupCommitProperties;
+import co.com.pragma.r2dbc.credit.entity.CreditApplication;
+import co.com.pragma.r2dbc.credit.repository.CreditApplicationRepository;
+import co.com.pragma.r2dbc.utils.Constants;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Junta las altas concurrentes y las escribe con un único INSERT de varias filas, así un pico de
+ * solicitudes ocupa una conexión por lote y no una por fila. Cada llamador recibe el id de su fila.
+ * Si el lote falla se reintenta fila a fila, para que una fila inválida no arrastre a las demás.
+ * Cancelar el Mono no retira la fila de un lote ya encolado. Si la tubería terminara por un error
+ * inesperado, las filas pendientes fallan y se arranca una tubería nueva.
+ */
+@Component
+@Log
+public class CreditGroupCommitWriter implements DisposableBean {
+  private final CreditApplicationRepository creditApplicationRepository;
+  private final boolean enabled;
+  private final DistributionSummary batchSize;
+  private final Timer waitTimer;
+  private final int maxBatchSize;
+  private final Duration linger;
+  private final int maxInFlightBatches;
+  private volatile Pipeline pipeline;
+  private volatile boolean closed;
+
+  public CreditGroupCommitWriter(CreditApplicationRepository creditApplicationRepository,
+                                 CreditGroupCommitProperties properties, MeterRegistry meterRegistry) {
+    this.creditApplicationRepository = creditApplicationRepository;
+    this.enabled = properties.enabled();
+    this.batchSize = DistributionSummary.builder(Constants.CREDIT_GROUP_COMMIT_BATCH_SIZE)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(1.0)
+            .maximumExpectedValue((double) properties.maxBatchSize())
+            .register(meterRegistry);
+    this.waitTimer = Timer.builder(Constants.CREDIT_GROUP_COMMIT_WAIT_TIMER)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    this.maxBatchSize = properties.maxBatchSize();
+    this.linger = properties.linger();
+    this.maxInFlightBatches = properties.maxInFlightBatches();
+    if (enabled) {
+      start();
+    }
+  }
+
+  private void start() {
+    Pipeline next = new Pipeline();
+    // FluxSink serializa los next concurrentes de los hilos de Netty sin reintentos activos;
+    // bufferTimeout justo no emite lotes sin demanda cuando todos los lotes en vuelo están ocupados
+    next.batches = Flux.<PendingInsert>create(sink -> next.sink = sink, FluxSink.OverflowStrategy.BUFFER)
+            .bufferTimeout(maxBatchSize, linger, true)
+            .flatMap(this::writeBatch, maxInFlightBatches)
+            .subscribe(null, e -> restart(next, e));
+    this.pipeline = next;
+  }
+
+  private void restart(Pipeline failed, Throwable e) {
+    log.warning(Constants.LOG_GROUP_COMMIT_RESTART + e.getMessage());
+    if (!closed) {
+      start();
+    }
+    failed.terminated = true;
+    failed.queued.forEach(p -> p.id().tryEmitError(e));
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public Mono<Long> insert(CreditApplication credit) {
+    return Mono.defer(() -> {
+      Pipeline current = pipeline;
+      if (closed || current == null || current.sink == null) {
+        return Mono.error(new IllegalStateException(Constants.ERROR_GROUP_COMMIT_CLOSED));
+      }
+      PendingInsert pendingInsert = new PendingInsert(credit, Sinks.one(), System.nanoTime());
+      current.queued.add(pendingInsert);
+      current.sink.next(pendingInsert);
+      if (current.terminated) {
+        pendingInsert.id().tryEmitError(new IllegalStateException(Constants.ERROR_GROUP_COMMIT_CLOSED));
+      }
+      return pendingInsert.id().asMono()
+              .doFinally(signal -> current.queued.remove(pendingInsert));
+    });
+  }
+
+  private Mono<Void> writeBatch(List<PendingInsert> batch) {
+    long dispatchedAt = System.nanoTime();
+    batch.forEach(p -> waitTimer.record(dispatchedAt - p.enqueuedAt(), TimeUnit.NANOSECONDS));
+    batchSize.record(batch.size());
+    return insertAll(batch)
+            .onErrorResume(e -> batch.size() > 1, e -> {
+              log.warning(Constants.LOG_GROUP_COMMIT_FALLBACK + e.getMessage());
+              return Flux.fromIterable(batch).concatMap(p -> insertAll(List.of(p))).then();
+            })
+            .onErrorResume(e -> fail(batch, e));
+  }
+
+  private Mono<Void> insertAll(List<PendingInsert> batch) {
+    return creditApplicationRepository.insertAll(batch.stream().map(PendingInsert::credit).toList())
+            .collectList()
+            .doOnNext(ids -> {
+              for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).id().tryEmitValue(ids.get(i));
+              }
+            })
+            .then()
+            .onErrorResume(e -> batch.size() == 1, e -> fail(batch, e));
+  }
+
+  private Mono<Void> fail(List<PendingInsert> batch, Throwable e) {
+    batch.forEach(p -> p.id().tryEmitError(e));
+    return Mono.empty();
+  }
+
+  @Override
+  public void destroy() {
+    closed = true;
+    Pipeline current = pipeline;
+    if (current != null) {
+      current.sink.complete();
+      current.batches.dispose();
+    }
+  }
+
+  private record PendingInsert(CreditApplication credit, Sinks.One<Long> id, long enqueuedAt) {
+  }
+
+  /**
+   * Una suscripción de la tubería con las filas que sus llamadores aún esperan.
+   */
+  private static final class Pipeline {
+    private final Set<PendingInsert> queued = ConcurrentHashMap.newKeySet();
+    private volatile FluxSink<PendingInsert> sink;
+    private volatile Disposable batches;
+    private volatile boolean terminated;
+  }
+}
@@ -0,0 +1,135 @@
+package co.com.pragma.r2dbc.credit.adapter;
+
+import co.com.pragma.model.credit.CreditCount;
+import co.com.pragma.model.credit.CreditDetailDTO;
+import co.com.pragma.model.credit.CreditListFilter;
+import co.com.pragma.model.credit.CreditPage;
+import co.com.pragma.r2dbc.config.CreditListProperties;
+import co.com.pragma.r2dbc.config.CreditListProperties.CountStrategy;
+import co.com.pragma.r2dbc.credit.dto.CreditDetailRow;
+import co.com.pragma.r2dbc.credit.mapper.CreditApplicationMapper;
+import co.com.pragma.r2dbc.credit.repository.CreditApplicationRepository;
+import co.com.pragma.r2dbc.utils.Constants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.List;
+
+/**
+ * Obtiene una página del listado de asesores junto con su total usando la
+ * estrategia configurada, y registra la latencia de cada estrategia y resultado por separado
+ * (ON_COMPLETE, ON_ERROR o CANCEL), para que los fallos rápidos no maquillen los percentiles.
+ */
+@Component
+public class CreditPageReader {
+
+  private final CreditApplicationRepository creditApplicationRepository;
+  private final CreditApplicationMapper creditApplicationMapper;
+  private final CountStrategy strategy;
+  private final MeterRegistry meterRegistry;
+
+  public CreditPageReader(CreditApplicationRepository creditApplicationRepository,
+                          CreditApplicationMapper creditApplicationMapper,
+                          CreditListProperties properties,
+                          MeterRegistry meterRegistry) {
+    this.creditApplicationRepository = creditApplicationRepository;
+    this.creditApplicationMapper = creditApplicationMapper;
+    this.strategy = properties.countStrategy();
+    this.meterRegistry = meterRegistry;
+  }
+
+  public Mono<CreditPage> readPage(int page, int size, Mono<CreditCount> count) {
+    return readPage(strategy, page, size, count);
+  }
+
+  Mono<CreditPage> readPage(CountStrategy selected, int page, int size, Mono<CreditCount> count) {
+    return Mono.defer(() -> {
+      Timer.Sample sample = Timer.start();
+      Mono<CreditPage> result = switch (selected) {
+        case SEQUENTIAL -> sequential(pageRows(page, size), count);
+        case PARALLEL -> parallel(pageRows(page, size), count);
+        case WINDOW -> window(page, size, count);
+      };
+      return result.doFinally(signal -> sample.stop(pageTimer(selected.name(), signal)));
+    });
+  }
+
+  private Mono<CreditPage> sequential(Mono<List<CreditDetailDTO>> rows, Mono<CreditCount> count) {
+    return count
+            .flatMap(total -> rows.map(credits -> toPage(credits, total)));
+  }
+
+  private Mono<CreditPage> parallel(Mono<List<CreditDetailDTO>> rows, Mono<CreditCount> count) {
+    return Mono.zip(count, rows)
+            .map(tuple -> toPage(tuple.getT2(), tuple.getT1()));
+  }
+
+  /**
+   * COUNT(*) OVER() obliga a PostgreSQL a recorrer y unir todas las solicitudes antes de aplicar
+   * el LIMIT, así que sin filtro cada página cuesta lo mismo que el listado completo. Solo conviene
+   * con tablas pequeñas; para el listado sin filtro la opción por defecto es PARALLEL.
+   */
+  private Mono<CreditPage> window(int page, int size, Mono<CreditCount> count) {
+    return creditApplicationRepository.findCreditDetailsWithTotal(size, (long) page * size)
+            .collectList()
+            .flatMap(rows -> rows.isEmpty()
+                    ? count.map(total -> toPage(List.of(), total))
+                    : Mono.just(toWindowPage(rows)));
+  }
+
+  /**
+   * La página filtrada sale de la consulta indexada ORDER BY ... LIMIT y el total se pide aparte:
+   * del contador mantenido si el filtro solo cambia el orden, o de un COUNT con el mismo WHERE.
+   * Ambos se combinan con la estrategia configurada; WINDOW se resuelve como PARALLEL.
+   */
+  public Mono<CreditPage> readFilteredPage(CreditListFilter filter, int page, int size,
+                                           Mono<CreditCount> unfilteredCount) {
+    return readFilteredPage(strategy, filter, page, size, unfilteredCount);
+  }
+
+  Mono<CreditPage> readFilteredPage(CountStrategy selected, CreditListFilter filter, int page, int size,
+                                    Mono<CreditCount> unfilteredCount) {
+    return Mono.defer(() -> {
+      Timer.Sample sample = Timer.start();
+      Mono<CreditCount> count = filter.hasConditions() ? filteredCount(filter) : unfilteredCount;
+      Mono<List<CreditDetailDTO>> rows = creditApplicationRepository
+              .findCreditDetails(filter, size, (long) page * size)
+              .map(creditApplicationMapper::toCreditDetail)
+              .collectList();
+      Mono<CreditPage> result = selected == CountStrategy.SEQUENTIAL
+              ? sequential(rows, count)
+              : parallel(rows, count);
+      return result.doFinally(signal -> sample.stop(pageTimer(Constants.FILTERED_STRATEGY, signal)));
+    });
+  }
+
+  private Timer pageTimer(String strategyTag, SignalType signal) {
+    return Timer.builder(Constants.CREDIT_LIST_PAGE_TIMER)
+            .tag(Constants.STRATEGY_TAG, strategyTag)
+            .tag(Constants.OUTCOME_TAG, signal.name())
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+  }
+
+  private Mono<CreditCount> filteredCount(CreditListFilter filter) {
+    return creditApplicationRepository.countCreditDetails(filter)
+            .map(value -> CreditCount.builder().total(value).exact(true).build());
+  }
+
+  private Mono<List<CreditDetailDTO>> pageRows(int page, int size) {
+    return creditApplicationRepository.findAllCreditDetails(PageRequest.of(page, size)).collectList();
+  }
+
+  private CreditPage toWindowPage(List<CreditDetailRow> rows) {
+    return toPage(rows.stream().map(creditApplicationMapper::toCreditDetail).toList(),
+            CreditCount.builder().total(rows.get(0).getTotalcount()).exact(true).build());
+  }
+
+  private CreditPage toPage(List<CreditDetailDTO> credits, CreditCount count) {
+    return CreditPage.builder().credits(credits).count(count).build();
+  }
+}
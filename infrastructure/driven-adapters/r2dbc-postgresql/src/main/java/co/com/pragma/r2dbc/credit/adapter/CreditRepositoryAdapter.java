@@ -1,12 +1,21 @@
 package co.com.pragma.r2dbc.credit.adapter;
 
+import co.com.pragma.model.credit.CreditCount;
+import co.com.pragma.model.credit.CreditCursor;
 import co.com.pragma.model.credit.CreditDetailDTO;
+import co.com.pragma.model.credit.CreditListFilter;
+import co.com.pragma.model.credit.CreditPage;
 import co.com.pragma.model.credit.CreditParameters;
 import co.com.pragma.model.credit.CreditReponse;
+import co.com.pragma.model.credit.CreditStateChange;
+import co.com.pragma.model.credit.PrestamoActivo;
 import co.com.pragma.model.gateway.CreditGateway;
+import co.com.pragma.r2dbc.config.CreditBatchProperties;
+import co.com.pragma.r2dbc.credit.dto.CreditDetailRow;
 import co.com.pragma.r2dbc.credit.entity.CreditApplication;
 import co.com.pragma.r2dbc.credit.mapper.CreditApplicationMapper;
 import co.com.pragma.r2dbc.credit.repository.CreditApplicationRepository;
+import co.com.pragma.r2dbc.routing.ReadReplicaRouter;
 import co.com.pragma.r2dbc.utils.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.java.Log;
@@ -16,6 +25,10 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Repository
 @RequiredArgsConstructor
 @Log
@@ -23,6 +36,11 @@ public class CreditRepositoryAdapter implements CreditGateway {
 
   private final CreditApplicationRepository creditApplicationRepository;
   private final CreditApplicationMapper creditApplicationMapper;
+  private final CreditPageReader creditPageReader;
+  private final CreditBatchProperties creditBatchProperties;
+  private final CreditByIdCache creditByIdCache;
+  private final CreditGroupCommitWriter creditGroupCommitWriter;
+  private final ReadReplicaRouter readReplicaRouter;
 
   @Override
   public Mono<CreditReponse> createCredit(CreditParameters creditParameters) {
@@ -34,7 +52,7 @@ public class CreditRepositoryAdapter implements CreditGateway {
 
   private Mono<CreditReponse> saveCreditEntity(CreditApplication entity) {
     log.info(Constants.LOG_ENTITY_BEFORE_SAVE + entity);
-    return creditApplicationRepository.save(entity)
+    return insertEntity(entity)
             .map(savedEntity -> {
                 CreditParameters creditParameters = creditApplicationMapper.toDto(savedEntity);
                 creditParameters.setIdEntidadGuardada(savedEntity.getId());
@@ -45,6 +63,49 @@ public class CreditRepositoryAdapter implements CreditGateway {
             });
   }
 
+  private Mono<CreditApplication> insertEntity(CreditApplication entity) {
+    if (!creditGroupCommitWriter.isEnabled()) {
+      return creditApplicationRepository.save(entity);
+    }
+    return creditGroupCommitWriter.insert(entity)
+            .map(id -> entity.toBuilder().id(id).build());
+  }
+
+  @Override
+  public Flux<CreditReponse> createCredits(List<CreditParameters> credits) {
+    return Flux.fromIterable(credits)
+            .buffer(creditBatchProperties.chunkSize())
+            .concatMap(this::insertChunk);
+  }
+
+  @Override
+  public int creditBatchSize() {
+    return creditBatchProperties.chunkSize();
+  }
+
+  private Flux<CreditReponse> insertChunk(List<CreditParameters> chunk) {
+    List<CreditApplication> entities = chunk.stream().map(creditApplicationMapper::toEntity).toList();
+    log.info(Constants.LOG_BATCH_INSERT + entities.size());
+    return creditApplicationRepository.insertAll(entities)
+            .collectList()
+            .flatMapMany(ids -> Flux.range(0, chunk.size())
+                    .map(i -> {
+                      CreditParameters saved = chunk.get(i).toBuilder().idEntidadGuardada(ids.get(i)).build();
+                      return CreditReponse.builder()
+                              .statusResponse(Constants.STATUS_SUCCESS)
+                              .creditParameters(saved)
+                              .build();
+                    }))
+            .onErrorResume(e -> {
+              log.severe(Constants.LOG_ERROR_SAVE + e.getMessage());
+              return Flux.fromIterable(chunk).map(params -> CreditReponse.builder()
+                      .statusResponse(Constants.STATUS_FAILURE)
+                      .creditParameters(params)
+                      .errorMessage(e.getMessage())
+                      .build());
+            });
+  }
+
   private Mono<CreditReponse> handleCreateCreditError(Throwable e, CreditParameters creditParameters) {
               log.severe(Constants.LOG_ERROR_SAVE + e.getMessage());
               return Mono.just(CreditReponse.builder()
@@ -55,8 +116,32 @@ public class CreditRepositoryAdapter implements CreditGateway {
   }
 
   @Override
-  public Flux<CreditDetailDTO> findAllCredits(int page, int size, String token) {
-    return creditApplicationRepository.findAllCreditDetails(createPageable(page, size));
+  public Flux<CreditDetailDTO> findAllCredits(int page, int size) {
+    return readReplicaRouter.read(creditApplicationRepository.findAllCreditDetails(createPageable(page, size)));
+  }
+
+  @Override
+  public Mono<CreditPage> findCreditPage(int page, int size) {
+    return readReplicaRouter.read(creditPageReader.readPage(page, size, countCredits()));
+  }
+
+  @Override
+  public Mono<CreditPage> findCreditPage(CreditListFilter filter, int page, int size) {
+    return readReplicaRouter.read(creditPageReader.readFilteredPage(filter, page, size, countCredits()));
+  }
+
+  @Override
+  public Flux<CreditDetailDTO> findAllCreditsByCursor(CreditCursor cursor, int size) {
+    Flux<CreditDetailRow> rows = cursor == null
+            ? creditApplicationRepository.findCreditDetailsFirstPage(size)
+            : creditApplicationRepository.findCreditDetailsAfter(cursor.fechaCreacion(), cursor.id(), size);
+    return readReplicaRouter.read(rows).map(this::toCreditDetail);
+  }
+
+  private CreditDetailDTO toCreditDetail(CreditDetailRow row) {
+    CreditDetailDTO detail = creditApplicationMapper.toCreditDetail(row);
+    detail.setCursor(new CreditCursor(row.getFechacreacion(), row.getId()).encode());
+    return detail;
   }
 
   @Override
@@ -65,14 +150,34 @@ public class CreditRepositoryAdapter implements CreditGateway {
             .map(creditApplicationMapper::toDto);
   }
 
+  @Override
+  public Flux<PrestamoActivo> findActiveLoans(Long userId) {
+    return creditApplicationRepository.findActiveLoansByUserId(userId)
+            .map(row -> PrestamoActivo.builder()
+                    .prestamoId(String.valueOf(row.getId()))
+                    .monto(row.getMonto().doubleValue())
+                    .plazoMeses(row.getPlazomeses())
+                    .tasaInteresMensual(row.getTasainteres().doubleValue())
+                    .build());
+  }
+
   @Override
   public Mono<CreditParameters> updateState(Long id, String estado) {
-    return creditApplicationRepository.findById(id)
-            .flatMap(creditApplication -> {
-              creditApplication.setEstado(estado);
-              return creditApplicationRepository.save(creditApplication)
-                      .map(creditApplicationMapper::toDto);
-            });
+    return creditApplicationRepository.updateEstado(id, estado)
+            .map(creditApplicationMapper::toDto)
+            .doFinally(signal -> creditByIdCache.invalidate(id));
+  }
+
+  /**
+   * Si un id se repite en el lote gana el último cambio, igual que si se aplicaran en orden.
+   */
+  @Override
+  public Flux<CreditParameters> updateStates(List<CreditStateChange> changes) {
+    Map<Long, String> estadosPorId = new LinkedHashMap<>();
+    changes.forEach(change -> estadosPorId.put(change.getIdSolicitud(), change.getEstado()));
+    return creditApplicationRepository.updateEstados(estadosPorId)
+            .map(creditApplicationMapper::toDto)
+            .doFinally(signal -> estadosPorId.keySet().forEach(creditByIdCache::invalidate));
   }
 
   private Pageable createPageable(int page, int size) {
@@ -82,12 +187,51 @@ public class CreditRepositoryAdapter implements CreditGateway {
 
   @Override
   public Mono<Long> findSizeAllCredits() {
-    return creditApplicationRepository.countAllCredits();
+    return readReplicaRouter.read(creditApplicationRepository.countAllCredits());
+  }
+
+  @Override
+  public Mono<CreditCount> countCredits() {
+    return creditApplicationRepository.findMaintainedCreditCount()
+            .map(total -> CreditCount.builder().total(total).exact(true).build())
+            .onErrorResume(e -> {
+              log.warning(Constants.LOG_CREDIT_COUNTER_UNAVAILABLE + e.getMessage());
+              return Mono.empty();
+            })
+            .switchIfEmpty(Mono.defer(this::estimateCreditCount));
   }
 
+  @Override
+  public Mono<Long> findCreditListVersion() {
+    return readReplicaRouter.read(creditApplicationRepository.findCreditListVersion())
+            .onErrorResume(e -> {
+              log.warning(Constants.LOG_CREDIT_VERSION_UNAVAILABLE + e.getMessage());
+              return Mono.empty();
+            });
+  }
+
+  private Mono<CreditCount> estimateCreditCount() {
+    return creditApplicationRepository.estimateCreditCount()
+            .defaultIfEmpty(0L)
+            .map(total -> CreditCount.builder().total(total).exact(false).build());
+  }
+
+  /**
+   * Los fallos del caché se cargan del primario y no de la réplica: tras invalidar por una
+   * escritura, una réplica atrasada devolvería la fila anterior y el caché la fijaría hasta su ttl.
+   */
   @Override
   public Mono<CreditReponse> findById(Long id) {
-      return creditApplicationRepository.findById(id)
+      return toCreditResponse(creditByIdCache.get(id, creditApplicationRepository::findById));
+  }
+
+  @Override
+  public Mono<CreditReponse> findLatestById(Long id) {
+      return toCreditResponse(creditApplicationRepository.findById(id));
+  }
+
+  private Mono<CreditReponse> toCreditResponse(Mono<CreditApplication> credit) {
+      return credit
               .map(entity -> CreditReponse.builder()
                       .statusResponse(Constants.STATUS_SUCCESS)
                       .creditParameters(creditApplicationMapper.toDto(entity))
@@ -106,6 +250,7 @@ public class CreditRepositoryAdapter implements CreditGateway {
     return Mono.just(creditParameters)
             .map(creditApplicationMapper::toEntity)
             .flatMap(creditApplicationRepository::save)
-            .map(creditApplicationMapper::toDto);
+            .map(creditApplicationMapper::toDto)
+            .doFinally(signal -> creditByIdCache.invalidate(creditParameters.getIdEntidadGuardada()));
   }
 }
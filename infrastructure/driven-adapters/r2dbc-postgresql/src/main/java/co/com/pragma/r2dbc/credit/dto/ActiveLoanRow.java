@@ -0,0 +1,19 @@
+package co.com.pragma.r2dbc.credit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class ActiveLoanRow {
+  private Long id;
+  private BigDecimal monto;
+  private Integer plazomeses;
+  private BigDecimal tasainteres;
+}
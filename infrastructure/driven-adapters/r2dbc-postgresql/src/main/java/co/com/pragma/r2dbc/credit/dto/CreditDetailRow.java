@@ -0,0 +1,26 @@
+package co.com.pragma.r2dbc.credit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class CreditDetailRow {
+  private Long id;
+  private LocalDateTime fechacreacion;
+  private String nombre;
+  private String email;
+  private Double monto;
+  private Integer plazomeses;
+  private String tipocredito;
+  private Double tasainteres;
+  private Double salariobase;
+  private String estadosolicitud;
+  private Long totalcount;
+}
@@ -1,6 +1,8 @@
 package co.com.pragma.r2dbc.credit.mapper;
 
+import co.com.pragma.model.credit.CreditDetailDTO;
 import co.com.pragma.model.credit.CreditParameters;
+import co.com.pragma.r2dbc.credit.dto.CreditDetailRow;
 import co.com.pragma.r2dbc.credit.entity.CreditApplication;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -13,4 +15,7 @@ public interface CreditApplicationMapper {
   @Mapping(source = "id", target = "idEntidadGuardada")
   CreditParameters toDto(CreditApplication entity);
 
+  @Mapping(target = "cursor", ignore = true)
+  CreditDetailDTO toCreditDetail(CreditDetailRow row);
+
 }
\ No newline at end of file
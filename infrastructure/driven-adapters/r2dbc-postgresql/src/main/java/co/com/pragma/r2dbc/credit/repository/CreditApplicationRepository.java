@@ -1,6 +1,8 @@
 package co.com.pragma.r2dbc.credit.repository;
 
 import co.com.pragma.model.credit.CreditDetailDTO;
+import co.com.pragma.r2dbc.credit.dto.ActiveLoanRow;
+import co.com.pragma.r2dbc.credit.dto.CreditDetailRow;
 import co.com.pragma.r2dbc.credit.entity.CreditApplication;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
@@ -8,9 +10,14 @@ import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface CreditApplicationRepository extends ReactiveCrudRepository<CreditApplication, Long> {
-  @Query("""
-              SELECT 
+import java.time.LocalDateTime;
+
+public interface CreditApplicationRepository extends ReactiveCrudRepository<CreditApplication, Long>,
+        CreditDetailsQueryRepository, CreditBatchInsertRepository, CreditStateBatchRepository {
+  String CREDIT_DETAILS_SELECT = """
+              SELECT
+                sc.id AS id,
+                sc.fecha_creacion AS fechacreacion,
                 CONCAT(u.nombres, ' ', u.apellidos) AS nombre,
                 u.correo_electronico AS email,
                 sc.monto AS monto,
@@ -22,12 +29,71 @@ public interface CreditApplicationRepository extends ReactiveCrudRepository<Cred
               FROM crediya.solicitudes_credito sc
               LEFT JOIN crediya.tipos_credito tc ON sc.id_tipo_credito = tc.id
               LEFT JOIN crediya.users u ON sc.user_id = u.id
+          """;
+
+  @Query(CREDIT_DETAILS_SELECT + """
+              ORDER BY sc.fecha_creacion DESC, sc.id DESC
               LIMIT :#{#pageable.pageSize} OFFSET :#{#pageable.offset}
           """)
   Flux<CreditDetailDTO> findAllCreditDetails(Pageable pageable);
 
+  @Query(CREDIT_DETAILS_SELECT + """
+              ORDER BY sc.fecha_creacion DESC, sc.id DESC
+              LIMIT :limit
+          """)
+  Flux<CreditDetailRow> findCreditDetailsFirstPage(int limit);
+
+  @Query("SELECT page.*, COUNT(*) OVER() AS totalcount FROM (" + CREDIT_DETAILS_SELECT + """
+              ) page
+              ORDER BY page.fechacreacion DESC, page.id DESC
+              LIMIT :limit OFFSET :offset
+          """)
+  Flux<CreditDetailRow> findCreditDetailsWithTotal(int limit, long offset);
+
+  @Query(CREDIT_DETAILS_SELECT + """
+              WHERE (sc.fecha_creacion, sc.id) < (:fechaCreacion, :id)
+              ORDER BY sc.fecha_creacion DESC, sc.id DESC
+              LIMIT :limit
+          """)
+  Flux<CreditDetailRow> findCreditDetailsAfter(LocalDateTime fechaCreacion, Long id, int limit);
+
   @Query("SELECT COUNT(*) FROM crediya.solicitudes_credito")
   Mono<Long> countAllCredits();
 
+  /**
+   * Suma de las franjas del contador (V7); vacío si la tabla no tiene filas.
+   */
+  @Query("SELECT SUM(total)::bigint FROM crediya.solicitudes_credito_contador HAVING COUNT(*) > 0")
+  Mono<Long> findMaintainedCreditCount();
+
+  @Query("SELECT SUM(version)::bigint FROM crediya.solicitudes_credito_contador HAVING COUNT(*) > 0")
+  Mono<Long> findCreditListVersion();
+
+  @Query("SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE oid = 'crediya.solicitudes_credito'::regclass")
+  Mono<Long> estimateCreditCount();
+
+  /**
+   * Cambio de estado en una sola ida a la base: sin lectura previa y escribiendo solo las
+   * columnas que cambian. Vacío si el id no existe.
+   */
+  @Query("""
+              UPDATE crediya.solicitudes_credito
+              SET estado = :estado, fecha_decision = now()
+              WHERE id = :id
+              RETURNING *
+          """)
+  Mono<CreditApplication> updateEstado(Long id, String estado);
+
   Flux<CreditApplication> findAllByUserId(Long userId);
-}
\ No newline at end of file
+
+  /**
+   * Solo los créditos aprobados del usuario y solo las columnas del cálculo de capacidad. El
+   * estado va como literal para que el planner use el índice parcial idx_solicitudes_credito_aprobadas_user.
+   */
+  @Query("""
+              SELECT id, monto, plazo_meses AS plazomeses, tasa_interes AS tasainteres
+              FROM crediya.solicitudes_credito
+              WHERE user_id = :userId AND estado = 'APROBADO'
+          """)
+  Flux<ActiveLoanRow> findActiveLoansByUserId(Long userId);
+}
@@ -0,0 +1,10 @@
+package co.com.pragma.r2dbc.credit.repository;
+
+import co.com.pragma.r2dbc.credit.entity.CreditApplication;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+public interface CreditBatchInsertRepository {
+  Flux<Long> insertAll(List<CreditApplication> credits);
+}
@@ -0,0 +1,61 @@
+package co.com.pragma.r2dbc.credit.repository;
+
+import co.com.pragma.r2dbc.credit.entity.CreditApplication;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Inserta un bloque de solicitudes con un único INSERT de varias filas. Postgres devuelve las
+ * filas de RETURNING en el orden del VALUES, así que el id i corresponde a la solicitud i.
+ * fecha_creacion toma now() cuando no viene informada.
+ */
+@RequiredArgsConstructor
+public class CreditBatchInsertRepositoryImpl implements CreditBatchInsertRepository {
+
+  private static final String INSERT = "INSERT INTO crediya.solicitudes_credito (user_id, monto, plazo_meses,"
+          + " id_tipo_credito, estado, estado_solicitud, tasa_interes, email_notificaciones, fecha_creacion) VALUES ";
+
+  private final DatabaseClient databaseClient;
+
+  @Override
+  public Flux<Long> insertAll(List<CreditApplication> credits) {
+    if (credits.isEmpty()) {
+      return Flux.empty();
+    }
+    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(insertSql(credits.size()));
+    for (int i = 0; i < credits.size(); i++) {
+      CreditApplication credit = credits.get(i);
+      spec = bind(spec, "userId" + i, credit.getUserId(), Long.class);
+      spec = bind(spec, "monto" + i, credit.getMonto(), BigDecimal.class);
+      spec = bind(spec, "plazoMeses" + i, credit.getPlazoMeses(), Integer.class);
+      spec = bind(spec, "tipoCredito" + i, credit.getTipoPrestamo(), Long.class);
+      spec = bind(spec, "estado" + i, credit.getEstado(), String.class);
+      spec = bind(spec, "estadoSolicitud" + i, credit.getEstadoSolicitud(), String.class);
+      spec = bind(spec, "tasaInteres" + i, credit.getTasaInteres(), BigDecimal.class);
+      spec = bind(spec, "email" + i, credit.getEmailNotification(), String.class);
+      spec = bind(spec, "fechaCreacion" + i, credit.getFechaCreacion(), LocalDateTime.class);
+    }
+    return spec.map((row, metadata) -> row.get("id", Long.class)).all();
+  }
+
+  static String insertSql(int rows) {
+    StringJoiner values = new StringJoiner(", ", INSERT, " RETURNING id");
+    for (int i = 0; i < rows; i++) {
+      values.add("(:userId" + i + ", :monto" + i + ", :plazoMeses" + i + ", :tipoCredito" + i
+              + ", :estado" + i + ", :estadoSolicitud" + i + ", :tasaInteres" + i + ", :email" + i
+              + ", COALESCE(:fechaCreacion" + i + ", now()))");
+    }
+    return values.toString();
+  }
+
+  private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, String name,
+                                                        Object value, Class<?> type) {
+    return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+  }
+}
@@ -0,0 +1,12 @@
+package co.com.pragma.r2dbc.credit.repository;
+
+import co.com.pragma.model.credit.CreditListFilter;
+import co.com.pragma.r2dbc.credit.dto.CreditDetailRow;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface CreditDetailsQueryRepository {
+  Flux<CreditDetailRow> findCreditDetails(CreditListFilter filter, int limit, long offset);
+
+  Mono<Long> countCreditDetails(CreditListFilter filter);
+}
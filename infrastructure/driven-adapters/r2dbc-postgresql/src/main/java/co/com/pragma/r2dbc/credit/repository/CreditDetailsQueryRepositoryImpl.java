@@ -0,0 +1,120 @@
+package co.com.pragma.r2dbc.credit.repository;
+
+import co.com.pragma.model.credit.CreditListFilter;
+import co.com.pragma.model.credit.CreditSortField;
+import co.com.pragma.r2dbc.credit.dto.CreditDetailRow;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Listado filtrado de asesores. Solo se agregan al WHERE los filtros presentes, así cada
+ * combinación produce una sentencia parametrizada que el planner puede resolver con los
+ * índices compuestos de db/migration/V3. El orden solo admite columnas de una lista cerrada
+ * y siempre desempata por id. La página no lleva COUNT(*) OVER(): obligaría a recorrer todo
+ * el conjunto filtrado antes del LIMIT; el total se pide aparte con countCreditDetails.
+ */
+@RequiredArgsConstructor
+public class CreditDetailsQueryRepositoryImpl implements CreditDetailsQueryRepository {
+
+  private static final Map<CreditSortField, String> SORT_COLUMNS = Map.of(
+          CreditSortField.FECHA_CREACION, "sc.fecha_creacion",
+          CreditSortField.MONTO, "sc.monto",
+          CreditSortField.PLAZO, "sc.plazo_meses");
+
+  private final DatabaseClient databaseClient;
+
+  @Override
+  public Flux<CreditDetailRow> findCreditDetails(CreditListFilter filter, int limit, long offset) {
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    String sql = CreditApplicationRepository.CREDIT_DETAILS_SELECT
+            + where(filter, parameters)
+            + " ORDER BY " + orderBy(filter)
+            + " LIMIT :limit OFFSET :offset";
+    parameters.put("limit", limit);
+    parameters.put("offset", offset);
+
+    return bind(databaseClient.sql(sql), parameters)
+            .map((row, metadata) -> toRow(row))
+            .all();
+  }
+
+  @Override
+  public Mono<Long> countCreditDetails(CreditListFilter filter) {
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    String sql = "SELECT COUNT(*) AS total FROM crediya.solicitudes_credito sc" + where(filter, parameters);
+    return bind(databaseClient.sql(sql), parameters)
+            .map((row, metadata) -> row.get("total", Long.class))
+            .one();
+  }
+
+  private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec,
+                                                        Map<String, Object> parameters) {
+    for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+      spec = spec.bind(parameter.getKey(), parameter.getValue());
+    }
+    return spec;
+  }
+
+  static String where(CreditListFilter filter, Map<String, Object> parameters) {
+    List<String> conditions = new ArrayList<>();
+    if (filter.getEstado() != null) {
+      conditions.add("sc.estado = :estado");
+      parameters.put("estado", filter.getEstado());
+    }
+    if (filter.getEstadoSolicitud() != null) {
+      conditions.add("sc.estado_solicitud = :estadoSolicitud");
+      parameters.put("estadoSolicitud", filter.getEstadoSolicitud());
+    }
+    if (filter.getTipoCredito() != null) {
+      conditions.add("sc.id_tipo_credito = :tipoCredito");
+      parameters.put("tipoCredito", filter.getTipoCredito());
+    }
+    if (filter.getFechaDesde() != null) {
+      conditions.add("sc.fecha_creacion >= :fechaDesde");
+      parameters.put("fechaDesde", filter.getFechaDesde().atStartOfDay());
+    }
+    if (filter.getFechaHasta() != null) {
+      conditions.add("sc.fecha_creacion < :fechaHasta");
+      parameters.put("fechaHasta", filter.getFechaHasta().plusDays(1).atStartOfDay());
+    }
+    if (filter.getMontoMin() != null) {
+      conditions.add("sc.monto >= :montoMin");
+      parameters.put("montoMin", filter.getMontoMin());
+    }
+    if (filter.getMontoMax() != null) {
+      conditions.add("sc.monto <= :montoMax");
+      parameters.put("montoMax", filter.getMontoMax());
+    }
+    return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+  }
+
+  static String orderBy(CreditListFilter filter) {
+    CreditSortField field = filter.getSortBy() != null ? filter.getSortBy() : CreditSortField.FECHA_CREACION;
+    String direction = Boolean.TRUE.equals(filter.getAscending()) ? "ASC" : "DESC";
+    return SORT_COLUMNS.get(field) + " " + direction + ", sc.id " + direction;
+  }
+
+  private static CreditDetailRow toRow(Row row) {
+    return CreditDetailRow.builder()
+            .id(row.get("id", Long.class))
+            .fechacreacion(row.get("fechacreacion", LocalDateTime.class))
+            .nombre(row.get("nombre", String.class))
+            .email(row.get("email", String.class))
+            .monto(row.get("monto", Double.class))
+            .plazomeses(row.get("plazomeses", Integer.class))
+            .tipocredito(row.get("tipocredito", String.class))
+            .tasainteres(row.get("tasainteres", Double.class))
+            .salariobase(row.get("salariobase", Double.class))
+            .estadosolicitud(row.get("estadosolicitud", String.class))
+            .build();
+  }
+}
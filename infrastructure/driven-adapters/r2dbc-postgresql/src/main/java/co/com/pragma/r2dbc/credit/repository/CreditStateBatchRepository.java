@@ -0,0 +1,10 @@
+package co.com.pragma.r2dbc.credit.repository;
+
+import co.com.pragma.r2dbc.credit.entity.CreditApplication;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+public interface CreditStateBatchRepository {
+  Flux<CreditApplication> updateEstados(Map<Long, String> estadosPorId);
+}
@@ -0,0 +1,56 @@
+package co.com.pragma.r2dbc.credit.repository;
+
+import co.com.pragma.r2dbc.credit.entity.CreditApplication;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Aplica varios cambios de estado con un único UPDATE ... FROM (VALUES ...). Devuelve solo las
+ * filas que existían, sin orden garantizado. Las claves del mapa no se repiten, así que cada fila
+ * se actualiza una sola vez.
+ */
+@RequiredArgsConstructor
+public class CreditStateBatchRepositoryImpl implements CreditStateBatchRepository {
+
+  private static final String UPDATE = "UPDATE crediya.solicitudes_credito sc"
+          + " SET estado = v.estado, fecha_decision = now() FROM (VALUES ";
+
+  private final DatabaseClient databaseClient;
+  private final R2dbcConverter r2dbcConverter;
+
+  @Override
+  public Flux<CreditApplication> updateEstados(Map<Long, String> estadosPorId) {
+    if (estadosPorId.isEmpty()) {
+      return Flux.empty();
+    }
+    // un valor inválido llega como error del Flux y no como excepción al armar la sentencia
+    return Flux.defer(() -> {
+      DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(updateSql(estadosPorId.size()));
+      int i = 0;
+      for (Map.Entry<Long, String> change : estadosPorId.entrySet()) {
+        spec = bind(bind(spec, "id" + i, change.getKey(), Long.class), "estado" + i, change.getValue(), String.class);
+        i++;
+      }
+      return spec.map((row, metadata) -> r2dbcConverter.read(CreditApplication.class, row, metadata)).all();
+    });
+  }
+
+  private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, String name,
+                                                        Object value, Class<?> type) {
+    return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+  }
+
+  static String updateSql(int rows) {
+    StringJoiner values = new StringJoiner(", ", UPDATE,
+            ") AS v(id, estado) WHERE sc.id = v.id RETURNING sc.*");
+    for (int i = 0; i < rows; i++) {
+      values.add("(CAST(:id" + i + " AS BIGINT), CAST(:estado" + i + " AS VARCHAR))");
+    }
+    return values.toString();
+  }
+}
@@ -0,0 +1,124 @@
+package co.com.pragma.r2dbc.events;
+
+import co.com.pragma.model.credit.CreditStatusEvent;
+import co.com.pragma.model.gateway.CreditStatusEventGateway;
+import co.com.pragma.r2dbc.config.CreditEventsProperties;
+import co.com.pragma.r2dbc.utils.Constants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Difunde los cambios de estado a los suscriptores SSE. El sink es multicast best-effort: un
+ * suscriptor lento no frena a los demás porque cada uno tiene su propio buffer acotado.
+ * Con LISTEN/NOTIFY activo, publish solo hace pg_notify y todos los nodos, incluido este,
+ * entregan el evento al recibir la notificación; la escucha ocupa una conexión del pool.
+ */
+@Component
+@Log
+public class CreditStatusEventBroker implements CreditStatusEventGateway, DisposableBean {
+
+  private final Sinks.Many<CreditStatusEvent> sink = Sinks.many().multicast().directBestEffort();
+  private final CreditEventsProperties properties;
+  private final DatabaseClient databaseClient;
+  private final ObjectMapper objectMapper;
+  private final Counter droppedEvents;
+  private final Disposable listener;
+
+  public CreditStatusEventBroker(CreditEventsProperties properties,
+                                 DatabaseClient databaseClient,
+                                 ConnectionFactory connectionFactory,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.databaseClient = databaseClient;
+    this.objectMapper = objectMapper;
+    this.droppedEvents = meterRegistry.counter(Constants.CREDIT_EVENTS_DROPPED_COUNTER);
+    this.listener = properties.notifyEnabled()
+            ? listen(connectionFactory).subscribe()
+            : Disposables.disposed();
+  }
+
+  @Override
+  public Mono<Void> publish(CreditStatusEvent event) {
+    if (!properties.notifyEnabled()) {
+      return Mono.fromRunnable(() -> deliver(event));
+    }
+    return Mono.fromCallable(() -> objectMapper.writeValueAsString(event))
+            .flatMap(payload -> databaseClient.sql("SELECT pg_notify(:channel, :payload)")
+                    .bind("channel", properties.channel())
+                    .bind("payload", payload)
+                    .then());
+  }
+
+  @Override
+  public Flux<CreditStatusEvent> events() {
+    return sink.asFlux()
+            .onBackpressureBuffer(properties.subscriberBuffer(), dropped -> droppedEvents.increment(),
+                    BufferOverflowStrategy.DROP_OLDEST);
+  }
+
+  void deliver(CreditStatusEvent event) {
+    sink.emitNext(event, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(Constants.CREDIT_EVENTS_EMIT_RETRY_MILLIS)));
+  }
+
+  private Flux<CreditStatusEvent> listen(ConnectionFactory connectionFactory) {
+    return Flux.usingWhen(connectionFactory.create(),
+                    connection -> {
+                      PostgresqlConnection postgres = unwrap(connection);
+                      return postgres.createStatement("LISTEN " + properties.channel())
+                              .execute()
+                              .flatMap(result -> result.getRowsUpdated())
+                              .thenMany(postgres.getNotifications());
+                    },
+                    Connection::close)
+            .map(Notification::getParameter)
+            .concatMap(this::parse)
+            .doOnNext(this::deliver)
+            .doOnError(e -> log.warning(Constants.LOG_CREDIT_EVENTS_LISTEN_ERROR + e.getMessage()))
+            .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)));
+  }
+
+  private Mono<CreditStatusEvent> parse(String payload) {
+    return Mono.fromCallable(() -> objectMapper.readValue(payload, CreditStatusEvent.class))
+            .onErrorResume(e -> {
+              log.warning(Constants.LOG_CREDIT_EVENTS_INVALID_PAYLOAD + e.getMessage());
+              return Mono.empty();
+            });
+  }
+
+  private static PostgresqlConnection unwrap(Connection connection) {
+    Object current = connection;
+    while (!(current instanceof PostgresqlConnection) && current instanceof Wrapped<?> wrapped) {
+      current = wrapped.unwrap();
+    }
+    if (current instanceof PostgresqlConnection postgres) {
+      return postgres;
+    }
+    throw new IllegalStateException(Constants.ERROR_LISTEN_UNSUPPORTED);
+  }
+
+  @Override
+  public void destroy() {
+    listener.dispose();
+    sink.tryEmitComplete();
+  }
+}
@@ -0,0 +1,11 @@
+package co.com.pragma.r2dbc.idempotency;
+
+record IdempotencyRecord(String fingerprint, String status, String response) {
+
+  static final String IN_PROGRESS = "IN_PROGRESS";
+  static final String COMPLETED = "COMPLETED";
+
+  boolean isCompleted() {
+    return COMPLETED.equals(status);
+  }
+}
@@ -0,0 +1,152 @@
+package co.com.pragma.r2dbc.idempotency;
+
+import co.com.pragma.model.gateway.IdempotencyGateway;
+import co.com.pragma.model.idempotency.IdempotencyConflictException;
+import co.com.pragma.model.idempotency.IdempotencyConflictException.Reason;
+import co.com.pragma.r2dbc.config.IdempotencyProperties;
+import co.com.pragma.r2dbc.utils.Constants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.java.Log;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dos niveles: en memoria, las peticiones del mismo nodo con la misma clave comparten una única
+ * ejecución y las respuestas completadas se guardan en un caché con TTL. En Postgres, la fila de
+ * crediya.idempotency_keys reserva la clave entre nodos y reinicios; un duplicado que encuentra la
+ * clave en curso en otro nodo consulta la fila hasta que se complete o venza waitTimeout; si el
+ * dueño falla y borra la fila, el duplicado intenta reservarla de nuevo.
+ */
+@Component
+@Log
+public class IdempotencyStoreAdapter implements IdempotencyGateway {
+
+  private final Map<String, Mono<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+  private final Cache<String, IdempotencyRecord> completed;
+  private final DatabaseClient databaseClient;
+  private final ObjectMapper objectMapper;
+  private final IdempotencyProperties properties;
+
+  public IdempotencyStoreAdapter(DatabaseClient databaseClient, ObjectMapper objectMapper,
+                                 IdempotencyProperties properties) {
+    this.databaseClient = databaseClient;
+    this.objectMapper = objectMapper;
+    this.properties = properties;
+    this.completed = Caffeine.newBuilder()
+            .expireAfterWrite(properties.ttl())
+            .maximumSize(properties.maxCachedResponses())
+            .build();
+  }
+
+  @Override
+  public <T> Mono<T> execute(String key, String fingerprint, Class<T> type, Mono<T> action) {
+    return Mono.defer(() -> {
+      IdempotencyRecord cached = completed.getIfPresent(key);
+      Mono<IdempotencyRecord> record = cached != null
+              ? Mono.just(cached)
+              : inFlight.computeIfAbsent(key, k -> run(k, fingerprint, action)
+                      .doFinally(signal -> inFlight.remove(k))
+                      .cache());
+      return record.flatMap(stored -> replay(stored, fingerprint, type));
+    });
+  }
+
+  private <T> Mono<IdempotencyRecord> run(String key, String fingerprint, Mono<T> action) {
+    return reserve(key, fingerprint)
+            .flatMap(reserved -> reserved
+                    ? runAction(key, fingerprint, action)
+                    : awaitCompletion(key, fingerprint, action));
+  }
+
+  private <T> Mono<IdempotencyRecord> runAction(String key, String fingerprint, Mono<T> action) {
+    return action
+            .flatMap(result -> Mono.fromCallable(() -> objectMapper.writeValueAsString(result)))
+            .map(json -> new IdempotencyRecord(fingerprint, IdempotencyRecord.COMPLETED, json))
+            .flatMap(record -> complete(key, record).thenReturn(record))
+            .doOnNext(record -> completed.put(key, record))
+            .onErrorResume(e -> release(key).then(Mono.error(e)));
+  }
+
+  /**
+   * Consulta la fila hasta que esté completada o desaparezca. Si desaparece (el dueño falló o
+   * venció) se vuelve a reservar; waitTimeout acota solo la espera, no la nueva ejecución.
+   */
+  private <T> Mono<IdempotencyRecord> awaitCompletion(String key, String fingerprint, Mono<T> action) {
+    return find(key)
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .filter(found -> found.map(IdempotencyRecord::isCompleted).orElse(true))
+            .repeatWhenEmpty(attempts -> attempts.delayElements(properties.pollInterval()))
+            .timeout(properties.waitTimeout(), Mono.error(new IdempotencyConflictException(Reason.IN_PROGRESS,
+                    Constants.ERROR_IDEMPOTENCY_IN_PROGRESS)))
+            .flatMap(found -> found.isPresent()
+                    ? Mono.just(found.get()).doOnNext(record -> completed.put(key, record))
+                    : run(key, fingerprint, action));
+  }
+
+  private <T> Mono<T> replay(IdempotencyRecord record, String fingerprint, Class<T> type) {
+    if (!record.fingerprint().equals(fingerprint)) {
+      return Mono.error(new IdempotencyConflictException(Reason.KEY_REUSED, Constants.ERROR_IDEMPOTENCY_KEY_REUSED));
+    }
+    return Mono.fromCallable(() -> objectMapper.readValue(record.response(), type));
+  }
+
+  /**
+   * Reserva la clave o toma una vencida. true si esta petición debe ejecutar la acción.
+   */
+  private Mono<Boolean> reserve(String key, String fingerprint) {
+    return databaseClient.sql("""
+                    INSERT INTO crediya.idempotency_keys (idempotency_key, fingerprint, status, expires_at)
+                    VALUES (:key, :fingerprint, 'IN_PROGRESS', now() + make_interval(secs => :ttl))
+                    ON CONFLICT (idempotency_key) DO UPDATE
+                      SET fingerprint = EXCLUDED.fingerprint, status = 'IN_PROGRESS', response = NULL,
+                          expires_at = EXCLUDED.expires_at
+                      WHERE crediya.idempotency_keys.expires_at < now()
+                    RETURNING idempotency_key
+                    """)
+            .bind("key", key)
+            .bind("fingerprint", fingerprint)
+            .bind("ttl", (double) properties.ttl().toSeconds())
+            .map((row, metadata) -> row.get(0, String.class))
+            .one()
+            .hasElement();
+  }
+
+  private Mono<IdempotencyRecord> find(String key) {
+    return databaseClient.sql("""
+                    SELECT fingerprint, status, response FROM crediya.idempotency_keys
+                    WHERE idempotency_key = :key AND expires_at >= now()
+                    """)
+            .bind("key", key)
+            .map((row, metadata) -> new IdempotencyRecord(row.get("fingerprint", String.class),
+                    row.get("status", String.class), row.get("response", String.class)))
+            .one();
+  }
+
+  private Mono<Void> complete(String key, IdempotencyRecord record) {
+    return databaseClient.sql("""
+                    UPDATE crediya.idempotency_keys SET status = 'COMPLETED', response = :response
+                    WHERE idempotency_key = :key
+                    """)
+            .bind("key", key)
+            .bind("response", record.response())
+            .then();
+  }
+
+  private Mono<Void> release(String key) {
+    return databaseClient.sql("DELETE FROM crediya.idempotency_keys WHERE idempotency_key = :key AND status = 'IN_PROGRESS'")
+            .bind("key", key)
+            .then()
+            .onErrorResume(e -> {
+              log.warning(Constants.LOG_IDEMPOTENCY_RELEASE_FAILED + e.getMessage());
+              return Mono.empty();
+            });
+  }
+}
@@ -0,0 +1,11 @@
+package co.com.pragma.r2dbc.jwt;
+
+/**
+ * Excepción sin stack trace: los tokens inválidos son un caso esperado
+ * y capturar la pila en cada rechazo solo consume CPU.
+ */
+public class InvalidTokenException extends RuntimeException {
+  public InvalidTokenException(String message, Throwable cause) {
+    super(message, cause, false, false);
+  }
+}
@@ -1,128 +1,120 @@
 package co.com.pragma.r2dbc.jwt;
 
 import co.com.pragma.model.gateway.JwtProvider;
+import co.com.pragma.model.token.TokenClaims;
 import co.com.pragma.r2dbc.utils.Constants;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Component
 @Log
 public class JwtProviderImpl implements JwtProvider {
 
-  private final Key secretKey;
+  private final JwtParser jwtParser;
+  private final VerifiedClaimsCache claimsCache;
+  private final Map<String, List<String>> rolesByClaim = new ConcurrentHashMap<>();
 
-  public JwtProviderImpl(@Value("${jwt.secret}") String jwtSecret) {
-    this.secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+  @Autowired
+  public JwtProviderImpl(@Value("${jwt.secret}") String jwtSecret,
+                         @Value("${jwt.expiration:3600}") long expirationSeconds,
+                         @Value("${jwt.cache.max-size:10000}") long cacheMaxSize,
+                         MeterRegistry meterRegistry) {
+    Key secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    this.jwtParser = Jwts.parserBuilder()
+            .setSigningKey(secretKey)
+            .build();
+    this.claimsCache = new VerifiedClaimsCache(cacheMaxSize, Duration.ofSeconds(expirationSeconds), meterRegistry);
     log.info(Constants.JWT_SECRET_LOADED);
   }
 
+  public JwtProviderImpl(String jwtSecret) {
+    this(jwtSecret, Constants.DEFAULT_JWT_EXPIRATION_SECONDS, Constants.DEFAULT_JWT_CACHE_MAX_SIZE,
+            new SimpleMeterRegistry());
+  }
+
   @Override
   public boolean validateToken(String token) {
     try {
-      Jwts.parserBuilder()
-              .setSigningKey(secretKey)
-              .build()
-              .parseClaimsJws(token);
+      parseClaims(token);
       return true;
     } catch (JwtException | IllegalArgumentException e) {
       return false;
     }
   }
+
+  @Override
+  public boolean isVerified(String token) {
+    return claimsCache.contains(stripBearer(token));
+  }
+
+  @Override
+  public TokenClaims getClaimsFromToken(String token) {
+    try {
+      return parseClaims(stripBearer(token));
+    } catch (JwtException | IllegalArgumentException e) {
+      log.fine(Constants.ERROR_PROCESSING_TOKEN + e.getMessage());
+      throw new InvalidTokenException(Constants.INVALID_TOKEN + e.getMessage(), e);
+    }
+  }
+
   @Override
   public String getUserIdFromToken(String token) {
     try {
-      if (token != null && token.startsWith("Bearer ")) {
-        token = token.substring(7);
-      }
-      token = token != null ? token.trim() : "";
-
-      Claims claims = Jwts.parserBuilder()
-              .setSigningKey(secretKey)
-              .build()
-              .parseClaimsJws(token)
-              .getBody();
-      String objectId = claims.get("objectId", String.class);
-      return objectId != null ? objectId : claims.getSubject();
+      return parseClaims(stripBearer(token)).getUserId();
     } catch (JwtException | IllegalArgumentException e) {
       log.warning(Constants.ERROR_PROCESSING_TOKEN + e.getMessage());
-      throw new RuntimeException(Constants.INVALID_TOKEN + e.getMessage(), e);
+      throw new InvalidTokenException(Constants.INVALID_TOKEN + e.getMessage(), e);
     }
   }
 
   @Override
   public String getEmailFromToken(String token) {
-    log.info(Constants.TOKEN_RECEIVED + token);
     try {
-      if (token != null && token.startsWith(Constants.BEARER)) {
-        token = token.substring(7);
-      }
-      token = token != null ? token.trim() : "";
-
-      Claims claims = Jwts.parserBuilder()
-              .setSigningKey(secretKey)
-              .build()
-              .parseClaimsJws(token)
-              .getBody();
-      String encodedEmail = claims.get(Constants.EMAIL, String.class);
-      return new String(Base64.getDecoder().decode(encodedEmail));
+      return parseClaims(stripBearer(token)).getEmail();
     } catch (JwtException | IllegalArgumentException e) {
       log.warning(Constants.ERROR_GETTING_EMAIL + e.getMessage());
-      throw new RuntimeException(Constants.INVALID_TOKEN + e.getMessage(), e);
+      throw new InvalidTokenException(Constants.INVALID_TOKEN + e.getMessage(), e);
     }
   }
 
   @Override
   public Double getSalarioFromToken(String token) {
     try {
-      if (token != null && token.startsWith(Constants.BEARER)) {
-        token = token.substring(7);
-      }
-      token = token != null ? token.trim() : "";
-      Claims claims = Jwts.parserBuilder()
-              .setSigningKey(secretKey)
-              .build()
-              .parseClaimsJws(token)
-              .getBody();
-      return claims.get("salarioBase", Double.class);
+      return parseClaims(stripBearer(token)).getSalarioBase();
     } catch (JwtException | IllegalArgumentException e) {
       log.warning(Constants.ERROR_GETTING_SALARY + e.getMessage());
-      throw new RuntimeException(Constants.INVALID_TOKEN + e.getMessage(), e);
+      throw new InvalidTokenException(Constants.INVALID_TOKEN + e.getMessage(), e);
     }
   }
 
   @Override
   public List<String> getRoleFromToken(String token) {
     try {
-      Claims claims = Jwts.parserBuilder()
-              .setSigningKey(secretKey)
-              .build()
-              .parseClaimsJws(token)
-              .getBody();
-
-      String rolesStr = claims.get("roles", String.class);
-      log.info(Constants.ROLES_EXTRACTED + (rolesStr != null ? rolesStr : "null"));
-
-      if (rolesStr == null || rolesStr.isEmpty()) {
-          log.info(Constants.NO_ROLES_FOUND);
-        return List.of();
+      List<String> roles = parseClaims(token).getRoles();
+      if (roles.isEmpty()) {
+        log.info(Constants.NO_ROLES_FOUND);
+        return roles;
       }
 
-      List<String> roles = Arrays.stream(rolesStr.split(","))
-              .map(String::trim)
-              .collect(Collectors.toList());
-
       log.info(Constants.ROLES_PROCESSED + roles);
       return roles;
     } catch (Exception e) {
@@ -130,4 +122,63 @@ public class JwtProviderImpl implements JwtProvider {
       return List.of();
     }
   }
-}
\ No newline at end of file
+
+  private TokenClaims toTokenClaims(Claims claims) {
+    return TokenClaims.builder()
+            .userId(extractUserId(claims))
+            .roles(internRoles(claims.get(Constants.ROLES, String.class)))
+            .email(decodeEmail(claims.get(Constants.EMAIL, String.class)))
+            .salarioBase(claims.get(Constants.SALARIO_BASE, Double.class))
+            .expiration(claims.getExpiration() != null ? claims.getExpiration().toInstant() : null)
+            .build();
+  }
+
+  private TokenClaims parseClaims(String token) {
+    return claimsCache.get(token, this::verifyClaims);
+  }
+
+  private TokenClaims verifyClaims(String token) {
+    return toTokenClaims(jwtParser.parseClaimsJws(token).getBody());
+  }
+
+  private String stripBearer(String token) {
+    if (token != null && token.startsWith(Constants.BEARER)) {
+      token = token.substring(Constants.BEARER.length());
+    }
+    return token != null ? token.trim() : "";
+  }
+
+  private String extractUserId(Claims claims) {
+    String objectId = claims.get(Constants.OBJECT_ID, String.class);
+    return objectId != null ? objectId : claims.getSubject();
+  }
+
+  private String decodeEmail(String encodedEmail) {
+    return encodedEmail != null ? new String(Base64.getDecoder().decode(encodedEmail)) : null;
+  }
+
+  private List<String> internRoles(String rolesStr) {
+    if (rolesStr == null || rolesStr.isEmpty()) {
+      return List.of();
+    }
+    List<String> roles = rolesByClaim.get(rolesStr);
+    if (roles != null) {
+      return roles;
+    }
+    roles = List.copyOf(splitRoles(rolesStr));
+    if (rolesByClaim.size() < Constants.MAX_INTERNED_ROLE_CLAIMS) {
+      List<String> existing = rolesByClaim.putIfAbsent(rolesStr, roles);
+      return existing != null ? existing : roles;
+    }
+    return roles;
+  }
+
+  private List<String> splitRoles(String rolesStr) {
+    if (rolesStr == null || rolesStr.isEmpty()) {
+      return List.of();
+    }
+    return Arrays.stream(rolesStr.split(","))
+            .map(String::trim)
+            .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,102 @@
+package co.com.pragma.r2dbc.jwt;
+
+import co.com.pragma.model.token.TokenClaims;
+import co.com.pragma.r2dbc.utils.Constants;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * Cache de los {@link TokenClaims} de tokens ya verificados, indexado por el SHA-256 del token.
+ * Cada entrada vence en el {@code exp} del token, por lo que nunca se devuelven
+ * claims de un token expirado; solo se guardan tokens cuya firma fue validada.
+ * Con un tamaño máximo de 0 el cache queda deshabilitado.
+ */
+public class VerifiedClaimsCache {
+
+  private final Cache<String, TokenClaims> cache;
+  private final boolean enabled;
+
+  public VerifiedClaimsCache(long maxSize, Duration defaultTtl, MeterRegistry meterRegistry) {
+    this.enabled = maxSize > 0;
+    this.cache = Caffeine.newBuilder()
+            .maximumSize(Math.max(maxSize, 0))
+            .expireAfter(new ClaimsExpiry(defaultTtl))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, Constants.JWT_CLAIMS_CACHE_NAME);
+  }
+
+  public TokenClaims get(String token, Function<String, TokenClaims> verifier) {
+    if (!enabled || token == null || token.isBlank()) {
+      return verifier.apply(token);
+    }
+    String key = digest(token);
+    TokenClaims claims = cache.get(key, k -> verifier.apply(token));
+    if (isExpired(claims)) {
+      cache.invalidate(key);
+      return verifier.apply(token);
+    }
+    return claims;
+  }
+
+  public boolean contains(String token) {
+    if (!enabled || token == null || token.isBlank()) {
+      return false;
+    }
+    TokenClaims claims = cache.getIfPresent(digest(token));
+    return claims != null && !isExpired(claims);
+  }
+
+  public long size() {
+    return cache.estimatedSize();
+  }
+
+  private static boolean isExpired(TokenClaims claims) {
+    Instant expiration = claims.getExpiration();
+    return expiration != null && !expiration.isAfter(Instant.now());
+  }
+
+  private static String digest(String token) {
+    try {
+      MessageDigest messageDigest = MessageDigest.getInstance(Constants.TOKEN_DIGEST_ALGORITHM);
+      byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private record ClaimsExpiry(Duration defaultTtl) implements Expiry<String, TokenClaims> {
+
+    @Override
+    public long expireAfterCreate(String key, TokenClaims claims, long currentTime) {
+      Instant expiration = claims.getExpiration();
+      if (expiration == null) {
+        return defaultTtl.toNanos();
+      }
+      Duration remaining = Duration.between(Instant.now(), expiration);
+      return remaining.isNegative() ? 0 : remaining.toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, TokenClaims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+
+    @Override
+    public long expireAfterRead(String key, TokenClaims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package co.com.pragma.r2dbc.routing;
+
+import co.com.pragma.r2dbc.utils.Constants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import io.r2dbc.spi.R2dbcTransientResourceException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Marca una lectura para que salga por la réplica. Sin réplica configurada, o con la réplica
+ * caída, la lectura va al primario tal cual. Si la réplica falla al conectar antes de entregar
+ * datos, se marca caída y la lectura se repite una vez en el primario. Las lecturas de la réplica
+ * pueden llegar con hasta maxLag de retraso.
+ */
+@Component
+public class ReadReplicaRouter {
+
+  static final String TARGET_KEY = ReadReplicaRouter.class.getName();
+
+  enum Target { PRIMARY, REPLICA }
+
+  private final ReplicaHealth replicaHealth;
+  private final Counter fallbacks;
+
+  public ReadReplicaRouter(Optional<ReplicaHealth> replicaHealth, MeterRegistry meterRegistry) {
+    this.replicaHealth = replicaHealth.orElse(null);
+    this.fallbacks = meterRegistry.counter(Constants.DB_REPLICA_FALLBACK_COUNTER);
+  }
+
+  public <T> Mono<T> read(Mono<T> source) {
+    if (!useReplica()) {
+      return source;
+    }
+    return source.contextWrite(context -> context.put(TARGET_KEY, Target.REPLICA))
+            .onErrorResume(ReadReplicaRouter::isUnavailable, e -> fallback(e).then(source));
+  }
+
+  public <T> Flux<T> read(Flux<T> source) {
+    if (!useReplica()) {
+      return source;
+    }
+    return Flux.defer(() -> {
+      AtomicBoolean emitted = new AtomicBoolean();
+      return source.contextWrite(context -> context.put(TARGET_KEY, Target.REPLICA))
+              .doOnNext(value -> emitted.set(true))
+              .onErrorResume(e -> !emitted.get() && isUnavailable(e), e -> fallback(e).thenMany(source));
+    });
+  }
+
+  private boolean useReplica() {
+    return replicaHealth != null && replicaHealth.isHealthy();
+  }
+
+  private Mono<Void> fallback(Throwable e) {
+    return Mono.fromRunnable(() -> {
+      replicaHealth.markUnhealthy(e);
+      fallbacks.increment();
+    });
+  }
+
+  static boolean isUnavailable(Throwable e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof R2dbcNonTransientResourceException || cause instanceof R2dbcTransientResourceException
+              || cause instanceof R2dbcTimeoutException || cause instanceof TimeoutException
+              || cause instanceof DataAccessResourceFailureException) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
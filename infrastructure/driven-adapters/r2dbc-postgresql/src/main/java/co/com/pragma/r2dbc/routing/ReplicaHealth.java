@@ -0,0 +1,91 @@
+package co.com.pragma.r2dbc.routing;
+
+import co.com.pragma.r2dbc.config.ReplicaProperties;
+import co.com.pragma.r2dbc.utils.Constants;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Chequea la réplica cada checkInterval y la marca sana solo si responde a tiempo y su retraso
+ * no supera maxLag. Con el WAL recibido ya aplicado el retraso es cero, aunque el primario lleve
+ * rato sin escribir. Un error en una lectura la marca caída sin esperar al siguiente chequeo.
+ */
+@Log
+public class ReplicaHealth implements DisposableBean {
+
+  static final String LAG_SQL = """
+              SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+              END::float8 AS lag_seconds
+          """;
+
+  private final ConnectionFactory replica;
+  private final ReplicaProperties properties;
+  private final Disposable checks;
+  private volatile boolean healthy;
+  private volatile double lagSeconds = Double.NaN;
+
+  public ReplicaHealth(ConnectionFactory replica, ReplicaProperties properties, MeterRegistry meterRegistry) {
+    this.replica = replica;
+    this.properties = properties;
+    Gauge.builder(Constants.DB_REPLICA_LAG, this, health -> health.lagSeconds)
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    Gauge.builder(Constants.DB_REPLICA_HEALTHY, this, health -> health.healthy ? 1 : 0)
+            .register(meterRegistry);
+    this.checks = Flux.interval(Duration.ZERO, properties.checkInterval())
+            .concatMap(tick -> check())
+            .subscribe();
+  }
+
+  public boolean isHealthy() {
+    return healthy;
+  }
+
+  public void markUnhealthy(Throwable cause) {
+    if (healthy) {
+      log.warning(Constants.LOG_REPLICA_UNAVAILABLE + cause.getMessage());
+    }
+    healthy = false;
+  }
+
+  Mono<Void> check() {
+    return Mono.usingWhen(replica.create(),
+                    connection -> Mono.from(connection.createStatement(LAG_SQL).execute())
+                            .flatMap(result -> Mono.from(result.map((row, metadata) ->
+                                    row.get("lag_seconds", Double.class)))),
+                    Connection::close)
+            .timeout(properties.checkTimeout())
+            .doOnNext(this::update)
+            .onErrorResume(e -> {
+              lagSeconds = Double.NaN;
+              markUnhealthy(e);
+              return Mono.empty();
+            })
+            .then();
+  }
+
+  void update(double lag) {
+    lagSeconds = lag;
+    boolean withinLag = lag <= properties.maxLag().toMillis() / 1000.0;
+    if (healthy && !withinLag) {
+      log.warning(Constants.LOG_REPLICA_LAGGING + lag);
+    }
+    healthy = withinLag;
+  }
+
+  @Override
+  public void destroy() {
+    checks.dispose();
+  }
+}
@@ -0,0 +1,33 @@
+package co.com.pragma.r2dbc.routing;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Entrega conexiones de la réplica solo a las lecturas marcadas por ReadReplicaRouter y mientras
+ * la réplica esté sana; todo lo demás, incluidas las transacciones, va al primario.
+ */
+public class ReplicaRoutingConnectionFactory extends AbstractRoutingConnectionFactory {
+
+  private final ReplicaHealth replicaHealth;
+
+  public ReplicaRoutingConnectionFactory(ConnectionFactory primary, ConnectionFactory replica,
+                                         ReplicaHealth replicaHealth) {
+    this.replicaHealth = replicaHealth;
+    setTargetConnectionFactories(Map.of(ReadReplicaRouter.Target.PRIMARY, primary,
+            ReadReplicaRouter.Target.REPLICA, replica));
+    setDefaultTargetConnectionFactory(primary);
+  }
+
+  @Override
+  protected Mono<Object> determineCurrentLookupKey() {
+    return Mono.deferContextual(context -> Mono.just(
+            context.getOrDefault(ReadReplicaRouter.TARGET_KEY, ReadReplicaRouter.Target.PRIMARY)
+                    == ReadReplicaRouter.Target.REPLICA && replicaHealth.isHealthy()
+                    ? ReadReplicaRouter.Target.REPLICA
+                    : ReadReplicaRouter.Target.PRIMARY));
+  }
+}
@@ -11,7 +11,22 @@ public class Constants {
   // Mensajes de log
   public static final String LOG_ENTITY_BEFORE_SAVE = "Entidad creada antes de guardar: ";
   public static final String LOG_ERROR_SAVE = "Error al guardar el crédito: ";
+  public static final String LOG_BATCH_INSERT = "Insertando bloque de solicitudes: ";
   public static final String LOG_ERROR_UPDATE = "Error al actualizar el crédito: ";
+  // Eventos de cambio de estado
+  public static final String CREDIT_EVENTS_DROPPED_COUNTER = "credit.events.dropped";
+  public static final long CREDIT_EVENTS_EMIT_RETRY_MILLIS = 100;
+  public static final String LOG_CREDIT_EVENTS_LISTEN_ERROR = "Escucha LISTEN/NOTIFY interrumpida, se reintenta: ";
+  public static final String LOG_CREDIT_EVENTS_INVALID_PAYLOAD = "Notificación de estado descartada: ";
+  public static final String ERROR_LISTEN_UNSUPPORTED = "La conexión no es de Postgres, no se puede usar LISTEN";
+
+  // idempotencia
+  public static final String ERROR_IDEMPOTENCY_KEY_REUSED = "La clave de idempotencia ya se usó con otra solicitud";
+  public static final String ERROR_IDEMPOTENCY_IN_PROGRESS = "Hay una solicitud en curso con la misma clave de idempotencia";
+  public static final String LOG_IDEMPOTENCY_RELEASE_FAILED = "No se pudo liberar la clave de idempotencia: ";
+
+  public static final String LOG_CREDIT_VERSION_UNAVAILABLE = "Versión del listado no disponible, se responde sin ETag: ";
+  public static final String LOG_CREDIT_COUNTER_UNAVAILABLE = "Contador de solicitudes no disponible, se usa la estimación: ";
 
   // credit type
   public static final String ERROR_CREDIT_TYPE_NOT_FOUND = "Tipo de crédito con ID %d no encontrado";
@@ -22,14 +37,71 @@ public class Constants {
   public static final String JWT_SECRET_LOADED = "JWT secret cargado correctamente desde AWS Secrets Manager";
   public static final String ERROR_PROCESSING_TOKEN = "Error al procesar el token JWT: ";
   public static final String INVALID_TOKEN = "Token inválido: ";
-  public static final String TOKEN_RECEIVED = "Token recibido: ";
   public static final String ERROR_GETTING_EMAIL = "Error al obtener el correo electrónico del token: ";
   public static final String ERROR_GETTING_SALARY = "Error al obtener el salario del token: ";
   public static final String ERROR_GETTING_ROLES = "Error al obtener roles del token: ";
-  public static final String ROLES_EXTRACTED = "Roles extraídos del token: ";
   public static final String NO_ROLES_FOUND = "No se encontraron roles en el token";
   public static final String ROLES_PROCESSED = "Roles procesados: ";
 
+  // jwt claims cache
+  public static final String JWT_CLAIMS_CACHE_NAME = "jwt.claims";
+  public static final String CACHE_TAG = "cache";
+  public static final String TOKEN_DIGEST_ALGORITHM = "SHA-256";
+  public static final long DEFAULT_JWT_EXPIRATION_SECONDS = 3600;
+  public static final long DEFAULT_JWT_CACHE_MAX_SIZE = 10000;
+  public static final int MAX_INTERNED_ROLE_CLAIMS = 256;
+
+  // caché de solicitudes por id
+  public static final String CREDIT_CACHE_NAME = "credit.by.id";
+  public static final String CREDIT_CACHE_HIT_RATIO = "credit.cache.hit.ratio";
+  public static final String CREDIT_CACHE_LOAD_TIMER = "credit.cache.load";
+
+  // pool de conexiones
+  public static final String DB_POOL_ACQUIRE_TIMER = "db.pool.acquire";
+  public static final String DB_POOL_ACQUIRED = "db.pool.acquired";
+  public static final String DB_POOL_IDLE = "db.pool.idle";
+  public static final String DB_POOL_ALLOCATED = "db.pool.allocated";
+  public static final String DB_POOL_PENDING = "db.pool.pending";
+  public static final String DB_POOL_MAX_ALLOCATED = "db.pool.max.allocated";
+  public static final String POOL_TAG = "pool";
+
+  // réplica de lectura
+  public static final String DB_REPLICA_LAG = "db.replica.lag";
+  public static final String DB_REPLICA_HEALTHY = "db.replica.healthy";
+  public static final String DB_REPLICA_FALLBACK_COUNTER = "db.replica.fallback";
+  public static final String LOG_REPLICA_UNAVAILABLE = "Réplica no disponible, las lecturas vuelven al primario: ";
+  public static final String LOG_REPLICA_LAGGING = "Réplica con retraso por encima del máximo, segundos: ";
+
+  // migraciones
+  public static final String LOG_MIGRATIONS_DISABLED = "Migraciones de esquema deshabilitadas";
+  public static final String LOG_MIGRATIONS_APPLIED = "Migraciones de esquema aplicadas: ";
+  public static final String ERROR_BASE_SCHEMA_MISSING = "Falta el esquema base (versión 1) que las migraciones necesitan; créelo antes de arrancar. Tabla ausente: ";
+  public static final String ERROR_MIGRATIONS_CONNECTION = "No se pudo conectar para verificar el esquema base: ";
+
+  // caché de sentencias preparadas
+  public static final String DB_STATEMENT_CACHE_SIZE = "db.statement.cache.size";
+  public static final String DB_STATEMENT_PLAN_HIT_RATIO = "db.statement.plan.hit.ratio";
+  public static final String BINARY_TAG = "binary";
+  public static final String LOG_STATEMENT_STATS_UNAVAILABLE = "No se pudo leer pg_stat_statements: ";
+
+  // escritura agrupada de solicitudes
+  public static final String CREDIT_GROUP_COMMIT_BATCH_SIZE = "credit.group.commit.batch.size";
+  public static final String CREDIT_GROUP_COMMIT_WAIT_TIMER = "credit.group.commit.wait";
+  public static final String LOG_GROUP_COMMIT_FALLBACK = "Falló el INSERT agrupado, se reintenta fila a fila: ";
+  public static final String LOG_GROUP_COMMIT_RESTART = "La tubería de INSERT agrupados terminó, se reinicia: ";
+  public static final String ERROR_GROUP_COMMIT_CLOSED = "El escritor de INSERT agrupados está cerrado";
+
+  // listado de asesores
+  public static final String CREDIT_LIST_PAGE_TIMER = "credit.list.page";
+  public static final String STRATEGY_TAG = "strategy";
+  public static final String FILTERED_STRATEGY = "FILTERED";
+  public static final String OUTCOME_TAG = "outcome";
+
+  // paginación por cursor
+
   public static final String EMAIL = "correoElectronico";
+  public static final String ROLES = "roles";
+  public static final String SALARIO_BASE = "salarioBase";
+  public static final String OBJECT_ID = "objectId";
   public static final String BEARER = "Bearer ";
 }
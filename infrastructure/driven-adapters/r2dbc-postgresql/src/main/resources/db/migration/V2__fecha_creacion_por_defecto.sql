@@ -0,0 +1,3 @@
+-- La base de solicitudes_credito, tipos_credito y users se crea fuera de este módulo (versión 1 de la línea base).
+-- fecha_creacion toma now() cuando la inserción no la informa; el listado por cursor ordena por ella.
+ALTER TABLE crediya.solicitudes_credito ALTER COLUMN fecha_creacion SET DEFAULT now();
@@ -0,0 +1,24 @@
+-- Índices del listado de asesores. CREATE INDEX CONCURRENTLY no bloquea escrituras y Flyway ejecuta
+-- esta migración fuera de transacción; no mezclar aquí sentencias transaccionales.
+-- Un CREATE INDEX CONCURRENTLY que falla deja el índice INVALID y IF NOT EXISTS lo daría por creado al
+-- reintentar. Por eso cada índice se borra antes (DROP INDEX CONCURRENTLY IF EXISTS): tras un fallo,
+-- flyway repair y un nuevo arranque lo reconstruyen completo.
+
+-- Paginación por cursor (keyset): ORDER BY fecha_creacion DESC, id DESC
+DROP INDEX CONCURRENTLY IF EXISTS crediya.idx_solicitudes_credito_fecha_creacion_id;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_solicitudes_credito_fecha_creacion_id
+    ON crediya.solicitudes_credito (fecha_creacion DESC, id DESC);
+
+-- Filtros del listado: columna filtrada primero y luego el orden por defecto
+DROP INDEX CONCURRENTLY IF EXISTS crediya.idx_solicitudes_credito_estado_solicitud_fecha;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_solicitudes_credito_estado_solicitud_fecha
+    ON crediya.solicitudes_credito (estado_solicitud, fecha_creacion DESC, id DESC);
+DROP INDEX CONCURRENTLY IF EXISTS crediya.idx_solicitudes_credito_estado_fecha;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_solicitudes_credito_estado_fecha
+    ON crediya.solicitudes_credito (estado, fecha_creacion DESC, id DESC);
+DROP INDEX CONCURRENTLY IF EXISTS crediya.idx_solicitudes_credito_tipo_fecha;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_solicitudes_credito_tipo_fecha
+    ON crediya.solicitudes_credito (id_tipo_credito, fecha_creacion DESC, id DESC);
+DROP INDEX CONCURRENTLY IF EXISTS crediya.idx_solicitudes_credito_monto;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_solicitudes_credito_monto
+    ON crediya.solicitudes_credito (monto, id);
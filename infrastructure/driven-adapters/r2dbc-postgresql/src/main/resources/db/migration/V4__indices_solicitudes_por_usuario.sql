@@ -0,0 +1,14 @@
+-- Índices por usuario. Igual que V3, solo sentencias CONCURRENTLY para que corra fuera de transacción, y
+-- cada índice se borra antes de crearlo para no conservar uno INVALID de un intento fallido.
+
+-- findAllByUserId: historial de solicitudes del usuario, más recientes primero
+DROP INDEX CONCURRENTLY IF EXISTS crediya.idx_solicitudes_credito_user_id;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_solicitudes_credito_user_id
+    ON crediya.solicitudes_credito (user_id, fecha_creacion DESC);
+
+-- Préstamos activos del cálculo de capacidad: WHERE user_id = ? AND estado = 'APROBADO', solo con índice
+DROP INDEX CONCURRENTLY IF EXISTS crediya.idx_solicitudes_credito_aprobadas_user;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_solicitudes_credito_aprobadas_user
+    ON crediya.solicitudes_credito (user_id)
+    INCLUDE (monto, plazo_meses, tasa_interes)
+    WHERE estado = 'APROBADO';
@@ -0,0 +1,59 @@
+-- Contador de solicitudes mantenido por triggers a nivel de sentencia.
+-- El listado de asesores lee este valor en O(1) en lugar de ejecutar COUNT(*) sobre la tabla.
+-- Si la tabla no existe, el adaptador usa la estimación de pg_class.reltuples y marca el total como aproximado.
+-- version se incrementa con cada sentencia que modifica la tabla y es el ETag del listado; sin ella no se envía ETag.
+-- Flyway la ejecuta en una sola transacción; el LOCK evita perder inserciones entre el conteo inicial y los triggers.
+
+LOCK TABLE crediya.solicitudes_credito IN SHARE ROW EXCLUSIVE MODE;
+
+CREATE TABLE IF NOT EXISTS crediya.solicitudes_credito_contador (
+    id    SMALLINT PRIMARY KEY CHECK (id = 1),
+    total BIGINT   NOT NULL
+);
+
+ALTER TABLE crediya.solicitudes_credito_contador ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+INSERT INTO crediya.solicitudes_credito_contador (id, total)
+SELECT 1, COUNT(*) FROM crediya.solicitudes_credito
+ON CONFLICT (id) DO UPDATE SET total = EXCLUDED.total;
+
+CREATE OR REPLACE FUNCTION crediya.actualizar_contador_solicitudes() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE crediya.solicitudes_credito_contador
+        SET total = total + (SELECT COUNT(*) FROM nuevas), version = version + 1 WHERE id = 1;
+    ELSIF TG_OP = 'DELETE' THEN
+        UPDATE crediya.solicitudes_credito_contador
+        SET total = total - (SELECT COUNT(*) FROM borradas), version = version + 1 WHERE id = 1;
+    ELSIF TG_OP = 'UPDATE' THEN
+        UPDATE crediya.solicitudes_credito_contador SET version = version + 1 WHERE id = 1;
+    ELSIF TG_OP = 'TRUNCATE' THEN
+        UPDATE crediya.solicitudes_credito_contador SET total = 0, version = version + 1 WHERE id = 1;
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS trg_contador_solicitudes_insert ON crediya.solicitudes_credito;
+CREATE TRIGGER trg_contador_solicitudes_insert
+    AFTER INSERT ON crediya.solicitudes_credito
+    REFERENCING NEW TABLE AS nuevas
+    FOR EACH STATEMENT EXECUTE FUNCTION crediya.actualizar_contador_solicitudes();
+
+DROP TRIGGER IF EXISTS trg_contador_solicitudes_delete ON crediya.solicitudes_credito;
+CREATE TRIGGER trg_contador_solicitudes_delete
+    AFTER DELETE ON crediya.solicitudes_credito
+    REFERENCING OLD TABLE AS borradas
+    FOR EACH STATEMENT EXECUTE FUNCTION crediya.actualizar_contador_solicitudes();
+
+DROP TRIGGER IF EXISTS trg_contador_solicitudes_update ON crediya.solicitudes_credito;
+CREATE TRIGGER trg_contador_solicitudes_update
+    AFTER UPDATE ON crediya.solicitudes_credito
+    FOR EACH STATEMENT EXECUTE FUNCTION crediya.actualizar_contador_solicitudes();
+
+DROP TRIGGER IF EXISTS trg_contador_solicitudes_truncate ON crediya.solicitudes_credito;
+CREATE TRIGGER trg_contador_solicitudes_truncate
+    AFTER TRUNCATE ON crediya.solicitudes_credito
+    FOR EACH STATEMENT EXECUTE FUNCTION crediya.actualizar_contador_solicitudes();
@@ -0,0 +1,14 @@
+-- Claves de idempotencia de POST /api/v1/solicitud (header Idempotency-Key).
+-- La fila se crea IN_PROGRESS al reservar la clave y pasa a COMPLETED con la respuesta serializada.
+-- Una clave vencida se reutiliza en la siguiente reserva; el índice sobre expires_at permite purgarlas con
+-- DELETE FROM crediya.idempotency_keys WHERE expires_at < now();
+CREATE TABLE IF NOT EXISTS crediya.idempotency_keys (
+    idempotency_key VARCHAR(300) PRIMARY KEY,
+    fingerprint     VARCHAR(64)  NOT NULL,
+    status          VARCHAR(16)  NOT NULL CHECK (status IN ('IN_PROGRESS', 'COMPLETED')),
+    response        TEXT,
+    created_at      TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    expires_at      TIMESTAMPTZ  NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON crediya.idempotency_keys (expires_at);
@@ -0,0 +1,38 @@
+-- Reparte el contador de V5 en 16 franjas. Con una sola fila, cada INSERT/UPDATE/DELETE de solicitudes
+-- esperaba el bloqueo de id = 1 hasta el commit de la transacción anterior y todos los escritores quedaban en fila.
+-- Cada sentencia actualiza solo la franja de su conexión (1 + pg_backend_pid() % 16), así dos conexiones
+-- distintas rara vez compiten por la misma fila.
+-- total y version se leen como SUM sobre las franjas. version solo crece en cada franja, así que la suma
+-- cambia con cada sentencia y sigue sirviendo de ETag sin que los lectores bloqueen a los escritores.
+-- La fila 1 conserva el total y la versión acumulados; las demás arrancan en 0.
+
+LOCK TABLE crediya.solicitudes_credito IN SHARE ROW EXCLUSIVE MODE;
+
+ALTER TABLE crediya.solicitudes_credito_contador DROP CONSTRAINT IF EXISTS solicitudes_credito_contador_id_check;
+ALTER TABLE crediya.solicitudes_credito_contador
+    ADD CONSTRAINT solicitudes_credito_contador_id_check CHECK (id BETWEEN 1 AND 16);
+
+INSERT INTO crediya.solicitudes_credito_contador (id, total, version)
+SELECT franja, 0, 0 FROM generate_series(1, 16) AS franja
+ON CONFLICT (id) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION crediya.actualizar_contador_solicitudes() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    franja_actual SMALLINT := 1 + pg_backend_pid() % 16;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE crediya.solicitudes_credito_contador
+        SET total = total + (SELECT COUNT(*) FROM nuevas), version = version + 1 WHERE id = franja_actual;
+    ELSIF TG_OP = 'DELETE' THEN
+        UPDATE crediya.solicitudes_credito_contador
+        SET total = total - (SELECT COUNT(*) FROM borradas), version = version + 1 WHERE id = franja_actual;
+    ELSIF TG_OP = 'UPDATE' THEN
+        UPDATE crediya.solicitudes_credito_contador SET version = version + 1 WHERE id = franja_actual;
+    ELSIF TG_OP = 'TRUNCATE' THEN
+        UPDATE crediya.solicitudes_credito_contador SET total = 0, version = version + 1;
+    END IF;
+    RETURN NULL;
+END;
+$$;
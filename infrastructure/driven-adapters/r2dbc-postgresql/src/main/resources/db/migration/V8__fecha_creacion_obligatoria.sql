@@ -0,0 +1,7 @@
+-- El listado por cursor ordena por (fecha_creacion, id) y codifica fecha_creacion en el cursor; una fila
+-- sin fecha producía un cursor que no se podía decodificar y quedaba fuera del orden del índice de V3.
+-- Las filas anteriores a V2 sin fecha se fijan en el inicio de la época, así quedan al final del listado
+-- descendente, y la columna pasa a NOT NULL para que no vuelva a ocurrir.
+UPDATE crediya.solicitudes_credito SET fecha_creacion = TIMESTAMP '1970-01-01 00:00:00' WHERE fecha_creacion IS NULL;
+
+ALTER TABLE crediya.solicitudes_credito ALTER COLUMN fecha_creacion SET NOT NULL;
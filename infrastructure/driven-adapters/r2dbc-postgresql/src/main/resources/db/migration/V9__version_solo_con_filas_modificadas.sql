@@ -0,0 +1,40 @@
+-- Los triggers de V5 son a nivel de sentencia y se disparan aunque la sentencia no toque ninguna fila:
+-- un cambio de estado sobre un id inexistente (UPDATE ... RETURNING vacío) incrementaba version e
+-- invalidaba el ETag del listado sin que el listado cambiara. Ahora version solo crece cuando la tabla
+-- de transición de la sentencia tiene filas; el UPDATE pasa a declarar la suya (actualizadas).
+
+CREATE OR REPLACE FUNCTION crediya.actualizar_contador_solicitudes() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    franja_actual SMALLINT := 1 + pg_backend_pid() % 16;
+    filas BIGINT;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        SELECT COUNT(*) INTO filas FROM nuevas;
+        IF filas > 0 THEN
+            UPDATE crediya.solicitudes_credito_contador
+            SET total = total + filas, version = version + 1 WHERE id = franja_actual;
+        END IF;
+    ELSIF TG_OP = 'DELETE' THEN
+        SELECT COUNT(*) INTO filas FROM borradas;
+        IF filas > 0 THEN
+            UPDATE crediya.solicitudes_credito_contador
+            SET total = total - filas, version = version + 1 WHERE id = franja_actual;
+        END IF;
+    ELSIF TG_OP = 'UPDATE' THEN
+        IF EXISTS (SELECT 1 FROM actualizadas) THEN
+            UPDATE crediya.solicitudes_credito_contador SET version = version + 1 WHERE id = franja_actual;
+        END IF;
+    ELSIF TG_OP = 'TRUNCATE' THEN
+        UPDATE crediya.solicitudes_credito_contador SET total = 0, version = version + 1;
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS trg_contador_solicitudes_update ON crediya.solicitudes_credito;
+CREATE TRIGGER trg_contador_solicitudes_update
+    AFTER UPDATE ON crediya.solicitudes_credito
+    REFERENCING NEW TABLE AS actualizadas
+    FOR EACH STATEMENT EXECUTE FUNCTION crediya.actualizar_contador_solicitudes();
@@ -1,37 +1,67 @@
 package co.com.pragma.r2dbc.config;
 
-import org.junit.jupiter.api.BeforeEach;
+import co.com.pragma.r2dbc.utils.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
 
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.mockito.Mockito.when;
 
 class PostgreSQLConnectionPoolTest {
 
-    @InjectMocks
-    private PostgreSQLConnectionPool connectionPool;
+    private final PostgreSQLConnectionPool connectionPool = new PostgreSQLConnectionPool();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ConnectionPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+
+    @Test
+    void getConnectionConfigSuccess() {
+        pool = connectionPool.getConnectionConfig(properties(null), meterRegistry);
 
-    @Mock
-    private PostgresqlConnectionProperties properties;
+        assertNotNull(pool);
+    }
 
+    @Test
+    void getConnectionConfig_shouldUseConfiguredSizesAndExportPoolMetrics() {
+        PostgresqlConnectionProperties.Pool poolProperties = new PostgresqlConnectionProperties.Pool(
+                0, 40, null, Duration.ofMinutes(10), Duration.ofSeconds(2), null, null, 2, null);
 
-    @BeforeEach
-    void setUp() {
-        MockitoAnnotations.openMocks(this);
+        pool = connectionPool.getConnectionConfig(properties(poolProperties), meterRegistry);
 
-        when(properties.host()).thenReturn("localhost");
-        when(properties.port()).thenReturn(5432);
-        when(properties.database()).thenReturn("dbName");
-        when(properties.schema()).thenReturn("schema");
-        when(properties.username()).thenReturn("username");
-        when(properties.password()).thenReturn("password");
+        assertEquals(40.0, meterRegistry.get(Constants.DB_POOL_MAX_ALLOCATED).gauge().value());
+        assertEquals(0.0, meterRegistry.get(Constants.DB_POOL_ACQUIRED).gauge().value());
+        assertEquals(0.0, meterRegistry.get(Constants.DB_POOL_PENDING).gauge().value());
+        assertNotNull(meterRegistry.get(Constants.DB_POOL_ACQUIRE_TIMER).timer());
+        assertEquals(256.0, meterRegistry.get(Constants.DB_STATEMENT_CACHE_SIZE).gauge().value());
     }
 
     @Test
-    void getConnectionConfigSuccess() {
-        assertNotNull(connectionPool.getConnectionConfig(properties));
+    void properties_shouldDefaultToPreviousPoolSizes() {
+        PostgresqlConnectionProperties properties = properties(null);
+
+        assertEquals(PostgresqlConnectionProperties.DEFAULT_PORT, new PostgresqlConnectionProperties(
+                "localhost", null, "db", "schema", "user", "pass", null, null).port());
+        assertEquals(12, properties.pool().initialSize());
+        assertEquals(15, properties.pool().maxSize());
+        assertEquals(Duration.ofSeconds(5), properties.pool().maxAcquireTime());
+        assertEquals("prefer", properties.options().sslMode());
+        assertEquals(PostgresqlConnectionProperties.Options.DEFAULT_PREPARED_STATEMENT_CACHE_QUERIES,
+                properties.options().preparedStatementCacheQueries());
+        assertEquals(true, properties.options().forceBinary());
+    }
+
+    private PostgresqlConnectionProperties properties(PostgresqlConnectionProperties.Pool pool) {
+        return new PostgresqlConnectionProperties("localhost", 5432, "dbName", "schema", "username", "password",
+                null, pool);
     }
 }
@@ -0,0 +1,39 @@
+package co.com.pragma.r2dbc.config;
+
+import co.com.pragma.r2dbc.utils.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class PreparedStatementStatsTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final PreparedStatementStats stats = new PreparedStatementStats(new StatementStatsProperties(null, null),
+          mock(DatabaseClient.class), meterRegistry);
+
+  @Test
+  void record_shouldComputeHitRatioFromDeltasBetweenSamples() {
+    // Arrange
+    stats.record(new PreparedStatementStats.Sample(1_000, 100));
+
+    // Act
+    stats.record(new PreparedStatementStats.Sample(2_000, 150));
+
+    // Assert: 1000 ejecuciones y 50 planes nuevos en el intervalo
+    assertEquals(0.95, meterRegistry.get(Constants.DB_STATEMENT_PLAN_HIT_RATIO).gauge().value(), 1e-9);
+  }
+
+  @Test
+  void record_shouldIgnoreFirstSampleAndStatsReset() {
+    // Act
+    stats.record(new PreparedStatementStats.Sample(5_000, 10));
+    stats.record(new PreparedStatementStats.Sample(20, 20));
+
+    // Assert
+    assertTrue(Double.isNaN(stats.hitRatio()));
+  }
+}
@@ -0,0 +1,90 @@
+package co.com.pragma.r2dbc.config;
+
+import co.com.pragma.r2dbc.utils.Constants;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SchemaMigratorTest {
+
+  private final PostgresqlConnectionProperties connection = new PostgresqlConnectionProperties("db.local", 5433,
+          "crediya", "crediya", "user", "secret",
+          new PostgresqlConnectionProperties.Options("require", null, null), null);
+
+  @Test
+  void jdbcUrl_shouldReuseR2dbcConnectionSettings() {
+    assertEquals("jdbc:postgresql://db.local:5433/crediya?sslmode=require", SchemaMigrator.jdbcUrl(connection));
+  }
+
+  @Test
+  void afterPropertiesSet_whenDisabled_shouldNotConnect() {
+    SchemaMigrator migrator = new SchemaMigrator(connection, new SchemaMigrationProperties(false, null, null));
+
+    assertDoesNotThrow(migrator::afterPropertiesSet);
+  }
+
+  @Test
+  void concurrentIndexMigrations_shouldDropEachIndexConcurrentlyBeforeCreatingIt() throws IOException {
+    // Flyway solo las corre fuera de transacción si todas sus sentencias lo requieren
+    for (String migration : List.of("V3__indices_listado_asesores.sql", "V4__indices_solicitudes_por_usuario.sql")) {
+      List<String> statements = statements(migration);
+      assertTrue(statements.size() > 0);
+      assertEquals(0, statements.size() % 2, migration);
+      for (int i = 0; i < statements.size(); i += 2) {
+        String create = statements.get(i + 1);
+        assertTrue(create.startsWith("CREATE INDEX CONCURRENTLY IF NOT EXISTS "), migration + ": " + create);
+        String index = create.substring("CREATE INDEX CONCURRENTLY IF NOT EXISTS ".length()).split("\\s+")[0];
+        assertEquals("DROP INDEX CONCURRENTLY IF EXISTS crediya." + index, statements.get(i), migration);
+      }
+    }
+  }
+
+  @Test
+  void requireBaseSchema_missingTable_shouldFailWithClearMessage() throws SQLException {
+    // Arrange
+    Connection jdbc = mock(Connection.class);
+    PreparedStatement exists = mock(PreparedStatement.class);
+    ResultSet result = mock(ResultSet.class);
+    when(jdbc.prepareStatement(anyString())).thenReturn(exists);
+    when(exists.executeQuery()).thenReturn(result);
+    when(result.next()).thenReturn(true);
+    when(result.getBoolean(1)).thenReturn(false);
+
+    // Act
+    IllegalStateException error = assertThrows(IllegalStateException.class,
+            () -> SchemaMigrator.requireBaseSchema(jdbc));
+
+    // Assert
+    assertEquals(Constants.ERROR_BASE_SCHEMA_MISSING + "crediya.solicitudes_credito", error.getMessage());
+  }
+
+  private List<String> statements(String migration) throws IOException {
+    try (InputStream sql = getClass().getResourceAsStream("/db/migration/" + migration)) {
+      assertNotNull(sql, migration);
+      String withoutComments = new String(sql.readAllBytes(), StandardCharsets.UTF_8).lines()
+              .filter(line -> !line.trim().startsWith("--"))
+              .reduce("", (a, b) -> a + " " + b.trim());
+      return Arrays.stream(withoutComments.split(";"))
+              .map(String::trim)
+              .filter(statement -> !statement.isEmpty())
+              .toList();
+    }
+  }
+}
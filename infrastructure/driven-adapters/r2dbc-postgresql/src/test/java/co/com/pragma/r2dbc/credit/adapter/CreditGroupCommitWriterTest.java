@@ -0,0 +1,150 @@
+package co.com.pragma.r2dbc.credit.adapter;
+
+import co.com.pragma.r2dbc.config.CreditGroupCommitProperties;
+import co.com.pragma.r2dbc.credit.entity.CreditApplication;
+import co.com.pragma.r2dbc.credit.repository.CreditApplicationRepository;
+import co.com.pragma.r2dbc.utils.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CreditGroupCommitWriterTest {
+
+  private final CreditApplication first = CreditApplication.builder().userId(1L).build();
+  private final CreditApplication second = CreditApplication.builder().userId(2L).build();
+
+  private CreditApplicationRepository repository;
+  private SimpleMeterRegistry meterRegistry;
+  private CreditGroupCommitWriter writer;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(CreditApplicationRepository.class);
+    meterRegistry = new SimpleMeterRegistry();
+    writer = new CreditGroupCommitWriter(repository,
+            new CreditGroupCommitProperties(true, 2, Duration.ofSeconds(5), 1), meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    writer.destroy();
+  }
+
+  @Test
+  void insert_shouldWriteConcurrentCallsWithOneInsertAndReturnEachId() {
+    // Arrange
+    when(repository.insertAll(List.of(first, second))).thenReturn(Flux.just(10L, 11L));
+
+    // Act
+    Mono<List<Long>> ids = Mono.zip(writer.insert(first), writer.insert(second), List::of);
+
+    // Assert
+    StepVerifier.create(ids)
+            .expectNext(List.of(10L, 11L))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    verify(repository, times(1)).insertAll(List.of(first, second));
+    assertEquals(1, meterRegistry.get(Constants.CREDIT_GROUP_COMMIT_BATCH_SIZE).summary().count());
+    assertEquals(2.0, meterRegistry.get(Constants.CREDIT_GROUP_COMMIT_BATCH_SIZE).summary().totalAmount());
+    assertEquals(2, meterRegistry.get(Constants.CREDIT_GROUP_COMMIT_WAIT_TIMER).timer().count());
+  }
+
+  @Test
+  void insert_whenBatchFails_shouldRetryRowByRowAndFailOnlyTheInvalidRow() {
+    // Arrange
+    when(repository.insertAll(List.of(first, second))).thenReturn(Flux.error(new RuntimeException("fk")));
+    when(repository.insertAll(List.of(first))).thenReturn(Flux.error(new RuntimeException("fk")));
+    when(repository.insertAll(List.of(second))).thenReturn(Flux.just(11L));
+
+    // Act
+    Mono<Long> firstId = writer.insert(first);
+    Mono<Long> secondId = writer.insert(second);
+
+    // Assert
+    StepVerifier.create(Mono.zip(firstId.onErrorReturn(-1L), secondId))
+            .expectNextMatches(ids -> ids.getT1() == -1L && ids.getT2() == 11L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+  }
+
+  @Test
+  void insert_fromManyThreads_shouldEnqueueEveryRow() {
+    // Arrange
+    when(repository.insertAll(anyList())).thenAnswer(invocation -> Flux.fromIterable(
+            invocation.<List<CreditApplication>>getArgument(0)).map(CreditApplication::getUserId));
+
+    // Act
+    Mono<Set<Long>> ids = Flux.range(0, 200)
+            .parallel()
+            .runOn(Schedulers.parallel())
+            .flatMap(i -> writer.insert(CreditApplication.builder().userId((long) i).build()))
+            .sequential()
+            .collect(Collectors.toSet());
+
+    // Assert
+    StepVerifier.create(ids)
+            .expectNextMatches(written -> written.size() == 200)
+            .expectComplete()
+            .verify(Duration.ofSeconds(10));
+  }
+
+  @Test
+  void insert_whileEveryBatchIsInFlight_shouldCompleteEveryCaller() {
+    // Arrange: un solo lote en vuelo y un INSERT lento, así el linger vence sin demanda
+    CreditGroupCommitWriter slowWriter = new CreditGroupCommitWriter(repository,
+            new CreditGroupCommitProperties(true, 2, Duration.ofMillis(1), 1), meterRegistry);
+    when(repository.insertAll(anyList())).thenAnswer(invocation -> Flux.fromIterable(
+                    invocation.<List<CreditApplication>>getArgument(0))
+            .map(CreditApplication::getUserId)
+            .delaySubscription(Duration.ofMillis(20)));
+
+    // Act
+    Mono<Set<Long>> ids = Flux.range(0, 20)
+            .flatMap(i -> slowWriter.insert(CreditApplication.builder().userId((long) i).build()))
+            .collect(Collectors.toSet());
+
+    // Assert
+    StepVerifier.create(ids)
+            .expectNextMatches(written -> written.size() == 20)
+            .expectComplete()
+            .verify(Duration.ofSeconds(10));
+    slowWriter.destroy();
+  }
+
+  @Test
+  void insert_afterDestroy_shouldFail() {
+    writer.destroy();
+
+    StepVerifier.create(writer.insert(first))
+            .expectError(IllegalStateException.class)
+            .verify(Duration.ofSeconds(5));
+  }
+
+  @Test
+  void properties_shouldDefaultToDisabled() {
+    CreditGroupCommitProperties properties = new CreditGroupCommitProperties(null, null, null, null);
+
+    assertFalse(properties.enabled());
+    assertEquals(64, properties.maxBatchSize());
+    assertEquals(Duration.ofMillis(5), properties.linger());
+    assertEquals(2, properties.maxInFlightBatches());
+  }
+}
@@ -0,0 +1,200 @@
+package co.com.pragma.r2dbc.credit.adapter;
+
+import co.com.pragma.model.credit.CreditCount;
+import co.com.pragma.model.credit.CreditDetailDTO;
+import co.com.pragma.model.credit.CreditListFilter;
+import co.com.pragma.model.credit.CreditSortField;
+import co.com.pragma.r2dbc.config.CreditListProperties;
+import co.com.pragma.r2dbc.config.CreditListProperties.CountStrategy;
+import co.com.pragma.r2dbc.credit.dto.CreditDetailRow;
+import co.com.pragma.r2dbc.credit.mapper.CreditApplicationMapper;
+import co.com.pragma.r2dbc.credit.repository.CreditApplicationRepository;
+import co.com.pragma.r2dbc.utils.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CreditPageReaderTest {
+
+  @Mock
+  private CreditApplicationRepository creditApplicationRepository;
+
+  @Mock
+  private CreditApplicationMapper creditApplicationMapper;
+
+  private SimpleMeterRegistry meterRegistry;
+  private CreditPageReader reader;
+
+  private final CreditCount count = CreditCount.builder().total(25L).exact(true).build();
+  private final CreditDetailDTO detail = CreditDetailDTO.builder().nombre("Ana").build();
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    reader = new CreditPageReader(creditApplicationRepository, creditApplicationMapper,
+            new CreditListProperties(CountStrategy.PARALLEL), meterRegistry);
+  }
+
+  private long recorded(CountStrategy strategy) {
+    return recorded(strategy, SignalType.ON_COMPLETE);
+  }
+
+  private long recorded(CountStrategy strategy, SignalType outcome) {
+    return meterRegistry.get(Constants.CREDIT_LIST_PAGE_TIMER)
+            .tag(Constants.STRATEGY_TAG, strategy.name())
+            .tag(Constants.OUTCOME_TAG, outcome.name())
+            .timer()
+            .count();
+  }
+
+  @Test
+  void readPage_parallel_shouldSubscribeToCountAndPageTogether() {
+    // Arrange: el total solo se resuelve cuando la consulta de la página ya se suscribió
+    Sinks.One<CreditCount> countSink = Sinks.one();
+    when(creditApplicationRepository.findAllCreditDetails(PageRequest.of(0, 10)))
+            .thenReturn(Flux.just(detail).doOnSubscribe(s -> countSink.tryEmitValue(count)));
+
+    // Act & Assert
+    StepVerifier.create(reader.readPage(0, 10, countSink.asMono()))
+            .expectNextMatches(page -> page.getCredits().size() == 1 && page.getCount().getTotal() == 25L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    assertEquals(1, recorded(CountStrategy.PARALLEL));
+  }
+
+  @Test
+  void readPage_sequential_shouldNotQueryPageBeforeCount() {
+    // Arrange
+    AtomicBoolean pageSubscribed = new AtomicBoolean();
+    when(creditApplicationRepository.findAllCreditDetails(PageRequest.of(1, 10)))
+            .thenReturn(Flux.just(detail).doOnSubscribe(s -> pageSubscribed.set(true)));
+    Mono<CreditCount> checkedCount = Mono.fromSupplier(() -> {
+      assertFalse(pageSubscribed.get());
+      return count;
+    });
+
+    // Act & Assert
+    StepVerifier.create(reader.readPage(CountStrategy.SEQUENTIAL, 1, 10, checkedCount))
+            .expectNextMatches(page -> page.getCredits().size() == 1)
+            .verifyComplete();
+    assertEquals(1, recorded(CountStrategy.SEQUENTIAL));
+  }
+
+  @Test
+  void readPage_whenQueryFails_shouldRecordErrorOutcome() {
+    // Arrange
+    when(creditApplicationRepository.findAllCreditDetails(PageRequest.of(0, 10)))
+            .thenReturn(Flux.error(new IllegalStateException("db down")));
+
+    // Act & Assert
+    StepVerifier.create(reader.readPage(CountStrategy.SEQUENTIAL, 0, 10, Mono.just(count)))
+            .expectError(IllegalStateException.class)
+            .verify(Duration.ofSeconds(1));
+    assertEquals(1, recorded(CountStrategy.SEQUENTIAL, SignalType.ON_ERROR));
+  }
+
+  @Test
+  void readPage_window_shouldTakeTotalFromFirstRow() {
+    // Arrange
+    CreditDetailRow row = CreditDetailRow.builder().nombre("Ana").totalcount(40L).build();
+    when(creditApplicationRepository.findCreditDetailsWithTotal(10, 20L)).thenReturn(Flux.just(row));
+    when(creditApplicationMapper.toCreditDetail(row)).thenReturn(detail);
+
+    // Act & Assert
+    StepVerifier.create(reader.readPage(CountStrategy.WINDOW, 2, 10, Mono.error(new IllegalStateException())))
+            .expectNextMatches(page -> page.getCount().getTotal() == 40L
+                    && page.getCount().getExact()
+                    && page.getCredits().get(0) == detail)
+            .verifyComplete();
+    assertEquals(1, recorded(CountStrategy.WINDOW));
+  }
+
+  @Test
+  void readPage_windowPastLastPage_shouldFallBackToCount() {
+    // Arrange
+    when(creditApplicationRepository.findCreditDetailsWithTotal(10, 1000L)).thenReturn(Flux.empty());
+
+    // Act & Assert
+    StepVerifier.create(reader.readPage(CountStrategy.WINDOW, 100, 10, Mono.just(count)))
+            .expectNextMatches(page -> page.getCredits().isEmpty() && page.getCount().getTotal() == 25L)
+            .verifyComplete();
+  }
+
+  @Test
+  void readFilteredPage_shouldCountFilteredRowsAlongsideThePage() {
+    // Arrange: el COUNT solo se resuelve cuando la consulta de la página ya se suscribió
+    CreditListFilter filter = CreditListFilter.builder().estadoSolicitud("PENDIENTE").build();
+    CreditDetailRow row = CreditDetailRow.builder().nombre("Ana").build();
+    Sinks.One<Long> countSink = Sinks.one();
+    when(creditApplicationRepository.findCreditDetails(filter, 10, 10L))
+            .thenReturn(Flux.just(row).doOnSubscribe(s -> countSink.tryEmitValue(3L)));
+    when(creditApplicationRepository.countCreditDetails(filter)).thenReturn(countSink.asMono());
+    when(creditApplicationMapper.toCreditDetail(row)).thenReturn(detail);
+
+    // Act & Assert
+    StepVerifier.create(reader.readFilteredPage(filter, 1, 10, Mono.error(new IllegalStateException())))
+            .expectNextMatches(page -> page.getCount().getTotal() == 3L && page.getCredits().get(0) == detail)
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    assertEquals(1, meterRegistry.get(Constants.CREDIT_LIST_PAGE_TIMER)
+            .tag(Constants.STRATEGY_TAG, Constants.FILTERED_STRATEGY)
+            .tag(Constants.OUTCOME_TAG, SignalType.ON_COMPLETE.name())
+            .timer()
+            .count());
+  }
+
+  @Test
+  void readFilteredPage_sequential_shouldNotQueryPageBeforeCount() {
+    // Arrange
+    CreditListFilter filter = CreditListFilter.builder().tipoCredito(2L).build();
+    AtomicBoolean pageSubscribed = new AtomicBoolean();
+    when(creditApplicationRepository.countCreditDetails(filter)).thenReturn(Mono.fromSupplier(() -> {
+      assertFalse(pageSubscribed.get());
+      return 7L;
+    }));
+    when(creditApplicationRepository.findCreditDetails(filter, 10, 50L))
+            .thenReturn(Flux.<CreditDetailRow>empty().doOnSubscribe(s -> pageSubscribed.set(true)));
+
+    // Act & Assert
+    StepVerifier.create(reader.readFilteredPage(CountStrategy.SEQUENTIAL, filter, 5, 10, Mono.just(count)))
+            .expectNextMatches(page -> page.getCredits().isEmpty() && page.getCount().getTotal() == 7L)
+            .verifyComplete();
+  }
+
+  @Test
+  void readFilteredPage_onlySorting_shouldUseUnfilteredCount() {
+    // Arrange
+    CreditListFilter filter = CreditListFilter.builder().sortBy(CreditSortField.MONTO).build();
+    when(creditApplicationRepository.findCreditDetails(filter, 10, 0L)).thenReturn(Flux.empty());
+
+    // Act & Assert
+    StepVerifier.create(reader.readFilteredPage(filter, 0, 10, Mono.just(count)))
+            .expectNextMatches(page -> page.getCredits().isEmpty() && page.getCount().getTotal() == 25L)
+            .verifyComplete();
+    verify(creditApplicationRepository, never()).countCreditDetails(filter);
+  }
+
+  @Test
+  void properties_withoutStrategy_shouldDefaultToParallel() {
+    assertEquals(CountStrategy.PARALLEL, new CreditListProperties(null).countStrategy());
+  }
+}
@@ -1,17 +1,30 @@
 package co.com.pragma.r2dbc.credit.adapter;
 
+import co.com.pragma.model.credit.CreditCount;
+import co.com.pragma.model.credit.CreditCursor;
 import co.com.pragma.model.credit.CreditDetailDTO;
+import co.com.pragma.model.credit.CreditPage;
 import co.com.pragma.model.credit.CreditParameters;
 import co.com.pragma.model.credit.CreditReponse;
+import co.com.pragma.model.credit.CreditStateChange;
+import co.com.pragma.model.credit.PrestamoActivo;
+import co.com.pragma.r2dbc.config.CreditBatchProperties;
+import co.com.pragma.r2dbc.config.CreditCacheProperties;
+import co.com.pragma.r2dbc.credit.dto.ActiveLoanRow;
+import co.com.pragma.r2dbc.credit.dto.CreditDetailRow;
 import co.com.pragma.r2dbc.credit.entity.CreditApplication;
 import co.com.pragma.r2dbc.credit.mapper.CreditApplicationMapper;
 import co.com.pragma.r2dbc.credit.repository.CreditApplicationRepository;
+import co.com.pragma.r2dbc.routing.ReadReplicaRouter;
+import co.com.pragma.r2dbc.routing.ReplicaHealth;
 import co.com.pragma.r2dbc.utils.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -21,7 +34,16 @@ import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -34,6 +56,19 @@ class CreditRepositoryAdapterTest {
   @Mock
   private CreditApplicationMapper creditApplicationMapper;
 
+  @Mock
+  private CreditPageReader creditPageReader;
+
+  @Mock
+  private CreditGroupCommitWriter creditGroupCommitWriter;
+
+  @Spy
+  private ReadReplicaRouter readReplicaRouter = new ReadReplicaRouter(Optional.empty(), new SimpleMeterRegistry());
+
+  @Spy
+  private CreditByIdCache creditByIdCache = new CreditByIdCache(new CreditCacheProperties(100L, null),
+          new SimpleMeterRegistry());
+
   @InjectMocks
   private CreditRepositoryAdapter creditRepositoryAdapter;
 
@@ -100,6 +135,25 @@ class CreditRepositoryAdapterTest {
     verify(creditApplicationMapper).toDto(savedCreditApplication);
   }
 
+  @Test
+  void createCredit_withGroupCommit_shouldUseGeneratedIdFromWriter() {
+    // Arrange
+    when(creditApplicationMapper.toEntity(creditParameters)).thenReturn(creditApplication);
+    when(creditGroupCommitWriter.isEnabled()).thenReturn(true);
+    when(creditGroupCommitWriter.insert(creditApplication)).thenReturn(Mono.just(42L));
+    when(creditApplicationMapper.toDto(any())).thenReturn(creditParameters.toBuilder().build());
+
+    // Act
+    Mono<CreditReponse> result = creditRepositoryAdapter.createCredit(creditParameters);
+
+    // Assert
+    StepVerifier.create(result)
+            .expectNextMatches(response -> Constants.STATUS_SUCCESS.equals(response.getStatusResponse())
+                    && response.getCreditParameters().getIdEntidadGuardada() == 42L)
+            .verifyComplete();
+    verify(creditApplicationRepository, never()).save(any());
+  }
+
   @Test
   void shouldHandleErrorWhenCreatingCredit() {
     // Arrange
@@ -127,7 +181,6 @@ class CreditRepositoryAdapterTest {
     // Arrange
     int page = 0;
     int size = 10;
-    String token = "test-token";
     Pageable pageable = PageRequest.of(page, size);
     CreditDetailDTO creditDetail = CreditDetailDTO.builder().build();
 
@@ -135,7 +188,7 @@ class CreditRepositoryAdapterTest {
             .thenReturn(Flux.just(creditDetail));
 
     // Act
-    Flux<CreditDetailDTO> result = creditRepositoryAdapter.findAllCredits(page, size, token);
+    Flux<CreditDetailDTO> result = creditRepositoryAdapter.findAllCredits(page, size);
 
     // Assert
     StepVerifier.create(result)
@@ -183,6 +236,59 @@ class CreditRepositoryAdapterTest {
     verify(creditApplicationMapper).toDto(savedCreditApplication);
   }
 
+  @Test
+  void findById_withHealthyReplica_shouldLoadCacheMissFromPrimary() {
+    // Arrange
+    ReplicaHealth replicaHealth = mock(ReplicaHealth.class);
+    when(replicaHealth.isHealthy()).thenReturn(true);
+    CreditRepositoryAdapter replicaAdapter = new CreditRepositoryAdapter(creditApplicationRepository,
+            creditApplicationMapper, creditPageReader, new CreditBatchProperties(2), creditByIdCache,
+            creditGroupCommitWriter, new ReadReplicaRouter(Optional.of(replicaHealth), new SimpleMeterRegistry()));
+    when(creditApplicationRepository.findById(1L)).thenReturn(Mono.deferContextual(context -> context.isEmpty()
+            ? Mono.just(savedCreditApplication)
+            : Mono.error(new IllegalStateException("lectura enrutada a la réplica"))));
+    when(creditApplicationMapper.toDto(savedCreditApplication)).thenReturn(creditParameters);
+
+    // Act & Assert
+    StepVerifier.create(replicaAdapter.findById(1L))
+            .expectNextMatches(response -> Constants.STATUS_SUCCESS.equals(response.getStatusResponse()))
+            .verifyComplete();
+  }
+
+  @Test
+  void findById_shouldServeRepeatedReadsFromCacheUntilStateChanges() {
+    // Arrange
+    Long id = 1L;
+    when(creditApplicationRepository.findById(id)).thenReturn(Mono.just(savedCreditApplication));
+    when(creditApplicationRepository.updateEstado(id, "APROBADO")).thenReturn(Mono.just(savedCreditApplication));
+    when(creditApplicationMapper.toDto(savedCreditApplication)).thenReturn(creditParameters);
+
+    // Act
+    creditRepositoryAdapter.findById(id).block();
+    creditRepositoryAdapter.findById(id).block();
+    creditRepositoryAdapter.updateState(id, "APROBADO").block();
+    creditRepositoryAdapter.findById(id).block();
+
+    // Assert: la segunda lectura sale del caché y la tercera vuelve a la base
+    verify(creditApplicationRepository, times(2)).findById(id);
+  }
+
+  @Test
+  void findLatestById_shouldAlwaysReadFromRepository() {
+    // Arrange
+    Long id = 1L;
+    when(creditApplicationRepository.findById(id)).thenReturn(Mono.just(savedCreditApplication));
+    when(creditApplicationMapper.toDto(savedCreditApplication)).thenReturn(creditParameters);
+
+    // Act
+    creditRepositoryAdapter.findById(id).block();
+    CreditReponse latest = creditRepositoryAdapter.findLatestById(id).block();
+
+    // Assert
+    assertEquals(creditParameters, latest.getCreditParameters());
+    verify(creditApplicationRepository, times(2)).findById(id);
+  }
+
   @Test
   void shouldHandleErrorWhenFindingById() {
     // Arrange
@@ -246,6 +352,28 @@ class CreditRepositoryAdapterTest {
     verify(creditApplicationMapper).toDto(userCreditApplication);
   }
 
+  @Test
+  void findActiveLoans_shouldMapProjectedRowsWithoutLoadingEntities() {
+    // Arrange
+    when(creditApplicationRepository.findActiveLoansByUserId(7L)).thenReturn(Flux.just(ActiveLoanRow.builder()
+            .id(3L)
+            .monto(new BigDecimal("1500000.00"))
+            .plazomeses(36)
+            .tasainteres(new BigDecimal("1.8"))
+            .build()));
+
+    // Act & Assert
+    StepVerifier.create(creditRepositoryAdapter.findActiveLoans(7L))
+            .expectNext(PrestamoActivo.builder()
+                    .prestamoId("3")
+                    .monto(1500000.0)
+                    .plazoMeses(36)
+                    .tasaInteresMensual(1.8)
+                    .build())
+            .verifyComplete();
+    verify(creditApplicationRepository, never()).findAllByUserId(any());
+  }
+
   @Test
   void shouldUpdateStateSuccessfully() {
     // Arrange
@@ -254,8 +382,7 @@ class CreditRepositoryAdapterTest {
     CreditApplication updatedCreditApplication = savedCreditApplication.toBuilder().estado(estado).build();
     CreditParameters updatedCreditParameters = creditParameters.toBuilder().estado(estado).build();
 
-    when(creditApplicationRepository.findById(id)).thenReturn(Mono.just(savedCreditApplication));
-    when(creditApplicationRepository.save(savedCreditApplication)).thenReturn(Mono.just(updatedCreditApplication));
+    when(creditApplicationRepository.updateEstado(id, estado)).thenReturn(Mono.just(updatedCreditApplication));
     when(creditApplicationMapper.toDto(updatedCreditApplication)).thenReturn(updatedCreditParameters);
 
     // Act
@@ -266,8 +393,142 @@ class CreditRepositoryAdapterTest {
             .expectNext(updatedCreditParameters)
             .verifyComplete();
 
-    verify(creditApplicationRepository).findById(id);
-    verify(creditApplicationRepository).save(savedCreditApplication);
+    verify(creditApplicationRepository).updateEstado(id, estado);
+    verify(creditApplicationRepository, never()).findById(id);
+    verify(creditApplicationRepository, never()).save(any());
     verify(creditApplicationMapper).toDto(updatedCreditApplication);
   }
-}
\ No newline at end of file
+
+  @Test
+  void updateStates_shouldSendOneUpdateWithLastChangePerId() {
+    // Arrange
+    CreditApplication updated = CreditApplication.builder().id(1L).estado("RECHAZADO").build();
+    CreditParameters updatedParameters = CreditParameters.builder().idEntidadGuardada(1L).estado("RECHAZADO").build();
+    when(creditApplicationRepository.updateEstados(Map.of(1L, "RECHAZADO", 2L, "APROBADO")))
+            .thenReturn(Flux.just(updated));
+    when(creditApplicationMapper.toDto(updated)).thenReturn(updatedParameters);
+
+    // Act
+    Flux<CreditParameters> result = creditRepositoryAdapter.updateStates(List.of(
+            CreditStateChange.builder().idSolicitud(1L).estado("APROBADO").build(),
+            CreditStateChange.builder().idSolicitud(2L).estado("APROBADO").build(),
+            CreditStateChange.builder().idSolicitud(1L).estado("RECHAZADO").build()));
+
+    // Assert
+    StepVerifier.create(result)
+            .expectNext(updatedParameters)
+            .verifyComplete();
+    verify(creditByIdCache).invalidate(1L);
+    verify(creditByIdCache).invalidate(2L);
+  }
+
+  @Test
+  void findAllCreditsByCursor_withoutCursor_shouldQueryFirstPageAndAttachCursor() {
+    // Arrange
+    CreditDetailRow row = CreditDetailRow.builder()
+            .id(7L)
+            .fechacreacion(LocalDateTime.parse("2024-03-01T08:15:30"))
+            .nombre("Ana Pérez")
+            .build();
+    when(creditApplicationRepository.findCreditDetailsFirstPage(10)).thenReturn(Flux.just(row));
+    when(creditApplicationMapper.toCreditDetail(row)).thenReturn(CreditDetailDTO.builder().nombre("Ana Pérez").build());
+
+    // Act & Assert
+    StepVerifier.create(creditRepositoryAdapter.findAllCreditsByCursor(null, 10))
+            .assertNext(detail -> assertEquals(new CreditCursor(row.getFechacreacion(), 7L),
+                    CreditCursor.decode(detail.getCursor())))
+            .verifyComplete();
+  }
+
+  @Test
+  void findAllCreditsByCursor_withCursor_shouldSeekAfterPosition() {
+    // Arrange
+    CreditCursor position = new CreditCursor(LocalDateTime.parse("2024-03-01T08:15:30.123456"), 7L);
+    when(creditApplicationRepository.findCreditDetailsAfter(position.fechaCreacion(), 7L, 10)).thenReturn(Flux.empty());
+
+    // Act & Assert
+    StepVerifier.create(creditRepositoryAdapter.findAllCreditsByCursor(position, 10))
+            .verifyComplete();
+    verify(creditApplicationRepository).findCreditDetailsAfter(position.fechaCreacion(), 7L, 10);
+  }
+
+  @Test
+  void countCredits_shouldReadMaintainedCounterAsExact() {
+    // Arrange
+    when(creditApplicationRepository.findMaintainedCreditCount()).thenReturn(Mono.just(1500L));
+
+    // Act & Assert
+    StepVerifier.create(creditRepositoryAdapter.countCredits())
+            .expectNextMatches(count -> count.getTotal() == 1500L && count.getExact())
+            .verifyComplete();
+  }
+
+  @Test
+  void countCredits_withoutCounter_shouldFallBackToEstimate() {
+    // Arrange
+    when(creditApplicationRepository.findMaintainedCreditCount())
+            .thenReturn(Mono.error(new RuntimeException("relation does not exist")));
+    when(creditApplicationRepository.estimateCreditCount()).thenReturn(Mono.just(1480L));
+
+    // Act & Assert
+    StepVerifier.create(creditRepositoryAdapter.countCredits())
+            .expectNextMatches(count -> count.getTotal() == 1480L && !count.getExact())
+            .verifyComplete();
+  }
+
+  @Test
+  void findCreditPage_shouldDelegateToPageReaderWithCount() {
+    // Arrange
+    CreditPage page = CreditPage.builder().credits(List.of()).build();
+    when(creditApplicationRepository.findMaintainedCreditCount()).thenReturn(Mono.just(3L));
+    when(creditPageReader.readPage(eq(1), eq(20), any())).thenAnswer(invocation -> {
+      Mono<CreditCount> count = invocation.getArgument(2);
+      return count.map(total -> page.toBuilder().count(total).build());
+    });
+
+    // Act & Assert
+    StepVerifier.create(creditRepositoryAdapter.findCreditPage(1, 20))
+            .expectNextMatches(result -> result.getCount().getTotal() == 3L)
+            .verifyComplete();
+  }
+
+  @Test
+  void createCredits_shouldInsertInChunksAndReportFailedChunkPerItem() {
+    // Arrange
+    CreditRepositoryAdapter batchAdapter = new CreditRepositoryAdapter(creditApplicationRepository,
+            creditApplicationMapper, creditPageReader, new CreditBatchProperties(2), creditByIdCache,
+            creditGroupCommitWriter, readReplicaRouter);
+    CreditParameters first = CreditParameters.builder().userId(1L).build();
+    CreditParameters second = CreditParameters.builder().userId(2L).build();
+    CreditParameters third = CreditParameters.builder().userId(3L).build();
+    CreditApplication firstEntity = CreditApplication.builder().userId(1L).build();
+    CreditApplication secondEntity = CreditApplication.builder().userId(2L).build();
+    CreditApplication thirdEntity = CreditApplication.builder().userId(3L).build();
+    when(creditApplicationMapper.toEntity(first)).thenReturn(firstEntity);
+    when(creditApplicationMapper.toEntity(second)).thenReturn(secondEntity);
+    when(creditApplicationMapper.toEntity(third)).thenReturn(thirdEntity);
+    when(creditApplicationRepository.insertAll(List.of(firstEntity, secondEntity))).thenReturn(Flux.just(10L, 11L));
+    when(creditApplicationRepository.insertAll(List.of(thirdEntity)))
+            .thenReturn(Flux.error(new RuntimeException("constraint")));
+
+    // Act & Assert
+    StepVerifier.create(batchAdapter.createCredits(List.of(first, second, third)))
+            .expectNextMatches(response -> response.getCreditParameters().getIdEntidadGuardada() == 10L)
+            .expectNextMatches(response -> response.getCreditParameters().getIdEntidadGuardada() == 11L
+                    && Constants.STATUS_SUCCESS.equals(response.getStatusResponse()))
+            .expectNextMatches(response -> Constants.STATUS_FAILURE.equals(response.getStatusResponse())
+                    && "constraint".equals(response.getErrorMessage()))
+            .verifyComplete();
+  }
+
+  @Test
+  void findCreditListVersion_withoutCounterTable_shouldCompleteEmpty() {
+    // Arrange
+    when(creditApplicationRepository.findCreditListVersion())
+            .thenReturn(Mono.error(new RuntimeException("column \"version\" does not exist")));
+
+    // Act & Assert
+    StepVerifier.create(creditRepositoryAdapter.findCreditListVersion())
+            .verifyComplete();
+  }
+}
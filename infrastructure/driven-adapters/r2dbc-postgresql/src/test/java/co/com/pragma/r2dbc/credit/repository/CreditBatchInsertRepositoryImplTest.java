@@ -0,0 +1,29 @@
+package co.com.pragma.r2dbc.credit.repository;
+
+import co.com.pragma.r2dbc.config.CreditBatchProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CreditBatchInsertRepositoryImplTest {
+
+  @Test
+  void insertSql_shouldBuildOneValuesTuplePerRow() {
+    // Act
+    String sql = CreditBatchInsertRepositoryImpl.insertSql(2);
+
+    // Assert
+    assertTrue(sql.startsWith("INSERT INTO crediya.solicitudes_credito"));
+    assertTrue(sql.contains("(:userId0, :monto0,"));
+    assertTrue(sql.contains("COALESCE(:fechaCreacion1, now()))"));
+    assertTrue(sql.endsWith(" RETURNING id"));
+    assertEquals(2, sql.split("COALESCE").length - 1);
+  }
+
+  @Test
+  void properties_shouldDefaultAndCapChunkSize() {
+    assertEquals(CreditBatchProperties.DEFAULT_CHUNK_SIZE, new CreditBatchProperties(null).chunkSize());
+    assertEquals(CreditBatchProperties.MAX_CHUNK_SIZE, new CreditBatchProperties(100_000).chunkSize());
+  }
+}
@@ -0,0 +1,64 @@
+package co.com.pragma.r2dbc.credit.repository;
+
+import co.com.pragma.model.credit.CreditListFilter;
+import co.com.pragma.model.credit.CreditSortField;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CreditDetailsQueryRepositoryImplTest {
+
+  @Test
+  void where_withoutCriteria_shouldBeEmpty() {
+    // Arrange
+    Map<String, Object> parameters = new LinkedHashMap<>();
+
+    // Act
+    String where = CreditDetailsQueryRepositoryImpl.where(CreditListFilter.builder().build(), parameters);
+
+    // Assert
+    assertEquals("", where);
+    assertTrue(parameters.isEmpty());
+  }
+
+  @Test
+  void where_shouldBindOnlyPresentFilters() {
+    // Arrange
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    CreditListFilter filter = CreditListFilter.builder()
+            .estadoSolicitud("PENDIENTE")
+            .fechaHasta(LocalDate.of(2025, 3, 31))
+            .montoMin(new BigDecimal("1000"))
+            .build();
+
+    // Act
+    String where = CreditDetailsQueryRepositoryImpl.where(filter, parameters);
+
+    // Assert
+    assertEquals(" WHERE sc.estado_solicitud = :estadoSolicitud AND sc.fecha_creacion < :fechaHasta"
+            + " AND sc.monto >= :montoMin", where);
+    assertEquals(LocalDate.of(2025, 4, 1).atStartOfDay(), parameters.get("fechaHasta"));
+    assertEquals(3, parameters.size());
+  }
+
+  @Test
+  void orderBy_shouldDefaultToNewestFirst() {
+    assertEquals("sc.fecha_creacion DESC, sc.id DESC",
+            CreditDetailsQueryRepositoryImpl.orderBy(CreditListFilter.builder().build()));
+  }
+
+  @Test
+  void orderBy_shouldUseWhitelistedColumnAndDirection() {
+    // Arrange
+    CreditListFilter filter = CreditListFilter.builder().sortBy(CreditSortField.MONTO).ascending(true).build();
+
+    // Act & Assert
+    assertEquals("sc.monto ASC, sc.id ASC", CreditDetailsQueryRepositoryImpl.orderBy(filter));
+  }
+}
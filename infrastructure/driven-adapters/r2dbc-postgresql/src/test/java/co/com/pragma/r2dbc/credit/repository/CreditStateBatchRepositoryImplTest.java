@@ -0,0 +1,21 @@
+package co.com.pragma.r2dbc.credit.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CreditStateBatchRepositoryImplTest {
+
+  @Test
+  void updateSql_shouldBuildOneValuesTuplePerChange() {
+    // Act
+    String sql = CreditStateBatchRepositoryImpl.updateSql(2);
+
+    // Assert
+    assertTrue(sql.startsWith("UPDATE crediya.solicitudes_credito sc SET estado = v.estado"));
+    assertTrue(sql.contains("(CAST(:id0 AS BIGINT), CAST(:estado0 AS VARCHAR)), (CAST(:id1 AS BIGINT)"));
+    assertTrue(sql.endsWith("AS v(id, estado) WHERE sc.id = v.id RETURNING sc.*"));
+    assertEquals(2, sql.split("AS BIGINT").length - 1);
+  }
+}
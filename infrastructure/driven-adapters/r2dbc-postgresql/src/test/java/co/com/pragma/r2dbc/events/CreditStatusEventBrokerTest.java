@@ -0,0 +1,72 @@
+package co.com.pragma.r2dbc.events;
+
+import co.com.pragma.model.credit.CreditStatusEvent;
+import co.com.pragma.r2dbc.config.CreditEventsProperties;
+import co.com.pragma.r2dbc.utils.Constants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class CreditStatusEventBrokerTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private DatabaseClient databaseClient;
+  private CreditStatusEventBroker broker;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    databaseClient = mock(DatabaseClient.class);
+    broker = new CreditStatusEventBroker(new CreditEventsProperties(false, null, 2), databaseClient,
+            mock(ConnectionFactory.class), new ObjectMapper(), meterRegistry);
+  }
+
+  private CreditStatusEvent event(long id) {
+    return CreditStatusEvent.builder().idSolicitud(id).estado("APROBADO").build();
+  }
+
+  @Test
+  void publish_withoutNotify_shouldDeliverToEverySubscriber() {
+    // Act & Assert: dos suscriptores reciben el mismo evento sin pasar por la base de datos
+    StepVerifier.create(Flux.merge(broker.events().take(1), broker.events().take(1)))
+            .then(() -> broker.publish(event(1)).block())
+            .expectNextMatches(e -> e.getIdSolicitud() == 1L)
+            .expectNextMatches(e -> e.getIdSolicitud() == 1L)
+            .verifyComplete();
+    verifyNoInteractions(databaseClient);
+  }
+
+  @Test
+  void events_slowSubscriber_shouldKeepNewestWithinBuffer() {
+    // Arrange
+    StepVerifier.FirstStep<CreditStatusEvent> slow = StepVerifier.create(broker.events(), 0);
+
+    // Act & Assert
+    slow.then(() -> {
+              broker.deliver(event(1));
+              broker.deliver(event(2));
+              broker.deliver(event(3));
+            })
+            .thenRequest(2)
+            .expectNextMatches(e -> e.getIdSolicitud() == 2L)
+            .expectNextMatches(e -> e.getIdSolicitud() == 3L)
+            .thenCancel()
+            .verify();
+    assertEquals(1.0, meterRegistry.get(Constants.CREDIT_EVENTS_DROPPED_COUNTER).counter().count());
+  }
+
+  @Test
+  void properties_shouldRejectUnsafeChannel() {
+    assertThrows(IllegalArgumentException.class, () -> new CreditEventsProperties(true, "x; DROP TABLE y", 1));
+  }
+}
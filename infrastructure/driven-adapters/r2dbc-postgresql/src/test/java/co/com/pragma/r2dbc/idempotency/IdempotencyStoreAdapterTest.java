@@ -0,0 +1,138 @@
+package co.com.pragma.r2dbc.idempotency;
+
+import co.com.pragma.model.credit.CreditReponse;
+import co.com.pragma.model.idempotency.IdempotencyConflictException;
+import co.com.pragma.r2dbc.config.IdempotencyProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyStoreAdapterTest {
+
+  private static final String KEY = "1:key-1";
+  private static final String FINGERPRINT = "abc";
+
+  private DatabaseClient databaseClient;
+  private RowsFetchSpec<Object> reserveRows;
+  private RowsFetchSpec<Object> findRows;
+  private DatabaseClient.GenericExecuteSpec complete;
+  private DatabaseClient.GenericExecuteSpec release;
+  private IdempotencyStoreAdapter adapter;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    databaseClient = mock(DatabaseClient.class);
+    DatabaseClient.GenericExecuteSpec reserve = statement("INSERT INTO crediya.idempotency_keys");
+    reserveRows = mock(RowsFetchSpec.class);
+    when(reserve.map(any(BiFunction.class))).thenReturn(reserveRows);
+    when(reserveRows.one()).thenReturn(Mono.just(KEY));
+    DatabaseClient.GenericExecuteSpec find = statement("SELECT fingerprint");
+    findRows = mock(RowsFetchSpec.class);
+    when(find.map(any(BiFunction.class))).thenReturn(findRows);
+    complete = statement("UPDATE crediya.idempotency_keys");
+    when(complete.then()).thenReturn(Mono.empty());
+    release = statement("DELETE FROM crediya.idempotency_keys");
+    when(release.then()).thenReturn(Mono.empty());
+    adapter = new IdempotencyStoreAdapter(databaseClient, new ObjectMapper(),
+            new IdempotencyProperties(null, Duration.ofMillis(200), Duration.ofMillis(10), null));
+  }
+
+  private DatabaseClient.GenericExecuteSpec statement(String sqlFragment) {
+    DatabaseClient.GenericExecuteSpec spec = mock(DatabaseClient.GenericExecuteSpec.class);
+    when(databaseClient.sql(contains(sqlFragment))).thenReturn(spec);
+    when(spec.bind(anyString(), any())).thenReturn(spec);
+    return spec;
+  }
+
+  private CreditReponse response() {
+    return CreditReponse.builder().statusResponse("OK").build();
+  }
+
+  @Test
+  void execute_concurrentDuplicates_shouldRunActionOnce() {
+    // Arrange
+    AtomicInteger executions = new AtomicInteger();
+    Mono<CreditReponse> action = Mono.delay(Duration.ofMillis(50))
+            .map(tick -> response())
+            .doOnSubscribe(subscription -> executions.incrementAndGet());
+
+    // Act & Assert
+    StepVerifier.create(Mono.zip(
+                    adapter.execute(KEY, FINGERPRINT, CreditReponse.class, action),
+                    adapter.execute(KEY, FINGERPRINT, CreditReponse.class, action)))
+            .assertNext(pair -> {
+              assertEquals("OK", pair.getT1().getStatusResponse());
+              assertEquals("OK", pair.getT2().getStatusResponse());
+            })
+            .verifyComplete();
+    assertEquals(1, executions.get());
+    verify(complete).then();
+  }
+
+  @Test
+  void execute_completedKey_shouldReplayWithoutDatabase() {
+    // Arrange
+    adapter.execute(KEY, FINGERPRINT, CreditReponse.class, Mono.just(response())).block();
+
+    // Act & Assert
+    StepVerifier.create(adapter.execute(KEY, FINGERPRINT, CreditReponse.class, Mono.error(new IllegalStateException())))
+            .expectNextMatches(replayed -> "OK".equals(replayed.getStatusResponse()))
+            .verifyComplete();
+    verify(reserveRows, times(1)).one();
+  }
+
+  @Test
+  void execute_sameKeyDifferentBody_shouldFailWithKeyReused() {
+    // Arrange
+    adapter.execute(KEY, FINGERPRINT, CreditReponse.class, Mono.just(response())).block();
+
+    // Act & Assert
+    StepVerifier.create(adapter.execute(KEY, "otro", CreditReponse.class, Mono.just(response())))
+            .expectErrorMatches(e -> e instanceof IdempotencyConflictException conflict
+                    && conflict.getReason() == IdempotencyConflictException.Reason.KEY_REUSED)
+            .verify();
+  }
+
+  @Test
+  void execute_ownerReleasedKey_shouldReserveAgainInsteadOfWaiting() {
+    // Arrange
+    when(reserveRows.one()).thenReturn(Mono.empty(), Mono.just(KEY));
+    when(findRows.one()).thenReturn(Mono.empty());
+
+    // Act & Assert
+    StepVerifier.create(adapter.execute(KEY, FINGERPRINT, CreditReponse.class, Mono.just(response())))
+            .expectNextMatches(result -> "OK".equals(result.getStatusResponse()))
+            .verifyComplete();
+    verify(reserveRows, times(2)).one();
+    verify(complete).then();
+  }
+
+  @Test
+  void execute_actionFails_shouldReleaseKey() {
+    // Act & Assert
+    StepVerifier.create(adapter.execute(KEY, FINGERPRINT, CreditReponse.class, Mono.error(new IllegalStateException("db"))))
+            .expectError(IllegalStateException.class)
+            .verify();
+    verify(release).then();
+    verify(complete, never()).then();
+  }
+}
@@ -1,6 +1,7 @@
 package co.com.pragma.r2dbc.jwt;
 
 import co.com.pragma.model.gateway.JwtProvider;
+import co.com.pragma.model.token.TokenClaims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -17,13 +18,15 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class JwtProviderImplTest {
 
+  private static final String TEST_SECRET = "ClaveSuperSecretaDePruebaQueDebeTenerAlMenos256Bits!";
+
   private JwtProvider jwtProvider;
   private final Key testSecretKey = Keys.hmacShaKeyFor("ClaveSuperSecretaDeJWTQueDebeTenerAlMenos256Bits!".getBytes());
+  private final Key providerSecretKey = Keys.hmacShaKeyFor(TEST_SECRET.getBytes());
 
   @BeforeEach
   void setUp() {
-    String testSecret = "ClaveSuperSecretaDePruebaQueDebeTenerAlMenos256Bits!";
-    jwtProvider = new JwtProviderImpl(testSecret);
+    jwtProvider = new JwtProviderImpl(TEST_SECRET);
   }
 
   private String generateValidToken(String userId, String roles) {
@@ -225,4 +228,69 @@ class JwtProviderImplTest {
     String invalidToken = generateInvalidToken();
     assertThrows(RuntimeException.class, () -> jwtProvider.getSalarioFromToken(invalidToken));
   }
-}
\ No newline at end of file
+
+  @Test
+  @DisplayName("Debería extraer todos los claims del token en un solo parseo")
+  void getClaimsFromToken_withValidToken_shouldReturnAllClaims() {
+    // Arrange
+    String email = "usuario@correo.com";
+    long now = System.currentTimeMillis();
+    Date expiration = new Date(now + 3600000);
+    String token = Jwts.builder()
+            .setSubject("user123")
+            .claim("objectId", "42")
+            .claim("roles", "CLIENTE, ASESOR")
+            .claim("correoElectronico", Base64.getEncoder().encodeToString(email.getBytes()))
+            .claim("salarioBase", 12345.67)
+            .setIssuedAt(new Date(now))
+            .setExpiration(expiration)
+            .signWith(providerSecretKey, SignatureAlgorithm.HS256)
+            .compact();
+
+    // Act
+    TokenClaims claims = jwtProvider.getClaimsFromToken("Bearer " + token);
+
+    // Assert
+    assertEquals("42", claims.getUserId());
+    assertEquals(List.of("CLIENTE", "ASESOR"), claims.getRoles());
+    assertEquals(email, claims.getEmail());
+    assertEquals(12345.67, claims.getSalarioBase());
+    assertEquals(expiration.getTime() / 1000, claims.getExpiration().getEpochSecond());
+  }
+
+  @Test
+  @DisplayName("Debería lanzar RuntimeException al extraer claims de un token inválido")
+  void getClaimsFromToken_withInvalidToken_shouldThrowRuntimeException() {
+    String invalidToken = generateInvalidToken();
+    assertThrows(RuntimeException.class, () -> jwtProvider.getClaimsFromToken(invalidToken));
+  }
+
+  @Test
+  @DisplayName("Debería reutilizar los claims y la lista de roles para tokens con los mismos roles")
+  void getClaimsFromToken_sameRoles_shouldShareInstances() {
+    // Arrange
+    long now = System.currentTimeMillis();
+    String firstToken = Jwts.builder()
+            .claim("objectId", "1")
+            .claim("roles", "CLIENTE")
+            .setExpiration(new Date(now + 3600000))
+            .signWith(providerSecretKey, SignatureAlgorithm.HS256)
+            .compact();
+    String secondToken = Jwts.builder()
+            .claim("objectId", "2")
+            .claim("roles", "CLIENTE")
+            .setExpiration(new Date(now + 3600000))
+            .signWith(providerSecretKey, SignatureAlgorithm.HS256)
+            .compact();
+
+    // Act
+    TokenClaims first = jwtProvider.getClaimsFromToken(firstToken);
+    TokenClaims firstAgain = jwtProvider.getClaimsFromToken(firstToken);
+    TokenClaims second = jwtProvider.getClaimsFromToken(secondToken);
+
+    // Assert
+    assertSame(first, firstAgain);
+    assertSame(first.getRoles(), second.getRoles());
+    assertThrows(UnsupportedOperationException.class, () -> first.getRoles().add("ADMIN"));
+  }
+}
@@ -0,0 +1,113 @@
+package co.com.pragma.r2dbc.jwt;
+
+import co.com.pragma.model.token.TokenClaims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedClaimsCacheTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private VerifiedClaimsCache cache;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    cache = new VerifiedClaimsCache(100, Duration.ofHours(1), meterRegistry);
+  }
+
+  private TokenClaims claimsExpiringIn(long millis) {
+    return TokenClaims.builder()
+            .userId("user123")
+            .expiration(Instant.now().plusMillis(millis))
+            .build();
+  }
+
+  @Test
+  void get_sameToken_shouldVerifyOnlyOnce() {
+    // Arrange
+    AtomicInteger verifications = new AtomicInteger();
+    TokenClaims claims = claimsExpiringIn(3600000);
+    Function<String, TokenClaims> verifier = token -> {
+      verifications.incrementAndGet();
+      return claims;
+    };
+
+    // Act
+    TokenClaims first = cache.get("token", verifier);
+    TokenClaims second = cache.get("token", verifier);
+
+    // Assert
+    assertSame(claims, first);
+    assertSame(claims, second);
+    assertEquals(1, verifications.get());
+    assertEquals(1, cache.size());
+    assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", "hit")
+            .functionCounter().count());
+  }
+
+  @Test
+  void contains_shouldOnlyReportVerifiedTokens() {
+    // Arrange
+    cache.get("token", token -> claimsExpiringIn(3600000));
+
+    // Act & Assert
+    assertTrue(cache.contains("token"));
+    assertFalse(cache.contains("other"));
+  }
+
+  @Test
+  void get_invalidSignature_shouldNotBeCached() {
+    // Arrange
+    AtomicInteger verifications = new AtomicInteger();
+    Function<String, TokenClaims> verifier = token -> {
+      verifications.incrementAndGet();
+      throw new SignatureException("firma inválida");
+    };
+
+    // Act & Assert
+    assertThrows(SignatureException.class, () -> cache.get("token", verifier));
+    assertThrows(SignatureException.class, () -> cache.get("token", verifier));
+    assertEquals(2, verifications.get());
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void get_expiredClaims_shouldVerifyAgain() {
+    // Arrange
+    TokenClaims expired = claimsExpiringIn(-1000);
+    AtomicInteger verifications = new AtomicInteger();
+    Function<String, TokenClaims> verifier = token -> {
+      if (verifications.incrementAndGet() > 1) {
+        throw new ExpiredJwtException(null, null, "token expirado");
+      }
+      return expired;
+    };
+
+    // Act
+    assertThrows(ExpiredJwtException.class, () -> cache.get("token", verifier));
+
+    // Assert
+    assertEquals(2, verifications.get());
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void get_blankToken_shouldDelegateToVerifier() {
+    Function<String, TokenClaims> verifier = token -> {
+      throw new IllegalArgumentException("token vacío");
+    };
+
+    assertThrows(IllegalArgumentException.class, () -> cache.get(null, verifier));
+    assertEquals(0, cache.size());
+  }
+}
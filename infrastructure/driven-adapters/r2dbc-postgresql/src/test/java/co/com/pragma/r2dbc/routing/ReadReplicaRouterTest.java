@@ -0,0 +1,98 @@
+package co.com.pragma.r2dbc.routing;
+
+import co.com.pragma.r2dbc.utils.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReadReplicaRouterTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private ReplicaHealth replicaHealth;
+  private ReadReplicaRouter router;
+
+  @BeforeEach
+  void setUp() {
+    replicaHealth = mock(ReplicaHealth.class);
+    router = new ReadReplicaRouter(Optional.of(replicaHealth), meterRegistry);
+  }
+
+  @Test
+  void read_withHealthyReplica_shouldMarkReadForReplica() {
+    // Arrange
+    when(replicaHealth.isHealthy()).thenReturn(true);
+
+    // Act & Assert
+    StepVerifier.create(router.read(target()))
+            .expectNext(ReadReplicaRouter.Target.REPLICA)
+            .verifyComplete();
+  }
+
+  @Test
+  void read_withUnhealthyReplica_shouldStayOnPrimary() {
+    // Arrange
+    when(replicaHealth.isHealthy()).thenReturn(false);
+
+    // Act & Assert
+    StepVerifier.create(router.read(target()))
+            .expectNext(ReadReplicaRouter.Target.PRIMARY)
+            .verifyComplete();
+  }
+
+  @Test
+  void read_withoutReplica_shouldReturnSourceUnchanged() {
+    // Arrange
+    ReadReplicaRouter withoutReplica = new ReadReplicaRouter(Optional.empty(), meterRegistry);
+    Mono<ReadReplicaRouter.Target> source = target();
+
+    // Act & Assert
+    assertEquals(source, withoutReplica.read(source));
+  }
+
+  @Test
+  void read_whenReplicaIsUnavailable_shouldRetryOnPrimaryAndMarkItDown() {
+    // Arrange
+    when(replicaHealth.isHealthy()).thenReturn(true);
+    AtomicInteger attempts = new AtomicInteger();
+    Flux<String> source = Flux.deferContextual(context -> attempts.getAndIncrement() == 0
+            ? Flux.error(new R2dbcNonTransientResourceException("connection refused"))
+            : Flux.just("primario"));
+
+    // Act & Assert
+    StepVerifier.create(router.read(source))
+            .expectNext("primario")
+            .verifyComplete();
+    verify(replicaHealth).markUnhealthy(any());
+    assertEquals(1.0, meterRegistry.get(Constants.DB_REPLICA_FALLBACK_COUNTER).counter().count());
+  }
+
+  @Test
+  void read_whenQueryFails_shouldPropagateWithoutFallback() {
+    // Arrange
+    when(replicaHealth.isHealthy()).thenReturn(true);
+
+    // Act & Assert
+    StepVerifier.create(router.read(Mono.error(new IllegalArgumentException("cursor"))))
+            .verifyErrorMessage("cursor");
+    verify(replicaHealth, never()).markUnhealthy(any());
+  }
+
+  private Mono<ReadReplicaRouter.Target> target() {
+    return Mono.deferContextual(context -> Mono.just(
+            context.getOrDefault(ReadReplicaRouter.TARGET_KEY, ReadReplicaRouter.Target.PRIMARY)));
+  }
+}
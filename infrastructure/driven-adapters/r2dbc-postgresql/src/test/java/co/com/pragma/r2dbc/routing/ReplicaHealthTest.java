@@ -0,0 +1,62 @@
+package co.com.pragma.r2dbc.routing;
+
+import co.com.pragma.r2dbc.config.ReplicaProperties;
+import co.com.pragma.r2dbc.utils.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class ReplicaHealthTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private ReplicaHealth replicaHealth;
+
+  @BeforeEach
+  void setUp() {
+    ConnectionFactory replica = mock(ConnectionFactory.class);
+    doReturn(Mono.error(new R2dbcNonTransientResourceException("down"))).when(replica).create();
+    ReplicaProperties properties = new ReplicaProperties(true, "replica", null, null, null, null, null,
+            Duration.ofSeconds(5), Duration.ofHours(1), null, null);
+    replicaHealth = new ReplicaHealth(replica, properties, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    replicaHealth.destroy();
+  }
+
+  @Test
+  void update_shouldBeHealthyOnlyWithinMaxLag() {
+    // Act & Assert
+    replicaHealth.update(1.5);
+    assertTrue(replicaHealth.isHealthy());
+    assertEquals(1.5, meterRegistry.get(Constants.DB_REPLICA_LAG).gauge().value());
+
+    replicaHealth.update(7.0);
+    assertFalse(replicaHealth.isHealthy());
+    assertEquals(0.0, meterRegistry.get(Constants.DB_REPLICA_HEALTHY).gauge().value());
+  }
+
+  @Test
+  void check_whenReplicaIsDown_shouldMarkItUnhealthy() {
+    // Arrange
+    replicaHealth.update(0.0);
+
+    // Act & Assert
+    StepVerifier.create(replicaHealth.check()).verifyComplete();
+    assertFalse(replicaHealth.isHealthy());
+  }
+}
@@ -0,0 +1,72 @@
+package co.com.pragma.api.credit;
+
+import co.com.pragma.api.utils.Constants;
+import co.com.pragma.model.credit.CreditStatusEvent;
+import co.com.pragma.model.token.TokenClaims;
+import co.com.pragma.usecase.CreditStatusStreamUseCase;
+import co.com.pragma.usecase.exceptions.NotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Cambios de estado en text/event-stream. Se intercala un comentario periódico para que
+ * proxies y balanceadores no corten la conexión cuando no hay cambios. Los eventos no llevan id:
+ * no hay reanudación por Last-Event-ID y el id de la solicitud se repetiría en cada cambio.
+ */
+@Component
+@RequiredArgsConstructor
+public class CreditEventsHandler {
+
+  private static final ParameterizedTypeReference<ServerSentEvent<CreditStatusEvent>> EVENT_TYPE =
+          new ParameterizedTypeReference<>() {
+          };
+
+  private final CreditStatusStreamUseCase creditStatusStreamUseCase;
+
+  public Mono<ServerResponse> streamUserEvents(ServerRequest request) {
+    return tokenClaims(request)
+            .flatMap(claims -> toEventStream(creditStatusStreamUseCase.streamByUser(claims)))
+            .onErrorResume(error -> ServerResponse.status(500)
+                    .bodyValue(Constants.ERROR_STATUS_EVENTS + error.getMessage()));
+  }
+
+  public Mono<ServerResponse> streamSolicitudEvents(ServerRequest request) {
+    Long id = Long.valueOf(request.pathVariable(Constants.ID));
+    return tokenClaims(request)
+            .flatMap(claims -> creditStatusStreamUseCase.currentStatus(id, claims)
+                    .flatMap(authorized -> toEventStream(creditStatusStreamUseCase.streamBySolicitud(id, claims))))
+            .onErrorResume(error -> error instanceof NotFoundException
+                    ? ServerResponse.status(404).bodyValue(error.getMessage())
+                    : ServerResponse.status(500).bodyValue(Constants.ERROR_STATUS_EVENTS + error.getMessage()));
+  }
+
+  private Mono<ServerResponse> toEventStream(Flux<CreditStatusEvent> events) {
+    Flux<ServerSentEvent<CreditStatusEvent>> statusEvents = events
+            .map(event -> ServerSentEvent.builder(event)
+                    .event(Constants.STATUS_EVENT_NAME)
+                    .build());
+    Flux<ServerSentEvent<CreditStatusEvent>> heartbeats = Flux
+            .interval(Duration.ofSeconds(Constants.STATUS_EVENTS_HEARTBEAT_SECONDS))
+            .map(tick -> ServerSentEvent.<CreditStatusEvent>builder().comment(Constants.STATUS_EVENTS_HEARTBEAT).build());
+
+    return ServerResponse.ok()
+            .contentType(MediaType.TEXT_EVENT_STREAM)
+            .body(statusEvents.publish(shared -> Flux.merge(shared, heartbeats.takeUntilOther(shared.then()))),
+                    EVENT_TYPE);
+  }
+
+  private Mono<TokenClaims> tokenClaims(ServerRequest request) {
+    return Mono.justOrEmpty(request.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE))
+            .cast(TokenClaims.class)
+            .switchIfEmpty(Mono.error(new IllegalStateException(Constants.TOKEN_ERROR)));
+  }
+}
@@ -0,0 +1,80 @@
+package co.com.pragma.api.credit;
+
+import co.com.pragma.api.utils.Constants;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springdoc.core.annotations.RouterOperation;
+import org.springdoc.core.annotations.RouterOperations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Component
+public class CreditEventsRouterRest {
+
+  @Bean
+  @RouterOperations({
+          @RouterOperation(
+                  path = "/api/v1/solicitud/eventos",
+                  beanClass = CreditEventsHandler.class,
+                  beanMethod = "streamUserEvents",
+                  operation = @Operation(
+                          operationId = "streamUserEvents",
+                          summary = "Cambios de estado de mis solicitudes",
+                          description = "Transmite en text/event-stream cada cambio de estado de las solicitudes "
+                                  + "del usuario del token",
+                          responses = {
+                                  @ApiResponse(
+                                          responseCode = "200",
+                                          description = "Flujo de eventos 'estado'",
+                                          content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)
+                                  )
+                          }
+                  )
+          ),
+          @RouterOperation(
+                  path = "/api/v1/solicitud/{id}/eventos",
+                  beanClass = CreditEventsHandler.class,
+                  beanMethod = "streamSolicitudEvents",
+                  operation = @Operation(
+                          operationId = "streamSolicitudEvents",
+                          summary = "Cambios de estado de una solicitud",
+                          description = "Envía el estado actual y luego cada cambio de la solicitud. "
+                                  + "Disponible para el dueño de la solicitud o un asesor",
+                          parameters = {
+                                  @Parameter(
+                                          in = ParameterIn.PATH,
+                                          name = "id",
+                                          description = "ID de la solicitud",
+                                          required = true,
+                                          schema = @Schema(implementation = Long.class)
+                                  )
+                          },
+                          responses = {
+                                  @ApiResponse(
+                                          responseCode = "200",
+                                          description = "Flujo de eventos 'estado'",
+                                          content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)
+                                  ),
+                                  @ApiResponse(
+                                          responseCode = "404",
+                                          description = "Solicitud no encontrada"
+                                  )
+                          }
+                  )
+          )
+  })
+  public RouterFunction<ServerResponse> creditEventsRouterFunction(CreditEventsHandler handler) {
+    return route(GET(Constants.STATUS_EVENTS_PATH), handler::streamUserEvents)
+            .andRoute(GET(Constants.SOLICITUD_STATUS_EVENTS_PATH), handler::streamSolicitudEvents);
+  }
+}
@@ -2,18 +2,39 @@ package co.com.pragma.api.credit;
 
 import co.com.pragma.api.utils.Constants;
 import co.com.pragma.model.credit.CreditApproved;
+import co.com.pragma.model.credit.CreditCursor;
+import co.com.pragma.model.credit.CreditDetailDTO;
+import co.com.pragma.model.credit.CreditListFilter;
+import co.com.pragma.model.credit.CreditListResponse;
+import co.com.pragma.model.credit.CreditSortField;
 import co.com.pragma.model.credit.CreditParameters;
+import co.com.pragma.model.credit.CreditReponse;
+import co.com.pragma.model.idempotency.IdempotencyConflictException;
+import co.com.pragma.model.token.TokenClaims;
 import co.com.pragma.usecase.CalculateDebtCapacityUseCase;
 import co.com.pragma.usecase.CreateCreditUseCase;
 import co.com.pragma.usecase.CreditListUseCase;
+import co.com.pragma.usecase.FindCreditUseCase;
 import co.com.pragma.usecase.UpdateCreditUseCase;
 import co.com.pragma.usecase.exceptions.NotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
 @Component
 @RequiredArgsConstructor
 public class CreditHandler {
@@ -22,34 +43,176 @@ public class CreditHandler {
   private final CreditListUseCase creditListUseCase;
   private final UpdateCreditUseCase updateCreditUseCase;
   private final CalculateDebtCapacityUseCase calculateDebtCapacityUseCase;
+  private final FindCreditUseCase findCreditUseCase;
 
+  /**
+   * Con el header Idempotency-Key, un reintento con la misma clave y el mismo cuerpo devuelve la
+   * respuesta original; con otro cuerpo responde 422 y, si la primera sigue en curso, 409.
+   */
   public Mono<ServerResponse> createCredit(ServerRequest request) {
-    String token = request.headers().firstHeader(Constants.HEADER_AUTHORIZATION);
-
-    return request.bodyToMono(CreditParameters.class)
-            .flatMap(creditParams -> createCreditUseCase.createCredit(creditParams, token))
+    String idempotencyKey = request.headers().firstHeader(Constants.HEADER_IDEMPOTENCY_KEY);
+    if (idempotencyKey != null && (idempotencyKey.isBlank()
+            || idempotencyKey.length() > Constants.MAX_IDEMPOTENCY_KEY_LENGTH)) {
+      return ServerResponse.badRequest().bodyValue(Constants.ERROR_INVALID_IDEMPOTENCY_KEY);
+    }
+    return tokenClaims(request)
+            .flatMap(claims -> request.bodyToMono(CreditParameters.class)
+                    .flatMap(creditParams -> createCreditUseCase.createCredit(creditParams, claims, idempotencyKey)))
             .flatMap(credit -> ServerResponse.ok().bodyValue(credit))
+            .onErrorResume(error -> {
+              if (error instanceof IdempotencyConflictException conflict) {
+                return ServerResponse.status(conflict.getReason() == IdempotencyConflictException.Reason.KEY_REUSED
+                                ? HttpStatus.UNPROCESSABLE_ENTITY : HttpStatus.CONFLICT)
+                        .bodyValue(conflict.getMessage());
+              }
+              return ServerResponse.status(500)
+                      .bodyValue(Constants.ERROR_CREATE_CREDIT + error.getMessage());
+            });
+  }
+
+  /**
+   * Acepta un arreglo JSON o un flujo NDJSON; en ambos casos el cuerpo se decodifica elemento a
+   * elemento y se responde en NDJSON con un resultado por solicitud, en el mismo orden.
+   */
+  public Mono<ServerResponse> createCredits(ServerRequest request) {
+    return tokenClaims(request)
+            .flatMap(claims -> ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(createCreditUseCase.createCredits(request.bodyToFlux(CreditParameters.class), claims),
+                            CreditReponse.class))
             .onErrorResume(error -> ServerResponse.status(500)
                     .bodyValue(Constants.ERROR_CREATE_CREDIT + error.getMessage()));
   }
 
   public Mono<ServerResponse> getCreditsList(ServerRequest request) {
-    String token = request.headers().firstHeader(Constants.HEADER_AUTHORIZATION);
     int page = Integer.parseInt(request.queryParam(Constants.PAGE).orElse(Constants.DEFAULT_PAGE));
     int size = Integer.parseInt(request.queryParam(Constants.SIZE).orElse(Constants.DEFAULT_SIZE));
+    CreditListFilter filter;
+    try {
+      filter = creditListFilter(request);
+    } catch (DateTimeParseException | IllegalArgumentException e) {
+      return ServerResponse.badRequest().bodyValue(Constants.ERROR_INVALID_FILTER + e.getMessage());
+    }
+    Optional<CreditCursor> cursor;
+    try {
+      cursor = request.queryParam(Constants.CURSOR)
+              .filter(position -> !position.isBlank())
+              .map(CreditCursor::decode);
+    } catch (IllegalArgumentException e) {
+      return ServerResponse.badRequest().bodyValue(e.getMessage());
+    }
+
+    boolean ndjson = acceptsNdjson(request);
+    if (filter.hasCriteria() && (cursor.isPresent() || ndjson)) {
+      return ServerResponse.badRequest().bodyValue(Constants.ERROR_FILTER_NOT_SUPPORTED);
+    }
+
+    return tokenClaims(request)
+            .flatMap(claims -> creditListUseCase.getCreditListVersion()
+                    .map(version -> toEtag(version, ndjson))
+                    .flatMap(etag -> isNotModified(request, etag)
+                            ? ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build()
+                            : listCredits(filter, page, size, cursor, claims, ndjson, etag))
+                    .switchIfEmpty(Mono.defer(() -> listCredits(filter, page, size, cursor, claims, ndjson, null))))
+            .onErrorResume(error -> ServerResponse.status(500)
+                    .bodyValue(Constants.ERROR_GET_CREDITS + error.getMessage()));
+  }
+
+  private Mono<ServerResponse> listCredits(CreditListFilter filter, int page, int size, Optional<CreditCursor> cursor,
+                                           TokenClaims claims, boolean ndjson, String etag) {
+    if (filter.hasCriteria()) {
+      return toListResponse(creditListUseCase.getCreditsList(filter, page, size, claims), etag);
+    }
+    if (ndjson) {
+      return streamCreditsList(cursor
+              .map(position -> creditListUseCase.streamCreditsByCursor(position, size, claims))
+              .orElseGet(() -> creditListUseCase.streamCredits(page, size, claims)), etag);
+    }
+    return toListResponse(cursor
+            .map(position -> creditListUseCase.getCreditsListByCursor(position, size, claims))
+            .orElseGet(() -> creditListUseCase.getCreditsList(page, size, claims)), etag);
+  }
+
+  /**
+   * La versión se lee antes que la página, así que el ETag nunca es más nuevo que el cuerpo:
+   * si hay una escritura entre ambas lecturas, el siguiente If-None-Match simplemente no coincide.
+   */
+  private static String toEtag(Long version, boolean ndjson) {
+    return "W/\"" + version + (ndjson ? Constants.NDJSON_ETAG_SUFFIX : "") + "\"";
+  }
+
+  private static boolean isNotModified(ServerRequest request, String etag) {
+    String opaqueTag = etag.substring(2);
+    return request.headers().header(HttpHeaders.IF_NONE_MATCH).stream()
+            .flatMap(value -> Arrays.stream(value.split(",")))
+            .map(String::trim)
+            .anyMatch(candidate -> "*".equals(candidate) || opaqueTag.equals(candidate.startsWith("W/")
+                    ? candidate.substring(2) : candidate));
+  }
+
+  private static ServerResponse.BodyBuilder ok(String etag) {
+    ServerResponse.BodyBuilder builder = ServerResponse.ok();
+    return etag == null ? builder : builder.eTag(etag).cacheControl(CacheControl.noCache());
+  }
 
-    return creditListUseCase.getCreditsList(page, size, token)
+  private Mono<ServerResponse> toListResponse(Flux<CreditListResponse> responses, String etag) {
+    return responses
             .collectList()
-            .flatMap(list -> ServerResponse.ok().bodyValue(list))
+            .flatMap(list -> ok(etag).bodyValue(list))
+            .onErrorResume(error -> ServerResponse.status(500)
+                    .bodyValue(Constants.ERROR_GET_CREDITS + error.getMessage()));
+  }
+
+  private CreditListFilter creditListFilter(ServerRequest request) {
+    String[] sort = request.queryParam(Constants.SORT).map(value -> value.split(",")).orElse(new String[0]);
+    return CreditListFilter.builder()
+            .estado(request.queryParam(Constants.ESTADO).orElse(null))
+            .estadoSolicitud(request.queryParam(Constants.ESTADO_SOLICITUD).orElse(null))
+            .tipoCredito(request.queryParam(Constants.TIPO_CREDITO).map(Long::valueOf).orElse(null))
+            .fechaDesde(request.queryParam(Constants.FECHA_DESDE).map(LocalDate::parse).orElse(null))
+            .fechaHasta(request.queryParam(Constants.FECHA_HASTA).map(LocalDate::parse).orElse(null))
+            .montoMin(request.queryParam(Constants.MONTO_MIN).map(BigDecimal::new).orElse(null))
+            .montoMax(request.queryParam(Constants.MONTO_MAX).map(BigDecimal::new).orElse(null))
+            .sortBy(sort.length > 0 ? CreditSortField.valueOf(sort[0].trim().toUpperCase(Locale.ROOT)) : null)
+            .ascending(sort.length > 1 ? Constants.SORT_ASC.equalsIgnoreCase(sort[1].trim()) : null)
+            .build();
+  }
+
+  private Mono<ServerResponse> streamCreditsList(Flux<CreditDetailDTO> credits, String etag) {
+    return creditListUseCase.countCredits()
+            .flatMap(count -> ok(etag)
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .header(Constants.TOTAL_COUNT_HEADER, String.valueOf(count.getTotal()))
+                    .header(Constants.TOTAL_COUNT_EXACT_HEADER, String.valueOf(count.getExact()))
+                    .body(credits, CreditDetailDTO.class))
             .onErrorResume(error -> ServerResponse.status(500)
                     .bodyValue(Constants.ERROR_GET_CREDITS + error.getMessage()));
   }
 
+  private boolean acceptsNdjson(ServerRequest request) {
+    return request.headers().accept().stream()
+            .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+  }
+
+  public Mono<ServerResponse> getCredit(ServerRequest request) {
+    Long id = Long.valueOf(request.pathVariable(Constants.ID));
+    return tokenClaims(request)
+            .flatMap(claims -> findCreditUseCase.findById(id, claims))
+            .flatMap(credit -> ServerResponse.ok().bodyValue(credit))
+            .onErrorResume(error -> {
+              if (error instanceof NotFoundException) {
+                return ServerResponse.status(404).bodyValue(error.getMessage());
+              }
+              return ServerResponse.status(500)
+                      .bodyValue(Constants.ERROR_GET_CREDIT + error.getMessage());
+            });
+  }
+
   public Mono<ServerResponse> updateCredit(ServerRequest request) {
     Long id = Long.valueOf(request.pathVariable(Constants.ID));
-    String token = request.headers().firstHeader(Constants.HEADER_AUTHORIZATION);
-    return request.bodyToMono(CreditApproved.class)
-            .flatMap(creditParams -> updateCreditUseCase.updateCreditStatus(id, creditParams, token))
+    return tokenClaims(request)
+            .flatMap(claims -> request.bodyToMono(CreditApproved.class)
+                    .flatMap(creditParams -> updateCreditUseCase.updateCreditStatus(id, creditParams, claims)))
             .flatMap(updated -> ServerResponse.ok().bodyValue(updated))
             .onErrorResume(error -> {
               if (error instanceof NotFoundException) {
@@ -62,11 +225,17 @@ public class CreditHandler {
   }
 
   public Mono<ServerResponse> calculateDebtCapacity(ServerRequest request) {
-    String token = request.headers().firstHeader(Constants.HEADER_AUTHORIZATION);
-    return request.bodyToMono(CreditParameters.class)
-            .flatMap(credit -> calculateDebtCapacityUseCase.createCreditAutomatic(credit, token))
+    return tokenClaims(request)
+            .flatMap(claims -> request.bodyToMono(CreditParameters.class)
+                    .flatMap(credit -> calculateDebtCapacityUseCase.createCreditAutomatic(credit, claims)))
             .flatMap(credit -> ServerResponse.ok().bodyValue(credit))
             .onErrorResume(error -> ServerResponse.status(500)
                     .bodyValue(Constants.ERROR_CREATE_CREDIT + error.getMessage()));
   }
+
+  private Mono<TokenClaims> tokenClaims(ServerRequest request) {
+    return Mono.justOrEmpty(request.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE))
+            .cast(TokenClaims.class)
+            .switchIfEmpty(Mono.error(new IllegalStateException(Constants.TOKEN_ERROR)));
+  }
 }
@@ -14,9 +14,13 @@ import org.springdoc.core.annotations.RouterOperations;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
 import static org.springframework.web.reactive.function.server.RequestPredicates.*;
 import static org.springframework.web.reactive.function.server.RouterFunctions.route;
 
@@ -34,6 +38,14 @@ public class CreditRouterRest {
                           operationId = "createCredit",
                           summary = "Crear una nueva solicitud de crédito",
                           description = "Crea una nueva solicitud de crédito con los parámetros proporcionados",
+                          parameters = {
+                                  @Parameter(
+                                          in = ParameterIn.HEADER,
+                                          name = "Idempotency-Key",
+                                          description = "Clave única por intento lógico; los reintentos con la misma clave devuelven la respuesta original",
+                                          schema = @Schema(implementation = String.class, maxLength = 255)
+                                  )
+                          },
                           requestBody = @RequestBody(
                                   required = true,
                                   content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
@@ -47,7 +59,42 @@ public class CreditRouterRest {
                                   ),
                                   @ApiResponse(
                                           responseCode = "400",
-                                          description = "Parámetros incorrectos"
+                                          description = "Parámetros incorrectos o Idempotency-Key inválido"
+                                  ),
+                                  @ApiResponse(
+                                          responseCode = "409",
+                                          description = "Hay una petición en curso con el mismo Idempotency-Key"
+                                  ),
+                                  @ApiResponse(
+                                          responseCode = "422",
+                                          description = "El Idempotency-Key ya se usó con un cuerpo distinto"
+                                  )
+                          }
+                  )
+          ),
+          @RouterOperation(
+                  path = "/api/v1/solicitud/batch",
+                  beanClass = CreditHandler.class,
+                  beanMethod = "createCredits",
+                  operation = @Operation(
+                          operationId = "createCredits",
+                          summary = "Crear solicitudes de crédito en lote",
+                          description = "Recibe un arreglo JSON o un flujo NDJSON de solicitudes y responde en NDJSON "
+                                  + "con un resultado por solicitud, en el orden recibido",
+                          requestBody = @RequestBody(
+                                  required = true,
+                                  content = {
+                                          @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                                  schema = @Schema(implementation = Object.class)),
+                                          @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                                  schema = @Schema(implementation = Object.class))
+                                  }
+                          ),
+                          responses = {
+                                  @ApiResponse(
+                                          responseCode = "200",
+                                          description = "Resultado por solicitud (statusResponse OK o ERROR)",
+                                          content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)
                                   )
                           }
                   )
@@ -72,13 +119,86 @@ public class CreditRouterRest {
                                           name = "size",
                                           description = "Tamaño de la página",
                                           schema = @Schema(implementation = Integer.class, defaultValue = "6")
+                                  ),
+                                  @Parameter(
+                                          in = ParameterIn.QUERY,
+                                          name = "cursor",
+                                          description = "Cursor opaco devuelto en nextCursor. Vacío para la primera página; "
+                                                  + "si se envía se ignora page",
+                                          schema = @Schema(implementation = String.class)
+                                  ),
+                                  @Parameter(
+                                          in = ParameterIn.QUERY,
+                                          name = "estado",
+                                          description = "Estado del préstamo",
+                                          schema = @Schema(implementation = String.class)
+                                  ),
+                                  @Parameter(
+                                          in = ParameterIn.QUERY,
+                                          name = "estadoSolicitud",
+                                          description = "Estado de la solicitud",
+                                          schema = @Schema(implementation = String.class)
+                                  ),
+                                  @Parameter(
+                                          in = ParameterIn.QUERY,
+                                          name = "tipoCredito",
+                                          description = "Id del tipo de crédito",
+                                          schema = @Schema(implementation = Long.class)
+                                  ),
+                                  @Parameter(
+                                          in = ParameterIn.QUERY,
+                                          name = "fechaDesde",
+                                          description = "Fecha de creación mínima (yyyy-MM-dd)",
+                                          schema = @Schema(implementation = LocalDate.class)
+                                  ),
+                                  @Parameter(
+                                          in = ParameterIn.QUERY,
+                                          name = "fechaHasta",
+                                          description = "Fecha de creación máxima (yyyy-MM-dd)",
+                                          schema = @Schema(implementation = LocalDate.class)
+                                  ),
+                                  @Parameter(
+                                          in = ParameterIn.QUERY,
+                                          name = "montoMin",
+                                          description = "Monto mínimo",
+                                          schema = @Schema(implementation = BigDecimal.class)
+                                  ),
+                                  @Parameter(
+                                          in = ParameterIn.QUERY,
+                                          name = "montoMax",
+                                          description = "Monto máximo",
+                                          schema = @Schema(implementation = BigDecimal.class)
+                                  ),
+                                  @Parameter(
+                                          in = ParameterIn.QUERY,
+                                          name = "sort",
+                                          description = "Orden campo[,asc|desc] con campo fecha_creacion, monto o plazo. Por defecto fecha_creacion,desc",
+                                          schema = @Schema(implementation = String.class)
+                                  ),
+                                  @Parameter(
+                                          in = ParameterIn.HEADER,
+                                          name = "If-None-Match",
+                                          description = "ETag de una respuesta previa; si el listado no cambió se responde 304",
+                                          schema = @Schema(implementation = String.class)
                                   )
                           },
                           responses = {
                                   @ApiResponse(
                                           responseCode = "200",
-                                          description = "Lista de solicitudes obtenida correctamente",
-                                          content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+                                          description = "Lista de solicitudes obtenida correctamente. Con Accept: application/x-ndjson "
+                                                  + "se transmite una solicitud por línea y el total llega en el header X-Total-Count",
+                                          content = {
+                                                  @Content(mediaType = MediaType.APPLICATION_JSON_VALUE),
+                                                  @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)
+                                          }
+                                  ),
+                                  @ApiResponse(
+                                          responseCode = "304",
+                                          description = "El listado no cambió desde el ETag enviado en If-None-Match"
+                                  ),
+                                  @ApiResponse(
+                                          responseCode = "400",
+                                          description = "Filtro, orden o cursor inválido, o filtros combinados con cursor o NDJSON"
                                   ),
                                   @ApiResponse(
                                           responseCode = "403",
@@ -89,6 +209,38 @@ public class CreditRouterRest {
           ),
           @RouterOperation(
                   path = "/api/v1/solicitud/{id}",
+                  method = RequestMethod.GET,
+                  beanClass = CreditHandler.class,
+                  beanMethod = "getCredit",
+                  operation = @Operation(
+                          operationId = "getCredit",
+                          summary = "Consultar una solicitud de crédito",
+                          description = "Devuelve la solicitud por ID; solo la ven su dueño y los asesores",
+                          parameters = {
+                                  @Parameter(
+                                          in = ParameterIn.PATH,
+                                          name = "id",
+                                          description = "ID de la solicitud",
+                                          required = true,
+                                          schema = @Schema(implementation = Long.class)
+                                  )
+                          },
+                          responses = {
+                                  @ApiResponse(
+                                          responseCode = "200",
+                                          description = "Solicitud encontrada",
+                                          content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+                                  ),
+                                  @ApiResponse(
+                                          responseCode = "404",
+                                          description = "Solicitud no encontrada o de otro usuario"
+                                  )
+                          }
+                  )
+          ),
+          @RouterOperation(
+                  path = "/api/v1/solicitud/{id}",
+                  method = RequestMethod.PUT,
                   beanClass = CreditHandler.class,
                   beanMethod = "updateCredit",
                   operation = @Operation(
@@ -125,7 +277,9 @@ public class CreditRouterRest {
   })
   public RouterFunction<ServerResponse> routerFunction(CreditHandler handler) {
     return route(POST("/api/v1/solicitud"), handler::createCredit)
+            .andRoute(POST("/api/v1/solicitud/batch"), handler::createCredits)
             .andRoute(GET("/api/v1/solicitudes"), handler::getCreditsList)
+            .andRoute(GET("/api/v1/solicitud/{id:\\d+}"), handler::getCredit)
             .andRoute(PUT("/api/v1/solicitud/{id}"), handler::updateCredit)
             .andRoute(POST("/api/v1/capacidad-capacidad"), handler::calculateDebtCapacity);
   }
@@ -0,0 +1,97 @@
+package co.com.pragma.api.limit;
+
+import co.com.pragma.api.utils.Constants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Descarta con 503 y Retry-After las peticiones que exceden el límite adaptativo de su grupo,
+ * antes de la autenticación y de cualquier trabajo en el pool R2DBC. Las rutas fuera de los
+ * grupos (login, swagger, eventos SSE) no se limitan.
+ */
+@Component
+public class AdaptiveConcurrencyLimitFilter implements WebFilter, Ordered {
+
+  static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+  private final boolean enabled;
+  private final Map<RouteGroup, GradientConcurrencyLimiter> limiters = new EnumMap<>(RouteGroup.class);
+  private final Map<RouteGroup, Counter> rejections = new EnumMap<>(RouteGroup.class);
+  private final Map<RouteGroup, String> retryAfterSeconds = new EnumMap<>(RouteGroup.class);
+
+  public AdaptiveConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+    this.enabled = properties.enabled();
+    properties.groups().forEach((group, groupProperties) -> {
+      GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(groupProperties);
+      limiters.put(group, limiter);
+      String tag = group.name().toLowerCase();
+      Gauge.builder(Constants.CONCURRENCY_LIMIT_METRIC, limiter, GradientConcurrencyLimiter::getLimit)
+              .tag(Constants.ROUTE_GROUP_TAG, tag)
+              .register(meterRegistry);
+      Gauge.builder(Constants.CONCURRENCY_IN_FLIGHT_METRIC, limiter, GradientConcurrencyLimiter::getInFlight)
+              .tag(Constants.ROUTE_GROUP_TAG, tag)
+              .register(meterRegistry);
+      rejections.put(group, Counter.builder(Constants.CONCURRENCY_REJECTED_METRIC)
+              .tag(Constants.ROUTE_GROUP_TAG, tag)
+              .register(meterRegistry));
+      retryAfterSeconds.put(group, String.valueOf(Math.max(1, groupProperties.retryAfter().toSeconds())));
+    });
+  }
+
+  @Override
+  public int getOrder() {
+    return ORDER;
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    RouteGroup group = enabled
+            ? RouteGroup.of(exchange.getRequest().getMethod(), exchange.getRequest().getPath().value())
+            : null;
+    if (group == null) {
+      return chain.filter(exchange);
+    }
+    GradientConcurrencyLimiter.Permit permit = limiters.get(group).tryAcquire();
+    if (permit == null) {
+      rejections.get(group).increment();
+      return overloaded(exchange.getResponse(), retryAfterSeconds.get(group));
+    }
+    long start = System.nanoTime();
+    return chain.filter(exchange)
+            .doFinally(signal -> {
+              if (signal == SignalType.CANCEL) {
+                permit.releaseWithoutSample();
+                return;
+              }
+              HttpStatusCode status = exchange.getResponse().getStatusCode();
+              boolean dropped = signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError());
+              permit.release(System.nanoTime() - start, dropped);
+            });
+  }
+
+  private static Mono<Void> overloaded(ServerHttpResponse response, String retryAfter) {
+    response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+    response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfter);
+    response.getHeaders().setContentType(MediaType.TEXT_PLAIN);
+    DataBuffer body = response.bufferFactory().wrap(Constants.ERROR_OVERLOADED.getBytes(StandardCharsets.UTF_8));
+    return response.writeWith(Mono.just(body));
+  }
+}
@@ -0,0 +1,64 @@
+package co.com.pragma.api.limit;
+
+import co.com.pragma.api.utils.Constants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * groups: límites por grupo de rutas; los grupos sin entrada usan los valores por defecto.
+ */
+@ConfigurationProperties(prefix = "web.concurrency-limit")
+public record ConcurrencyLimitProperties(Boolean enabled, Map<RouteGroup, Group> groups) {
+
+  public ConcurrencyLimitProperties {
+    if (enabled == null) {
+      enabled = true;
+    }
+    Map<RouteGroup, Group> resolved = new EnumMap<>(RouteGroup.class);
+    for (RouteGroup group : RouteGroup.values()) {
+      Group configured = groups != null ? groups.get(group) : null;
+      resolved.put(group, configured != null ? configured : new Group(null, null, null, null, null, null));
+    }
+    groups = Map.copyOf(resolved);
+  }
+
+  /**
+   * tolerance: cuánto puede crecer la latencia reciente sobre la de referencia antes de reducir el límite.
+   * smoothing: peso de cada nuevo cálculo sobre el límite actual (0..1].
+   * retryAfter: valor del header Retry-After en los 503.
+   */
+  public record Group(Integer initialLimit, Integer minLimit, Integer maxLimit, Double tolerance,
+                      Double smoothing, Duration retryAfter) {
+
+    public Group {
+      if (minLimit == null) {
+        minLimit = 4;
+      }
+      if (maxLimit == null) {
+        maxLimit = 500;
+      }
+      if (initialLimit == null) {
+        initialLimit = 50;
+      }
+      if (tolerance == null) {
+        tolerance = 1.5;
+      }
+      if (smoothing == null) {
+        smoothing = 0.2;
+      }
+      if (retryAfter == null) {
+        retryAfter = Duration.ofSeconds(1);
+      }
+      if (minLimit < 1 || maxLimit < minLimit) {
+        throw new IllegalArgumentException(Constants.ERROR_CONCURRENCY_LIMITS);
+      }
+      if (tolerance < 1.0 || smoothing <= 0.0 || smoothing > 1.0) {
+        throw new IllegalArgumentException(Constants.ERROR_CONCURRENCY_GRADIENT);
+      }
+      initialLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package co.com.pragma.api.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Límite de concurrencia por gradiente de latencia, al estilo de Gradient2: compara la latencia
+ * reciente con una media de largo plazo y encoge el límite cuando la reciente crece (hay cola
+ * aguas abajo), o lo deja crecer en sqrt(límite) cuando se mantiene. Las respuestas fallidas
+ * aplican además una reducción multiplicativa (AIMD).
+ *
+ * La admisión es un CAS sobre el contador de peticiones en curso; solo el recálculo del límite,
+ * una vez por muestra, toma el monitor del objeto.
+ */
+public class GradientConcurrencyLimiter {
+
+  private static final double LONG_RTT_SMOOTHING = 0.05;
+  private static final double SHORT_RTT_SMOOTHING = 0.5;
+  private static final double DROP_BACKOFF = 0.9;
+  private static final double MIN_GRADIENT = 0.5;
+  private static final double LONG_RTT_DRIFT_RATIO = 2.0;
+  private static final double LONG_RTT_DECAY = 0.95;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double tolerance;
+  private final double smoothing;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private volatile double limit;
+  private double longRttNanos;
+  private double shortRttNanos;
+
+  public GradientConcurrencyLimiter(ConcurrencyLimitProperties.Group properties) {
+    this.minLimit = properties.minLimit();
+    this.maxLimit = properties.maxLimit();
+    this.tolerance = properties.tolerance();
+    this.smoothing = properties.smoothing();
+    this.limit = properties.initialLimit();
+  }
+
+  /**
+   * Devuelve el permiso admitido, o null si el grupo está en su límite. El permiso guarda cuántas
+   * peticiones había en curso al admitirlo, que es la carga que explica su latencia.
+   */
+  public Permit tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= (int) limit) {
+        return null;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return new Permit(current + 1);
+      }
+    }
+  }
+
+  public final class Permit {
+
+    private final int inFlightAtStart;
+
+    private Permit(int inFlightAtStart) {
+      this.inFlightAtStart = inFlightAtStart;
+    }
+
+    /**
+     * Libera el permiso y registra la muestra. Con dropped=true la petición falló por saturación
+     * aguas abajo (5xx o error) y el límite se reduce sin mirar la latencia.
+     */
+    public void release(long rttNanos, boolean dropped) {
+      inFlight.decrementAndGet();
+      onSample(rttNanos, inFlightAtStart, dropped);
+    }
+
+    /**
+     * Libera el permiso sin muestra, p. ej. cuando el cliente cancela la petición.
+     */
+    public void releaseWithoutSample() {
+      inFlight.decrementAndGet();
+    }
+  }
+
+  private synchronized void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+    double current = limit;
+    if (dropped) {
+      limit = clamp(current * DROP_BACKOFF);
+      return;
+    }
+    if (longRttNanos == 0) {
+      longRttNanos = rttNanos;
+      shortRttNanos = rttNanos;
+      return;
+    }
+    shortRttNanos += (rttNanos - shortRttNanos) * SHORT_RTT_SMOOTHING;
+    longRttNanos += (rttNanos - longRttNanos) * LONG_RTT_SMOOTHING;
+    if (longRttNanos / shortRttNanos > LONG_RTT_DRIFT_RATIO) {
+      // tras una mejora sostenida la referencia se acerca más rápido para no subestimar la cola
+      longRttNanos *= LONG_RTT_DECAY;
+    }
+    if (inFlightAtStart < current / 2) {
+      // con poca carga la latencia no dice nada sobre el límite
+      return;
+    }
+    double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+    double target = current * gradient + Math.sqrt(current);
+    limit = clamp(current * (1 - smoothing) + target * smoothing);
+  }
+
+  private double clamp(double value) {
+    return Math.max(minLimit, Math.min(maxLimit, value));
+  }
+
+  public int getLimit() {
+    return (int) limit;
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+}
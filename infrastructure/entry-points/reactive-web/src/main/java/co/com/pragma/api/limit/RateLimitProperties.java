@@ -0,0 +1,45 @@
+package co.com.pragma.api.limit;
+
+import co.com.pragma.api.utils.Constants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * idleTimeout: tiempo sin peticiones tras el cual se descarta el balde de un usuario.
+ * maxTrackedUsers: tope de baldes en memoria (usuario y ruta).
+ * routes: límites por método y patrón de ruta; las rutas sin entrada no se limitan.
+ */
+@ConfigurationProperties(prefix = "web.rate-limit")
+public record RateLimitProperties(Boolean enabled, Duration idleTimeout, Long maxTrackedUsers, List<Route> routes) {
+
+  public RateLimitProperties {
+    if (enabled == null) {
+      enabled = true;
+    }
+    if (idleTimeout == null) {
+      idleTimeout = Duration.ofMinutes(10);
+    }
+    if (maxTrackedUsers == null) {
+      maxTrackedUsers = 100_000L;
+    }
+    routes = routes != null ? List.copyOf(routes) : List.of();
+  }
+
+  /**
+   * permitsPerSecond: ritmo sostenido por usuario; burst: peticiones seguidas que se admiten.
+   */
+  public record Route(HttpMethod method, String path, Double permitsPerSecond, Integer burst) {
+
+    public Route {
+      if (method == null || path == null || permitsPerSecond == null || permitsPerSecond <= 0) {
+        throw new IllegalArgumentException(Constants.ERROR_RATE_LIMIT_ROUTE);
+      }
+      if (burst == null || burst < 1) {
+        burst = 1;
+      }
+    }
+  }
+}
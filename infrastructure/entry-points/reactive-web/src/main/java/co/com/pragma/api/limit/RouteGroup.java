@@ -0,0 +1,28 @@
+package co.com.pragma.api.limit;
+
+import co.com.pragma.api.utils.Constants;
+import org.springframework.http.HttpMethod;
+
+/**
+ * Grupos de rutas con límite de concurrencia propio: una saturación del listado de asesores
+ * no debe frenar las radicaciones de los clientes, ni al revés.
+ */
+public enum RouteGroup {
+  SUBMISSIONS,
+  ADVISOR_LIST,
+  DEBT_CAPACITY;
+
+  static RouteGroup of(HttpMethod method, String path) {
+    if (HttpMethod.POST.equals(method)) {
+      if (Constants.SOLICITUD_PATH.equals(path) || Constants.SOLICITUD_BATCH_PATH.equals(path)) {
+        return SUBMISSIONS;
+      }
+      if (Constants.DEBT_CAPACITY_PATH.equals(path)) {
+        return DEBT_CAPACITY;
+      }
+    } else if (HttpMethod.GET.equals(method) && Constants.SOLICITUDES_PATH.equals(path)) {
+      return ADVISOR_LIST;
+    }
+    return null;
+  }
+}
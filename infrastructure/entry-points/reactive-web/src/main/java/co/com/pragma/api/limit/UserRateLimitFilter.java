@@ -0,0 +1,62 @@
+package co.com.pragma.api.limit;
+
+import co.com.pragma.api.utils.Constants;
+import co.com.pragma.model.token.TokenClaims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Se ejecuta después de la autorización, con los claims ya en el exchange, y antes de que el
+ * handler decodifique el cuerpo o llame a un caso de uso. Las peticiones sin usuario autenticado
+ * no se limitan aquí: ya las filtró la autorización o son rutas públicas.
+ */
+public class UserRateLimitFilter implements WebFilter {
+  private final UserRateLimiter rateLimiter;
+  private final MeterRegistry meterRegistry;
+
+  public UserRateLimitFilter(UserRateLimiter rateLimiter, MeterRegistry meterRegistry) {
+    this.rateLimiter = rateLimiter;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    TokenClaims claims = exchange.getAttribute(Constants.TOKEN_CLAIMS_ATTRIBUTE);
+    if (claims == null || claims.getUserId() == null) {
+      return chain.filter(exchange);
+    }
+    RateLimitProperties.Route route = rateLimiter.match(exchange.getRequest().getMethod(),
+            exchange.getRequest().getPath().pathWithinApplication());
+    if (route == null) {
+      return chain.filter(exchange);
+    }
+    long retryAfterSeconds = rateLimiter.tryAcquire(route, claims.getUserId());
+    if (retryAfterSeconds == 0) {
+      return chain.filter(exchange);
+    }
+    Counter.builder(Constants.RATE_LIMIT_REJECTED_METRIC)
+            .tag(Constants.ROUTE_TAG, route.method().name() + " " + route.path())
+            .register(meterRegistry)
+            .increment();
+    return tooManyRequests(exchange.getResponse(), retryAfterSeconds);
+  }
+
+  private static Mono<Void> tooManyRequests(ServerHttpResponse response, long retryAfterSeconds) {
+    response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+    response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    response.getHeaders().setContentType(MediaType.TEXT_PLAIN);
+    DataBuffer body = response.bufferFactory().wrap(Constants.ERROR_RATE_LIMITED.getBytes(StandardCharsets.UTF_8));
+    return response.writeWith(Mono.just(body));
+  }
+}
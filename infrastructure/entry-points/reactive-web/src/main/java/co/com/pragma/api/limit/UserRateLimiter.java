@@ -0,0 +1,77 @@
+package co.com.pragma.api.limit;
+
+import co.com.pragma.api.security.TokenBucket;
+import co.com.pragma.api.utils.Constants;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un {@link TokenBucket} por usuario y ruta. La tabla es un caché de Caffeine (hash concurrente
+ * por segmentos, sin bloqueo global) que olvida los baldes sin uso tras idleTimeout; cada balde
+ * se consume con CAS, así que dos peticiones del mismo usuario no se serializan.
+ */
+@Component
+public class UserRateLimiter {
+
+  private final boolean enabled;
+  private final List<LimitedRoute> routes;
+  private final Cache<BucketKey, TokenBucket> buckets;
+
+  public UserRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+    this.enabled = properties.enabled();
+    this.routes = properties.routes().stream()
+            .map(route -> new LimitedRoute(route, PathPatternParser.defaultInstance.parse(route.path())))
+            .toList();
+    this.buckets = Caffeine.newBuilder()
+            .maximumSize(properties.maxTrackedUsers())
+            .expireAfterAccess(properties.idleTimeout())
+            .build();
+    Gauge.builder(Constants.RATE_LIMIT_TRACKED_METRIC, buckets, Cache::estimatedSize)
+            .register(meterRegistry);
+  }
+
+  /**
+   * Ruta limitada que corresponde a la petición, o null si no hay límite configurado.
+   */
+  public RateLimitProperties.Route match(HttpMethod method, PathContainer path) {
+    if (!enabled) {
+      return null;
+    }
+    for (LimitedRoute route : routes) {
+      if (route.route().method().equals(method) && route.pattern().matches(path)) {
+        return route.route();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * 0 si se admite la petición; si no, segundos (redondeados hacia arriba) hasta el siguiente permiso.
+   */
+  public long tryAcquire(RateLimitProperties.Route route, String userId) {
+    long now = System.nanoTime();
+    TokenBucket bucket = buckets.get(new BucketKey(route, userId),
+            key -> new TokenBucket(route.permitsPerSecond(), route.burst(), now));
+    if (bucket.tryAcquire(now)) {
+      return 0;
+    }
+    long nanos = bucket.nanosUntilAvailable(now);
+    return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + TimeUnit.SECONDS.toNanos(1) - 1));
+  }
+
+  private record LimitedRoute(RateLimitProperties.Route route, PathPattern pattern) {
+  }
+
+  private record BucketKey(RateLimitProperties.Route route, String userId) {
+  }
+}
@@ -0,0 +1,62 @@
+package co.com.pragma.api.security;
+
+import co.com.pragma.api.utils.Constants;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conjuntos de authorities inmutables y compartidos por combinación de roles.
+ * Las listas de roles llegan internadas desde el JwtProvider, por lo que la
+ * búsqueda se resuelve casi siempre por identidad y sin asignar memoria.
+ * Combinaciones equivalentes (mismo conjunto en otro orden) comparten instancia.
+ */
+@Component
+public class AuthorityRegistry {
+  private final Map<List<String>, List<GrantedAuthority>> authoritiesByRoles = new ConcurrentHashMap<>();
+  private final Map<List<String>, List<GrantedAuthority>> canonicalAuthorities = new ConcurrentHashMap<>();
+
+  public List<GrantedAuthority> authoritiesFor(List<String> roles) {
+    if (roles == null || roles.isEmpty()) {
+      return List.of();
+    }
+    List<GrantedAuthority> authorities = authoritiesByRoles.get(roles);
+    if (authorities != null) {
+      return authorities;
+    }
+    authorities = canonical(roles);
+    if (authoritiesByRoles.size() < Constants.MAX_ROLE_COMBINATIONS) {
+      authoritiesByRoles.putIfAbsent(List.copyOf(roles), authorities);
+    }
+    return authorities;
+  }
+
+  private List<GrantedAuthority> canonical(List<String> roles) {
+    List<String> canonicalRoles = roles.stream()
+            .map(String::trim)
+            .filter(role -> !role.isEmpty())
+            .distinct()
+            .sorted()
+            .toList();
+    List<GrantedAuthority> authorities = canonicalAuthorities.get(canonicalRoles);
+    if (authorities != null) {
+      return authorities;
+    }
+    authorities = canonicalRoles.stream()
+            .<GrantedAuthority>map(role -> new SimpleGrantedAuthority(Constants.ROLE_PREFIX + role))
+            .toList();
+    if (canonicalAuthorities.size() < Constants.MAX_ROLE_COMBINATIONS) {
+      List<GrantedAuthority> existing = canonicalAuthorities.putIfAbsent(canonicalRoles, authorities);
+      return existing != null ? existing : authorities;
+    }
+    return authorities;
+  }
+
+  int size() {
+    return authoritiesByRoles.size();
+  }
+}
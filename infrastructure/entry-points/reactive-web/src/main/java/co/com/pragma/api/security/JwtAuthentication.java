@@ -0,0 +1,67 @@
+package co.com.pragma.api.security;
+
+import co.com.pragma.api.utils.Constants;
+import co.com.pragma.model.token.TokenClaims;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Authentication liviano sobre los claims ya verificados: no copia las authorities
+ * (vienen compartidas del {@link AuthorityRegistry}) ni guarda credenciales. Nace autenticado y
+ * solo puede des-autenticarse.
+ */
+public class JwtAuthentication implements Authentication {
+  private final TokenClaims claims;
+  private final List<GrantedAuthority> authorities;
+  private boolean authenticated = true;
+
+  public JwtAuthentication(TokenClaims claims, List<GrantedAuthority> authorities) {
+    this.claims = claims;
+    this.authorities = authorities;
+  }
+
+  public TokenClaims getClaims() {
+    return claims;
+  }
+
+  @Override
+  public Collection<? extends GrantedAuthority> getAuthorities() {
+    return authorities;
+  }
+
+  @Override
+  public Object getCredentials() {
+    return null;
+  }
+
+  @Override
+  public Object getDetails() {
+    return null;
+  }
+
+  @Override
+  public Object getPrincipal() {
+    return claims.getUserId();
+  }
+
+  @Override
+  public boolean isAuthenticated() {
+    return authenticated;
+  }
+
+  @Override
+  public void setAuthenticated(boolean isAuthenticated) {
+    if (isAuthenticated) {
+      throw new IllegalArgumentException(Constants.ERROR_AUTHENTICATION_IMMUTABLE);
+    }
+    this.authenticated = false;
+  }
+
+  @Override
+  public String getName() {
+    return claims.getUserId();
+  }
+}
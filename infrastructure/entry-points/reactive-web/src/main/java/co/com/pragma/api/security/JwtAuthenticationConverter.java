@@ -0,0 +1,35 @@
+package co.com.pragma.api.security;
+
+import co.com.pragma.api.utils.Constants;
+import co.com.pragma.model.gateway.JwtProvider;
+import co.com.pragma.model.token.TokenClaims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.java.Log;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+@Log
+@RequiredArgsConstructor
+public class JwtAuthenticationConverter implements ServerAuthenticationConverter {
+  private final JwtProvider jwtProvider;
+  private final RejectedTokenGuard rejectedTokenGuard;
+  private final AuthorityRegistry authorityRegistry;
+
+  @Override
+  public Mono<Authentication> convert(ServerWebExchange exchange) {
+    String token = TokenPreFilter.bearerToken(exchange);
+    if (token != null) {
+      try {
+        TokenClaims claims = jwtProvider.getClaimsFromToken(token);
+        exchange.getAttributes().put(Constants.TOKEN_CLAIMS_ATTRIBUTE, claims);
+        return Mono.just(new JwtAuthentication(claims, authorityRegistry.authoritiesFor(claims.getRoles())));
+      } catch (RuntimeException e) {
+        log.fine(Constants.TOKEN_ERROR);
+        rejectedTokenGuard.recordFailure(token, RejectedTokenGuard.clientIp(exchange));
+      }
+    }
+    return Mono.empty();
+  }
+}
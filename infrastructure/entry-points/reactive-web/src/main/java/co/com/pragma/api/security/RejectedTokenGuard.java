@@ -0,0 +1,91 @@
+package co.com.pragma.api.security;
+
+import co.com.pragma.api.utils.Constants;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recuerda por poco tiempo los tokens rechazados (por digest) y limita por IP
+ * cuántos fallos de autenticación se procesan, para que una ráfaga de tokens
+ * basura no consuma el event loop. Solo cuentan los fallos; una IP sin cuota
+ * solo pasa a verificar firmas de tokens que ya están verificados en caché.
+ */
+@Component
+public class RejectedTokenGuard {
+  private final Cache<String, Boolean> rejectedTokens;
+  private final Cache<String, TokenBucket> failureBuckets;
+  private final double failuresPerSecond;
+  private final int failureBurst;
+
+  public RejectedTokenGuard(TokenPreFilterProperties properties) {
+    this.rejectedTokens = Caffeine.newBuilder()
+            .maximumSize(properties.negativeCacheMaxSize())
+            .expireAfterWrite(properties.negativeCacheTtl())
+            .build();
+    this.failureBuckets = Caffeine.newBuilder()
+            .maximumSize(properties.maxTrackedClients())
+            .expireAfterAccess(properties.clientIdleTimeout())
+            .build();
+    this.failuresPerSecond = properties.failuresPerSecond();
+    this.failureBurst = properties.failureBurst();
+  }
+
+  public boolean isThrottled(String clientIp) {
+    TokenBucket bucket = failureBuckets.getIfPresent(clientIp);
+    return bucket != null && bucket.isExhausted(System.nanoTime());
+  }
+
+  public long retryAfterSeconds(String clientIp) {
+    TokenBucket bucket = failureBuckets.getIfPresent(clientIp);
+    if (bucket == null) {
+      return 0;
+    }
+    long nanos = bucket.nanosUntilAvailable(System.nanoTime());
+    return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + TimeUnit.SECONDS.toNanos(1) - 1));
+  }
+
+  public boolean isRecentlyRejected(String token) {
+    return rejectedTokens.getIfPresent(digest(token)) != null;
+  }
+
+  /**
+   * Registra el fallo y devuelve false cuando la IP ya agotó su cuota de fallos.
+   */
+  public boolean recordFailure(String token, String clientIp) {
+    if (token != null) {
+      rejectedTokens.put(digest(token), Boolean.TRUE);
+    }
+    long now = System.nanoTime();
+    return failureBuckets.get(clientIp, ip -> new TokenBucket(failuresPerSecond, failureBurst, now))
+            .tryAcquire(now);
+  }
+
+  public static String clientIp(ServerWebExchange exchange) {
+    InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+    if (remoteAddress == null) {
+      return Constants.UNKNOWN_CLIENT;
+    }
+    return remoteAddress.getAddress() != null
+            ? remoteAddress.getAddress().getHostAddress()
+            : remoteAddress.getHostString();
+  }
+
+  private static String digest(String token) {
+    try {
+      byte[] hash = MessageDigest.getInstance(Constants.TOKEN_DIGEST_ALGORITHM)
+              .digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
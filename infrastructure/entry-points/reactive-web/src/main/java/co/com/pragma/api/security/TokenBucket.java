@@ -0,0 +1,45 @@
+package co.com.pragma.api.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sin bloqueos implementado como GCRA: solo guarda el instante teórico
+ * en que el balde vuelve a estar lleno y lo avanza con CAS en cada permiso consumido.
+ */
+public class TokenBucket {
+  private final long emissionIntervalNanos;
+  private final long capacityNanos;
+  private final AtomicLong theoreticalArrival;
+
+  public TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+    this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / permitsPerSecond));
+    this.capacityNanos = emissionIntervalNanos * Math.max(1, burst);
+    this.theoreticalArrival = new AtomicLong(nowNanos);
+  }
+
+  public boolean tryAcquire(long nowNanos) {
+    while (true) {
+      long current = theoreticalArrival.get();
+      long next = later(current, nowNanos) + emissionIntervalNanos;
+      if (next - nowNanos > capacityNanos) {
+        return false;
+      }
+      if (theoreticalArrival.compareAndSet(current, next)) {
+        return true;
+      }
+    }
+  }
+
+  public boolean isExhausted(long nowNanos) {
+    return nanosUntilAvailable(nowNanos) > 0;
+  }
+
+  public long nanosUntilAvailable(long nowNanos) {
+    long next = later(theoreticalArrival.get(), nowNanos) + emissionIntervalNanos;
+    return Math.max(0L, next - nowNanos - capacityNanos);
+  }
+
+  private static long later(long a, long b) {
+    return a - b > 0 ? a : b;
+  }
+}
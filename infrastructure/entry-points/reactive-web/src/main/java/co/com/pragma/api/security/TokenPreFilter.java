@@ -0,0 +1,134 @@
+package co.com.pragma.api.security;
+
+import co.com.pragma.api.utils.Constants;
+import co.com.pragma.model.gateway.JwtProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Se ejecuta antes del filtro de autenticación JWT. Descarta sin lanzar excepciones
+ * los tokens que no tienen forma de JWS y los rechazados recientemente; si la IP ya
+ * agotó su cuota de fallos responde 429 en lugar de 401. Con la cuota agotada solo
+ * siguen los tokens ya verificados en caché, así una ráfaga de tokens nuevos no llega
+ * a la verificación de firma. El token normalizado queda en el exchange para el
+ * convertidor.
+ */
+public class TokenPreFilter implements WebFilter {
+  private final RejectedTokenGuard guard;
+  private final JwtProvider jwtProvider;
+  private final int maxTokenLength;
+  private final Counter malformedCounter;
+  private final Counter negativeCacheCounter;
+  private final Counter throttledCounter;
+
+  public TokenPreFilter(RejectedTokenGuard guard, JwtProvider jwtProvider, TokenPreFilterProperties properties,
+                        MeterRegistry meterRegistry) {
+    this.guard = guard;
+    this.jwtProvider = jwtProvider;
+    this.maxTokenLength = properties.maxTokenLength();
+    this.malformedCounter = rejectionCounter(meterRegistry, Constants.REJECTION_MALFORMED);
+    this.negativeCacheCounter = rejectionCounter(meterRegistry, Constants.REJECTION_NEGATIVE_CACHE);
+    this.throttledCounter = rejectionCounter(meterRegistry, Constants.REJECTION_THROTTLED);
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    String token = bearerToken(exchange);
+    if (token == null) {
+      return chain.filter(exchange);
+    }
+
+    if (!isWellFormed(token, maxTokenLength)) {
+      return rejectFailure(exchange, malformedCounter);
+    }
+    if (guard.isRecentlyRejected(token)) {
+      return rejectFailure(exchange, negativeCacheCounter);
+    }
+    String clientIp = RejectedTokenGuard.clientIp(exchange);
+    if (guard.isThrottled(clientIp) && !jwtProvider.isVerified(token)) {
+      return tooManyRequests(exchange, clientIp);
+    }
+    return chain.filter(exchange);
+  }
+
+  /**
+   * Token Bearer sin espacios alrededor, o null si no hay cabecera Bearer. Se normaliza una sola
+   * vez y se guarda en el exchange para que el convertidor y el caché negativo usen el mismo valor.
+   */
+  static String bearerToken(ServerWebExchange exchange) {
+    String token = exchange.getAttribute(Constants.BEARER_TOKEN_ATTRIBUTE);
+    if (token != null) {
+      return token;
+    }
+    String authHeader = exchange.getRequest().getHeaders().getFirst(Constants.AUTHORIZATION_HEADER);
+    if (authHeader == null || !authHeader.startsWith(Constants.BEARER_PREFIX)) {
+      return null;
+    }
+    token = authHeader.substring(Constants.BEARER_PREFIX.length()).trim();
+    exchange.getAttributes().put(Constants.BEARER_TOKEN_ATTRIBUTE, token);
+    return token;
+  }
+
+  static boolean isWellFormed(String token, int maxLength) {
+    int length = token.length();
+    if (length == 0 || length > maxLength || !token.startsWith(Constants.JWT_HEADER_PREFIX)) {
+      return false;
+    }
+    int separators = 0;
+    int segmentStart = 0;
+    for (int i = 0; i < length; i++) {
+      char c = token.charAt(i);
+      if (c == '.') {
+        if (i == segmentStart || ++separators > 2) {
+          return false;
+        }
+        segmentStart = i + 1;
+      } else if (!isBase64Url(c)) {
+        return false;
+      }
+    }
+    return separators == 2 && segmentStart < length;
+  }
+
+  private static boolean isBase64Url(char c) {
+    return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+  }
+
+  private Mono<Void> rejectFailure(ServerWebExchange exchange, Counter reasonCounter) {
+    String clientIp = RejectedTokenGuard.clientIp(exchange);
+    if (!guard.recordFailure(null, clientIp)) {
+      return tooManyRequests(exchange, clientIp);
+    }
+    reasonCounter.increment();
+    return unauthorized(exchange);
+  }
+
+  private Mono<Void> tooManyRequests(ServerWebExchange exchange, String clientIp) {
+    throttledCounter.increment();
+    exchange.getResponse().getHeaders()
+            .set(HttpHeaders.RETRY_AFTER, String.valueOf(guard.retryAfterSeconds(clientIp)));
+    return reject(exchange, HttpStatus.TOO_MANY_REQUESTS);
+  }
+
+  private Mono<Void> unauthorized(ServerWebExchange exchange) {
+    exchange.getResponse().getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, Constants.INVALID_TOKEN_CHALLENGE);
+    return reject(exchange, HttpStatus.UNAUTHORIZED);
+  }
+
+  private Mono<Void> reject(ServerWebExchange exchange, HttpStatus status) {
+    exchange.getResponse().setStatusCode(status);
+    return exchange.getResponse().setComplete();
+  }
+
+  private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+    return Counter.builder(Constants.AUTH_PREFILTER_REJECTED_METRIC)
+            .tag(Constants.REASON_TAG, reason)
+            .register(meterRegistry);
+  }
+}
@@ -0,0 +1,16 @@
+package co.com.pragma.api.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "security.token-prefilter")
+public record TokenPreFilterProperties(
+        int maxTokenLength,
+        Duration negativeCacheTtl,
+        long negativeCacheMaxSize,
+        double failuresPerSecond,
+        int failureBurst,
+        Duration clientIdleTimeout,
+        long maxTrackedClients) {
+}
@@ -7,7 +7,11 @@ public class Constants {
   public static final String USERS_PATH_WILDCARD = USERS_PATH + "/**";
   public static final String REQUESTS_PATH_WILDCARD = API_BASE_PATH + "/solicitudes/**";
   public static final String SOLICITUD_PATH = API_BASE_PATH + "/solicitud";
+  public static final String SOLICITUD_BATCH_PATH = SOLICITUD_PATH + "/batch";
   public static final String SOLICITUDES_PATH = API_BASE_PATH + "/solicitudes";
+  public static final String STATUS_EVENTS_PATH = SOLICITUD_PATH + "/eventos";
+  public static final String SOLICITUD_STATUS_EVENTS_PATH = SOLICITUD_PATH + "/{id}/eventos";
+  public static final String DEBT_CAPACITY_PATH = API_BASE_PATH + "/capacidad-capacidad";
   public static final String ERROR_CREDIT_NOT_FOUND = "Crédito con ID %d no encontrado";
   public static final String ID = "id";
 
@@ -22,13 +26,47 @@ public class Constants {
   public static final String ROLE_USER = "USER";
   public static final String ROLE_CLIENT = "CLIENTE";
   public static final String ROLE_PREFIX = "ROLE_";
+  public static final int MAX_ROLE_COMBINATIONS = 256;
 
   // Auth
   public static final String AUTHORIZATION_HEADER = "Authorization";
   public static final String BEARER_PREFIX = "Bearer ";
+  public static final String TOKEN_CLAIMS_ATTRIBUTE = "tokenClaims";
+  public static final String BEARER_TOKEN_ATTRIBUTE = "bearerToken";
+  public static final String JWT_HEADER_PREFIX = "eyJ";
+  public static final String TOKEN_DIGEST_ALGORITHM = "SHA-256";
+  public static final String INVALID_TOKEN_CHALLENGE = "Bearer error=\"invalid_token\"";
+  public static final String UNKNOWN_CLIENT = "unknown";
+
+  // Métricas del prefiltro de tokens
+  public static final String AUTH_PREFILTER_REJECTED_METRIC = "auth.prefilter.rejected";
+  public static final String REASON_TAG = "reason";
+  public static final String REJECTION_MALFORMED = "malformed";
+  public static final String REJECTION_NEGATIVE_CACHE = "negative_cache";
+  public static final String REJECTION_THROTTLED = "throttled";
+
+  // Límite adaptativo de concurrencia
+  public static final String CONCURRENCY_LIMIT_METRIC = "http.concurrency.limit";
+  public static final String CONCURRENCY_IN_FLIGHT_METRIC = "http.concurrency.inflight";
+  public static final String CONCURRENCY_REJECTED_METRIC = "http.concurrency.rejected";
+  public static final String ROUTE_GROUP_TAG = "group";
+  public static final String ERROR_OVERLOADED = "Servicio saturado, intente de nuevo más tarde";
+  public static final String ERROR_CONCURRENCY_LIMITS = "Se requiere 1 <= min-limit <= max-limit";
+  public static final String ERROR_CONCURRENCY_GRADIENT = "Se requiere tolerance >= 1 y 0 < smoothing <= 1";
+
+  // Límite de peticiones por usuario
+  public static final String RATE_LIMIT_REJECTED_METRIC = "http.rate-limit.rejected";
+  public static final String RATE_LIMIT_TRACKED_METRIC = "http.rate-limit.tracked.users";
+  public static final String ROUTE_TAG = "route";
+  public static final String ERROR_RATE_LIMITED = "Demasiadas solicitudes, intente de nuevo más tarde";
+  public static final String ERROR_RATE_LIMIT_ROUTE = "Cada ruta requiere method, path y permits-per-second > 0";
 
   // Headers
   public static final String HEADER_AUTHORIZATION = "Authorization";
+  public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+  public static final String TOTAL_COUNT_EXACT_HEADER = "X-Total-Count-Exact";
+  public static final String HEADER_IDEMPOTENCY_KEY = "Idempotency-Key";
+  public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
 
   // Query params default
   public static final String DEFAULT_PAGE = "0";
@@ -37,14 +75,38 @@ public class Constants {
   // Mensajes de error
   public static final String ERROR_CREATE_CREDIT = "Ocurrió un error inesperado: ";
   public static final String ERROR_GET_CREDITS = "Error al obtener la lista de créditos: ";
+  public static final String ERROR_GET_CREDIT = "Error al obtener el crédito: ";
   public static final String ERROR_UPDATE_CREDIT = "Error al actualizar el crédito: ";
+  public static final String ERROR_INVALID_FILTER = "Filtro inválido: ";
+  public static final String ERROR_INVALID_IDEMPOTENCY_KEY = "El header Idempotency-Key debe tener entre 1 y 255 caracteres";
+  public static final String ERROR_FILTER_NOT_SUPPORTED = "Los filtros y el orden solo están disponibles en la paginación por página en JSON";
 
   // Tamaños
   public static final String SIZE = "size";
   public static final String PAGE = "page";
+  public static final String CURSOR = "cursor";
+
+  // Filtros y orden del listado
+  public static final String ESTADO = "estado";
+  public static final String ESTADO_SOLICITUD = "estadoSolicitud";
+  public static final String TIPO_CREDITO = "tipoCredito";
+  public static final String FECHA_DESDE = "fechaDesde";
+  public static final String FECHA_HASTA = "fechaHasta";
+  public static final String MONTO_MIN = "montoMin";
+  public static final String MONTO_MAX = "montoMax";
+  public static final String SORT = "sort";
+  public static final String SORT_ASC = "asc";
+  public static final String NDJSON_ETAG_SUFFIX = "-ndjson";
+
+  // Eventos de cambio de estado (SSE)
+  public static final String STATUS_EVENT_NAME = "estado";
+  public static final String STATUS_EVENTS_HEARTBEAT = "keepalive";
+  public static final long STATUS_EVENTS_HEARTBEAT_SECONDS = 15;
+  public static final String ERROR_STATUS_EVENTS = "Error al suscribirse a los cambios de estado: ";
 
   // Errores
   public static final String TOKEN_ERROR = "Token inválido";
+  public static final String ERROR_AUTHENTICATION_IMMUTABLE = "No se puede marcar como autenticado un JwtAuthentication";
 
 
 }
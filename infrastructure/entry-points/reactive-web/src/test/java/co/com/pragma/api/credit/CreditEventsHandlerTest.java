@@ -0,0 +1,89 @@
+package co.com.pragma.api.credit;
+
+import co.com.pragma.api.utils.Constants;
+import co.com.pragma.model.credit.CreditStatusEvent;
+import co.com.pragma.model.token.TokenClaims;
+import co.com.pragma.usecase.CreditStatusStreamUseCase;
+import co.com.pragma.usecase.exceptions.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CreditEventsHandlerTest {
+
+  @Mock
+  private CreditStatusStreamUseCase creditStatusStreamUseCase;
+
+  @Mock
+  private ServerRequest serverRequest;
+
+  private CreditEventsHandler handler;
+
+  private final TokenClaims tokenClaims = TokenClaims.builder().userId("1").build();
+
+  @BeforeEach
+  void setUp() {
+    handler = new CreditEventsHandler(creditStatusStreamUseCase);
+  }
+
+  @Test
+  void streamUserEvents_shouldRespondWithEventStream() {
+    // Arrange
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
+    when(creditStatusStreamUseCase.streamByUser(tokenClaims)).thenReturn(Flux.never());
+
+    // Act & Assert
+    StepVerifier.create(handler.streamUserEvents(serverRequest))
+            .assertNext(response -> {
+              assertEquals(HttpStatus.OK, response.statusCode());
+              assertEquals(MediaType.TEXT_EVENT_STREAM, response.headers().getContentType());
+            })
+            .verifyComplete();
+  }
+
+  @Test
+  void streamSolicitudEvents_foreignOrMissing_404BeforeStreaming() {
+    // Arrange
+    when(serverRequest.pathVariable(Constants.ID)).thenReturn("7");
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
+    when(creditStatusStreamUseCase.currentStatus(7L, tokenClaims))
+            .thenReturn(Mono.error(new NotFoundException("Crédito con id 7 no encontrado")));
+
+    // Act & Assert
+    StepVerifier.create(handler.streamSolicitudEvents(serverRequest))
+            .expectNextMatches(response -> response.statusCode() == HttpStatus.NOT_FOUND)
+            .verifyComplete();
+    verify(creditStatusStreamUseCase, never()).streamBySolicitud(7L, tokenClaims);
+  }
+
+  @Test
+  void streamSolicitudEvents_owner_shouldStreamCurrentStateFirst() {
+    // Arrange
+    when(serverRequest.pathVariable(Constants.ID)).thenReturn("7");
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
+    when(creditStatusStreamUseCase.currentStatus(7L, tokenClaims))
+            .thenReturn(Mono.just(CreditStatusEvent.builder().idSolicitud(7L).estado("APROBADO").build()));
+    when(creditStatusStreamUseCase.streamBySolicitud(7L, tokenClaims)).thenReturn(Flux.never());
+
+    // Act & Assert
+    StepVerifier.create(handler.streamSolicitudEvents(serverRequest))
+            .expectNextMatches(response -> response.statusCode() == HttpStatus.OK)
+            .verifyComplete();
+  }
+}
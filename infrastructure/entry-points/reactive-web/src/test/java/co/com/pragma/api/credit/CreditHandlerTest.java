@@ -2,12 +2,19 @@ package co.com.pragma.api.credit;
 
 import co.com.pragma.api.utils.Constants;
 import co.com.pragma.model.credit.CreditApproved;
+import co.com.pragma.model.credit.CreditCount;
+import co.com.pragma.model.credit.CreditCursor;
 import co.com.pragma.model.credit.CreditDetailDTO;
+import co.com.pragma.model.credit.CreditListFilter;
 import co.com.pragma.model.credit.CreditParameters;
 import co.com.pragma.model.credit.CreditReponse;
+import co.com.pragma.model.credit.CreditSortField;
+import co.com.pragma.model.idempotency.IdempotencyConflictException;
+import co.com.pragma.model.token.TokenClaims;
 import co.com.pragma.usecase.CalculateDebtCapacityUseCase;
 import co.com.pragma.usecase.CreateCreditUseCase;
 import co.com.pragma.usecase.CreditListUseCase;
+import co.com.pragma.usecase.FindCreditUseCase;
 import co.com.pragma.usecase.UpdateCreditUseCase;
 import co.com.pragma.usecase.exceptions.NotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,16 +23,31 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,29 +65,37 @@ class CreditHandlerTest {
   @Mock
   private CalculateDebtCapacityUseCase calculateDebtCapacityUseCase;
 
+  @Mock
+  private FindCreditUseCase findCreditUseCase;
+
   @Mock
   private ServerRequest serverRequest;
 
   private CreditHandler creditHandler;
 
+  private final TokenClaims tokenClaims = TokenClaims.builder()
+          .userId("1")
+          .email("user@mail.com")
+          .build();
+
   @BeforeEach
   void setUp() {
     // Arrange
-    creditHandler = new CreditHandler(createCreditUseCase, creditListUseCase, updateCreditUSeCase, calculateDebtCapacityUseCase);
+    creditHandler = new CreditHandler(createCreditUseCase, creditListUseCase, updateCreditUSeCase, calculateDebtCapacityUseCase,
+            findCreditUseCase);
+    lenient().when(creditListUseCase.getCreditListVersion()).thenReturn(Mono.empty());
   }
 
   @Test
   void createCredit_Success() {
     // Arrange
-    String token = "Bearer token";
     CreditParameters creditParameters = new CreditParameters();
     CreditReponse expectedResponse = new CreditReponse();
 
-    ServerRequest.Headers headers = Mockito.mock(ServerRequest.Headers.class);
-    when(headers.firstHeader(Constants.HEADER_AUTHORIZATION)).thenReturn(token);
-    when(serverRequest.headers()).thenReturn(headers);
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
     when(serverRequest.bodyToMono(CreditParameters.class)).thenReturn(Mono.just(creditParameters));
-    when(createCreditUseCase.createCredit(eq(creditParameters), eq(token))).thenReturn(Mono.just(expectedResponse));
+    stubIdempotencyKey(null);
+    when(createCreditUseCase.createCredit(eq(creditParameters), eq(tokenClaims), isNull())).thenReturn(Mono.just(expectedResponse));
 
     // Act
     Mono<ServerResponse> result = creditHandler.createCredit(serverRequest);
@@ -76,18 +106,107 @@ class CreditHandlerTest {
             .verifyComplete();
   }
 
+  @Test
+  void createCredits_StreamsResultsAsNdjson() {
+    // Arrange
+    Flux<CreditParameters> body = Flux.just(new CreditParameters(), new CreditParameters());
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
+    when(serverRequest.bodyToFlux(CreditParameters.class)).thenReturn(body);
+    when(createCreditUseCase.createCredits(body, tokenClaims)).thenReturn(Flux.just(new CreditReponse()));
+
+    // Act & Assert
+    StepVerifier.create(creditHandler.createCredits(serverRequest))
+            .assertNext(response -> {
+              assertEquals(HttpStatus.OK, response.statusCode());
+              assertEquals(MediaType.APPLICATION_NDJSON, response.headers().getContentType());
+            })
+            .verifyComplete();
+  }
+
   @Test
   void createCredit_Error() {
     // Arrange
-    String token = "Bearer token";
     CreditParameters creditParameters = new CreditParameters();
     String errorMessage = "Error creating credit";
 
-    ServerRequest.Headers headers = Mockito.mock(ServerRequest.Headers.class);
-    when(headers.firstHeader(Constants.HEADER_AUTHORIZATION)).thenReturn(String.valueOf(Optional.of(token)));
-    when(serverRequest.headers()).thenReturn(headers);
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
+    when(serverRequest.bodyToMono(CreditParameters.class)).thenReturn(Mono.just(creditParameters));
+    stubIdempotencyKey(null);
+    when(createCreditUseCase.createCredit(eq(creditParameters), eq(tokenClaims), isNull())).thenReturn(Mono.error(new RuntimeException(errorMessage)));
+
+    // Act
+    Mono<ServerResponse> result = creditHandler.createCredit(serverRequest);
+
+    // Assert
+    StepVerifier.create(result)
+            .expectNextMatches(response -> response.statusCode().equals(HttpStatus.INTERNAL_SERVER_ERROR))
+            .verifyComplete();
+  }
+
+  @Test
+  void createCredit_WithIdempotencyKey_PassesKeyToUseCase() {
+    // Arrange
+    CreditParameters creditParameters = new CreditParameters();
+    stubIdempotencyKey("key-1");
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
+    when(serverRequest.bodyToMono(CreditParameters.class)).thenReturn(Mono.just(creditParameters));
+    when(createCreditUseCase.createCredit(creditParameters, tokenClaims, "key-1")).thenReturn(Mono.just(new CreditReponse()));
+
+    // Act & Assert
+    StepVerifier.create(creditHandler.createCredit(serverRequest))
+            .expectNextMatches(response -> response.statusCode().equals(HttpStatus.OK))
+            .verifyComplete();
+  }
+
+  @Test
+  void createCredit_IdempotencyKeyReused_Returns422() {
+    // Arrange
+    CreditParameters creditParameters = new CreditParameters();
+    stubIdempotencyKey("key-1");
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
+    when(serverRequest.bodyToMono(CreditParameters.class)).thenReturn(Mono.just(creditParameters));
+    when(createCreditUseCase.createCredit(creditParameters, tokenClaims, "key-1")).thenReturn(Mono.error(
+            new IdempotencyConflictException(IdempotencyConflictException.Reason.KEY_REUSED, "reutilizada")));
+
+    // Act & Assert
+    StepVerifier.create(creditHandler.createCredit(serverRequest))
+            .expectNextMatches(response -> response.statusCode().equals(HttpStatus.UNPROCESSABLE_ENTITY))
+            .verifyComplete();
+  }
+
+  @Test
+  void createCredit_IdempotencyKeyInProgress_Returns409() {
+    // Arrange
+    CreditParameters creditParameters = new CreditParameters();
+    stubIdempotencyKey("key-1");
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
     when(serverRequest.bodyToMono(CreditParameters.class)).thenReturn(Mono.just(creditParameters));
-    when(createCreditUseCase.createCredit(eq(creditParameters), eq(token))).thenReturn(Mono.error(new RuntimeException(errorMessage)));
+    when(createCreditUseCase.createCredit(creditParameters, tokenClaims, "key-1")).thenReturn(Mono.error(
+            new IdempotencyConflictException(IdempotencyConflictException.Reason.IN_PROGRESS, "en curso")));
+
+    // Act & Assert
+    StepVerifier.create(creditHandler.createCredit(serverRequest))
+            .expectNextMatches(response -> response.statusCode().equals(HttpStatus.CONFLICT))
+            .verifyComplete();
+  }
+
+  @Test
+  void createCredit_InvalidIdempotencyKey_ReturnsBadRequest() {
+    // Arrange
+    stubIdempotencyKey("k".repeat(Constants.MAX_IDEMPOTENCY_KEY_LENGTH + 1));
+
+    // Act & Assert
+    StepVerifier.create(creditHandler.createCredit(serverRequest))
+            .expectNextMatches(response -> response.statusCode().equals(HttpStatus.BAD_REQUEST))
+            .verifyComplete();
+    Mockito.verifyNoInteractions(createCreditUseCase);
+  }
+
+  @Test
+  void createCredit_WithoutTokenClaims_Error() {
+    // Arrange
+    stubIdempotencyKey(null);
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.empty());
 
     // Act
     Mono<ServerResponse> result = creditHandler.createCredit(serverRequest);
@@ -96,22 +215,22 @@ class CreditHandlerTest {
     StepVerifier.create(result)
             .expectNextMatches(response -> response.statusCode().equals(HttpStatus.INTERNAL_SERVER_ERROR))
             .verifyComplete();
+    Mockito.verifyNoInteractions(createCreditUseCase);
   }
 
   @Test
   void getCreditsList_Success() {
     // Arrange
-    String token = "Bearer token";
     int page = 0;
     int size = 10;
     CreditDetailDTO credit1 = new CreditDetailDTO();
 
     ServerRequest.Headers headers = Mockito.mock(ServerRequest.Headers.class);
-    when(headers.firstHeader(Constants.HEADER_AUTHORIZATION)).thenReturn(token);
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
     when(serverRequest.headers()).thenReturn(headers);
     when(serverRequest.queryParam(Constants.PAGE)).thenReturn(Optional.of(String.valueOf(page)));
     when(serverRequest.queryParam(Constants.SIZE)).thenReturn(Optional.of(String.valueOf(size)));
-    Mockito.doReturn(Flux.just(credit1)).when(creditListUseCase).getCreditsList(eq(page), eq(size), eq(token));
+    Mockito.doReturn(Flux.just(credit1)).when(creditListUseCase).getCreditsList(eq(page), eq(size), eq(tokenClaims));
 
     // Act
     Mono<ServerResponse> result = creditHandler.getCreditsList(serverRequest);
@@ -128,17 +247,16 @@ class CreditHandlerTest {
   @Test
   void getCreditsList_Error() {
     // Arrange
-    String token = "Bearer token";
     int page = 0;
     int size = 10;
     String errorMessage = "Error getting credits";
 
     ServerRequest.Headers headers = Mockito.mock(ServerRequest.Headers.class);
-    when(headers.firstHeader(Constants.HEADER_AUTHORIZATION)).thenReturn(token);
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
     when(serverRequest.headers()).thenReturn(headers);
     when(serverRequest.queryParam(Constants.PAGE)).thenReturn(Optional.of(String.valueOf(page)));
     when(serverRequest.queryParam(Constants.SIZE)).thenReturn(Optional.of(String.valueOf(size)));
-    when(creditListUseCase.getCreditsList(eq(page), eq(size), eq(token))).thenReturn(Flux.error(new RuntimeException(errorMessage)));
+    when(creditListUseCase.getCreditsList(eq(page), eq(size), eq(tokenClaims))).thenReturn(Flux.error(new RuntimeException(errorMessage)));
 
     // Act
     Mono<ServerResponse> result = creditHandler.getCreditsList(serverRequest);
@@ -151,41 +269,205 @@ class CreditHandlerTest {
   @Test
   void getCreditsList_DefaultValues() {
     // Arrange
-    String token = "Bearer token";
     int defaultPage = Integer.parseInt(Constants.DEFAULT_PAGE);
     int defaultSize = Integer.parseInt(Constants.DEFAULT_SIZE);
 
     ServerRequest.Headers headers = Mockito.mock(ServerRequest.Headers.class);
-    when(headers.firstHeader(Constants.HEADER_AUTHORIZATION)).thenReturn(token);
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
     when(serverRequest.headers()).thenReturn(headers);
     when(serverRequest.queryParam(Constants.PAGE)).thenReturn(Optional.empty());
     when(serverRequest.queryParam(Constants.SIZE)).thenReturn(Optional.empty());
-    when(creditListUseCase.getCreditsList(eq(defaultPage), eq(defaultSize), eq(token))).thenReturn(Flux.empty());
+    when(creditListUseCase.getCreditsList(eq(defaultPage), eq(defaultSize), eq(tokenClaims))).thenReturn(Flux.empty());
+
+    // Act
+    Mono<ServerResponse> result = creditHandler.getCreditsList(serverRequest);
+
+    // Assert
+    StepVerifier.create(result)
+            .expectNextMatches(response -> response.statusCode().is2xxSuccessful())
+            .verifyComplete();
+  }
+
+  @Test
+  void getCreditsList_Ndjson_StreamsWithTotalHeader() {
+    // Arrange
+    ServerRequest.Headers headers = Mockito.mock(ServerRequest.Headers.class);
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
+    when(headers.accept()).thenReturn(List.of(MediaType.APPLICATION_NDJSON));
+    when(serverRequest.headers()).thenReturn(headers);
+    when(serverRequest.queryParam(Constants.PAGE)).thenReturn(Optional.of("0"));
+    when(serverRequest.queryParam(Constants.SIZE)).thenReturn(Optional.of("500"));
+    when(creditListUseCase.countCredits())
+            .thenReturn(Mono.just(CreditCount.builder().total(1200L).exact(false).build()));
+    when(creditListUseCase.streamCredits(0, 500, tokenClaims)).thenReturn(Flux.just(new CreditDetailDTO()));
 
     // Act
     Mono<ServerResponse> result = creditHandler.getCreditsList(serverRequest);
 
     // Assert
     StepVerifier.create(result)
+            .assertNext(response -> {
+              assertEquals(HttpStatus.OK, response.statusCode());
+              assertEquals(MediaType.APPLICATION_NDJSON, response.headers().getContentType());
+              assertEquals("1200", response.headers().getFirst(Constants.TOTAL_COUNT_HEADER));
+              assertEquals("false", response.headers().getFirst(Constants.TOTAL_COUNT_EXACT_HEADER));
+            })
+            .verifyComplete();
+    verify(creditListUseCase, never()).getCreditsList(anyInt(), anyInt(), any());
+  }
+
+  @Test
+  void getCreditsList_Ndjson_CountError_500() {
+    // Arrange
+    ServerRequest.Headers headers = Mockito.mock(ServerRequest.Headers.class);
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
+    when(headers.accept()).thenReturn(List.of(MediaType.APPLICATION_NDJSON));
+    when(serverRequest.headers()).thenReturn(headers);
+    when(serverRequest.queryParam(Constants.PAGE)).thenReturn(Optional.empty());
+    when(serverRequest.queryParam(Constants.SIZE)).thenReturn(Optional.empty());
+    when(creditListUseCase.countCredits()).thenReturn(Mono.error(new RuntimeException("db down")));
+
+    // Act & Assert
+    StepVerifier.create(creditHandler.getCreditsList(serverRequest))
+            .expectNextMatches(response -> response.statusCode().is5xxServerError())
+            .verifyComplete();
+  }
+
+  private void stubQueryParams(Map<String, String> params) {
+    when(serverRequest.queryParam(anyString()))
+            .thenAnswer(invocation -> Optional.ofNullable(params.get(invocation.<String>getArgument(0))));
+  }
+
+  @Test
+  void getCreditsList_WithFilterAndSort_UsesFilteredList() {
+    // Arrange
+    ServerRequest.Headers headers = Mockito.mock(ServerRequest.Headers.class);
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
+    when(serverRequest.headers()).thenReturn(headers);
+    stubQueryParams(Map.of(Constants.PAGE, "1", Constants.SIZE, "20", Constants.ESTADO_SOLICITUD, "PENDIENTE",
+            Constants.MONTO_MIN, "1500.50", Constants.SORT, "monto,asc"));
+    CreditListFilter expected = CreditListFilter.builder()
+            .estadoSolicitud("PENDIENTE")
+            .montoMin(new BigDecimal("1500.50"))
+            .sortBy(CreditSortField.MONTO)
+            .ascending(true)
+            .build();
+    when(creditListUseCase.getCreditsList(expected, 1, 20, tokenClaims)).thenReturn(Flux.empty());
+
+    // Act & Assert
+    StepVerifier.create(creditHandler.getCreditsList(serverRequest))
             .expectNextMatches(response -> response.statusCode().is2xxSuccessful())
             .verifyComplete();
+    verify(creditListUseCase, never()).getCreditsList(anyInt(), anyInt(), any());
+  }
+
+  @Test
+  void getCreditsList_MatchingIfNoneMatch_304WithoutQueryingPage() {
+    // Arrange
+    ServerRequest.Headers headers = Mockito.mock(ServerRequest.Headers.class);
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
+    when(headers.header(HttpHeaders.IF_NONE_MATCH)).thenReturn(List.of("\"other\", W/\"42\""));
+    when(serverRequest.headers()).thenReturn(headers);
+    stubQueryParams(Map.of());
+    when(creditListUseCase.getCreditListVersion()).thenReturn(Mono.just(42L));
+
+    // Act & Assert
+    StepVerifier.create(creditHandler.getCreditsList(serverRequest))
+            .assertNext(response -> {
+              assertEquals(HttpStatus.NOT_MODIFIED, response.statusCode());
+              assertEquals("W/\"42\"", response.headers().getETag());
+            })
+            .verifyComplete();
+    verify(creditListUseCase, never()).getCreditsList(anyInt(), anyInt(), any());
+  }
+
+  @Test
+  void getCreditsList_StaleIfNoneMatch_200WithCurrentEtag() {
+    // Arrange
+    ServerRequest.Headers headers = Mockito.mock(ServerRequest.Headers.class);
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
+    when(headers.header(HttpHeaders.IF_NONE_MATCH)).thenReturn(List.of("W/\"41\""));
+    when(serverRequest.headers()).thenReturn(headers);
+    stubQueryParams(Map.of());
+    when(creditListUseCase.getCreditListVersion()).thenReturn(Mono.just(42L));
+    when(creditListUseCase.getCreditsList(0, 10, tokenClaims)).thenReturn(Flux.empty());
+
+    // Act & Assert
+    StepVerifier.create(creditHandler.getCreditsList(serverRequest))
+            .assertNext(response -> {
+              assertEquals(HttpStatus.OK, response.statusCode());
+              assertEquals("W/\"42\"", response.headers().getETag());
+            })
+            .verifyComplete();
+  }
+
+  @Test
+  void getCreditsList_WithoutTokenClaims_Error() {
+    // Arrange
+    ServerRequest.Headers headers = Mockito.mock(ServerRequest.Headers.class);
+    when(serverRequest.headers()).thenReturn(headers);
+    when(serverRequest.queryParam(Constants.PAGE)).thenReturn(Optional.empty());
+    when(serverRequest.queryParam(Constants.SIZE)).thenReturn(Optional.empty());
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.empty());
+
+    // Act & Assert
+    StepVerifier.create(creditHandler.getCreditsList(serverRequest))
+            .expectNextMatches(response -> response.statusCode().equals(HttpStatus.INTERNAL_SERVER_ERROR))
+            .verifyComplete();
+    verifyNoInteractions(creditListUseCase);
+  }
+
+  @Test
+  void getCreditsList_InvalidFilter_400() {
+    // Arrange
+    stubQueryParams(Map.of(Constants.FECHA_DESDE, "31/12/2024"));
+
+    // Act & Assert
+    StepVerifier.create(creditHandler.getCreditsList(serverRequest))
+            .expectNextMatches(response -> response.statusCode() == HttpStatus.BAD_REQUEST)
+            .verifyComplete();
+  }
+
+  @Test
+  void getCreditsList_InvalidCursor_400() {
+    // Arrange
+    stubQueryParams(Map.of(Constants.CURSOR, "no-es-un-cursor"));
+
+    // Act & Assert
+    StepVerifier.create(creditHandler.getCreditsList(serverRequest))
+            .expectNextMatches(response -> response.statusCode() == HttpStatus.BAD_REQUEST)
+            .verifyComplete();
+    verifyNoInteractions(creditListUseCase);
+  }
+
+  @Test
+  void getCreditsList_FilterWithCursor_400() {
+    // Arrange
+    ServerRequest.Headers headers = Mockito.mock(ServerRequest.Headers.class);
+    when(serverRequest.headers()).thenReturn(headers);
+    stubQueryParams(Map.of(Constants.CURSOR, new CreditCursor(LocalDateTime.parse("2024-03-01T08:15:30"), 7L).encode(),
+            Constants.ESTADO, "APROBADO"));
+
+    // Act & Assert
+    StepVerifier.create(creditHandler.getCreditsList(serverRequest))
+            .expectNextMatches(response -> response.statusCode() == HttpStatus.BAD_REQUEST)
+            .verifyComplete();
   }
 
   // AAA: Arrange, Act, Assert
   @Test
   void getCreditsList_Error_500() {
     // Arrange
-    String token = "Bearer token";
     int page = 0;
     int size = 10;
     String errorMessage = "Error al obtener créditos";
 
     ServerRequest.Headers headers = Mockito.mock(ServerRequest.Headers.class);
-    when(headers.firstHeader(Constants.HEADER_AUTHORIZATION)).thenReturn(token);
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
     when(serverRequest.headers()).thenReturn(headers);
     when(serverRequest.queryParam(Constants.PAGE)).thenReturn(Optional.of(String.valueOf(page)));
     when(serverRequest.queryParam(Constants.SIZE)).thenReturn(Optional.of(String.valueOf(size)));
-    when(creditListUseCase.getCreditsList(eq(page), eq(size), eq(token)))
+    when(creditListUseCase.getCreditsList(eq(page), eq(size), eq(tokenClaims)))
             .thenReturn(Flux.error(new RuntimeException(errorMessage)));
 
     // Act
@@ -203,11 +485,10 @@ class CreditHandlerTest {
     Long id = 1L;
     CreditApproved creditApproved = new CreditApproved();
     CreditReponse expectedResponse = new CreditReponse();
-    when(serverRequest.headers()).thenReturn(Mockito.mock(ServerRequest.Headers.class));
-    when(serverRequest.headers().firstHeader(Constants.HEADER_AUTHORIZATION)).thenReturn("Bearer token");
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
     when(serverRequest.pathVariable(Constants.ID)).thenReturn(String.valueOf(id));
     when(serverRequest.bodyToMono(CreditApproved.class)).thenReturn(Mono.just(creditApproved));
-    when(updateCreditUSeCase.updateCreditStatus(eq(id), eq(creditApproved), eq("Bearer token"))).thenReturn(Mono.just(expectedResponse));
+    when(updateCreditUSeCase.updateCreditStatus(eq(id), eq(creditApproved), eq(tokenClaims))).thenReturn(Mono.just(expectedResponse));
 
     // Act
     Mono<ServerResponse> result = creditHandler.updateCredit(serverRequest);
@@ -223,11 +504,10 @@ class CreditHandlerTest {
     // Arrange
     Long id = 1L;
     CreditApproved creditApproved = new CreditApproved();
-    when(serverRequest.headers()).thenReturn(Mockito.mock(ServerRequest.Headers.class));
-    when(serverRequest.headers().firstHeader(Constants.HEADER_AUTHORIZATION)).thenReturn("Bearer token");
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
     when(serverRequest.pathVariable(Constants.ID)).thenReturn(String.valueOf(id));
     when(serverRequest.bodyToMono(CreditApproved.class)).thenReturn(Mono.just(creditApproved));
-    when(updateCreditUSeCase.updateCreditStatus(eq(id), eq(creditApproved), eq("Bearer token")))
+    when(updateCreditUSeCase.updateCreditStatus(eq(id), eq(creditApproved), eq(tokenClaims)))
             .thenReturn(Mono.error(new NotFoundException("Credit not found")));
 
     // Act
@@ -246,12 +526,10 @@ class CreditHandlerTest {
     CreditApproved creditApproved = new CreditApproved();
     String errorMessage = "Internal server error";
 
-    ServerRequest.Headers headers = Mockito.mock(ServerRequest.Headers.class);
-    when(headers.firstHeader(Constants.HEADER_AUTHORIZATION)).thenReturn("Bearer token");
-    when(serverRequest.headers()).thenReturn(headers);
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
     when(serverRequest.pathVariable(Constants.ID)).thenReturn(String.valueOf(id));
     when(serverRequest.bodyToMono(CreditApproved.class)).thenReturn(Mono.just(creditApproved));
-    when(updateCreditUSeCase.updateCreditStatus(eq(id), eq(creditApproved), eq("Bearer token")))
+    when(updateCreditUSeCase.updateCreditStatus(eq(id), eq(creditApproved), eq(tokenClaims)))
             .thenReturn(Mono.error(new RuntimeException(errorMessage)));
 
     // Act
@@ -266,15 +544,12 @@ class CreditHandlerTest {
   @Test
   void calculateDebtCapacity_Success() {
     // Arrange
-    String token = "Bearer token";
     CreditParameters creditParameters = new CreditParameters();
     CreditReponse expectedResponse = new CreditReponse();
 
-    ServerRequest.Headers headers = Mockito.mock(ServerRequest.Headers.class);
-    when(headers.firstHeader(Constants.HEADER_AUTHORIZATION)).thenReturn(token);
-    when(serverRequest.headers()).thenReturn(headers);
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
     when(serverRequest.bodyToMono(CreditParameters.class)).thenReturn(Mono.just(creditParameters));
-    when(calculateDebtCapacityUseCase.createCreditAutomatic(eq(creditParameters), eq(token)))
+    when(calculateDebtCapacityUseCase.createCreditAutomatic(eq(creditParameters), eq(tokenClaims)))
             .thenReturn(Mono.just(expectedResponse));
 
     // Act
@@ -286,18 +561,41 @@ class CreditHandlerTest {
             .verifyComplete();
   }
 
+  @Test
+  void getCredit_Found_ReturnsOk() {
+    // Arrange
+    when(serverRequest.pathVariable(Constants.ID)).thenReturn("7");
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
+    when(findCreditUseCase.findById(7L, tokenClaims)).thenReturn(Mono.just(new CreditParameters()));
+
+    // Act & Assert
+    StepVerifier.create(creditHandler.getCredit(serverRequest))
+            .expectNextMatches(response -> response.statusCode().equals(HttpStatus.OK))
+            .verifyComplete();
+  }
+
+  @Test
+  void getCredit_NotFound_Returns404() {
+    // Arrange
+    when(serverRequest.pathVariable(Constants.ID)).thenReturn("7");
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
+    when(findCreditUseCase.findById(7L, tokenClaims)).thenReturn(Mono.error(new NotFoundException("no existe")));
+
+    // Act & Assert
+    StepVerifier.create(creditHandler.getCredit(serverRequest))
+            .expectNextMatches(response -> response.statusCode().equals(HttpStatus.NOT_FOUND))
+            .verifyComplete();
+  }
+
   @Test
   void calculateDebtCapacity_Error() {
     // Arrange
-    String token = "Bearer token";
     CreditParameters creditParameters = new CreditParameters();
     String errorMessage = "Error calculating debt capacity";
 
-    ServerRequest.Headers headers = Mockito.mock(ServerRequest.Headers.class);
-    when(headers.firstHeader(Constants.HEADER_AUTHORIZATION)).thenReturn(token);
-    when(serverRequest.headers()).thenReturn(headers);
+    when(serverRequest.attribute(Constants.TOKEN_CLAIMS_ATTRIBUTE)).thenReturn(Optional.of(tokenClaims));
     when(serverRequest.bodyToMono(CreditParameters.class)).thenReturn(Mono.just(creditParameters));
-    when(calculateDebtCapacityUseCase.createCreditAutomatic(eq(creditParameters), eq(token)))
+    when(calculateDebtCapacityUseCase.createCreditAutomatic(eq(creditParameters), eq(tokenClaims)))
             .thenReturn(Mono.error(new RuntimeException(errorMessage)));
 
     // Act
@@ -308,4 +606,10 @@ class CreditHandlerTest {
             .expectNextMatches(response -> response.statusCode().is5xxServerError())
             .verifyComplete();
   }
-}
\ No newline at end of file
+
+  private void stubIdempotencyKey(String key) {
+    ServerRequest.Headers headers = Mockito.mock(ServerRequest.Headers.class);
+    when(headers.firstHeader(Constants.HEADER_IDEMPOTENCY_KEY)).thenReturn(key);
+    when(serverRequest.headers()).thenReturn(headers);
+  }
+}
@@ -13,6 +13,7 @@ import java.util.Objects;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 class CreditRouterRestTest {
@@ -34,6 +35,7 @@ class CreditRouterRestTest {
     Mono<ServerResponse> response = Mono.just(Objects.requireNonNull(ServerResponse.ok().build().block()));
     doReturn(response).when(creditHandler).createCredit(any());
     doReturn(response).when(creditHandler).getCreditsList(any());
+    doReturn(response).when(creditHandler).getCredit(any());
   }
 
   @Test
@@ -59,4 +61,20 @@ class CreditRouterRestTest {
     // Verificar
     verify(creditHandler).getCreditsList(any());
   }
-}
\ No newline at end of file
+
+  @Test
+  void shouldRouteGetCreditByNumericIdOnly() {
+    // Ejecutar
+    webTestClient.get()
+            .uri("/api/v1/solicitud/5")
+            .exchange()
+            .expectStatus().isOk();
+    webTestClient.get()
+            .uri("/api/v1/solicitud/eventos")
+            .exchange()
+            .expectStatus().isNotFound();
+
+    // Verificar
+    verify(creditHandler, times(1)).getCredit(any());
+  }
+}
@@ -0,0 +1,72 @@
+package co.com.pragma.api.limit;
+
+import co.com.pragma.api.utils.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AdaptiveConcurrencyLimitFilterTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private AdaptiveConcurrencyLimitFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties(true, Map.of(
+            RouteGroup.ADVISOR_LIST, new ConcurrencyLimitProperties.Group(1, 1, 1, null, null, Duration.ofSeconds(3))));
+    filter = new AdaptiveConcurrencyLimitFilter(properties, meterRegistry);
+  }
+
+  private MockServerWebExchange listRequest() {
+    return MockServerWebExchange.from(MockServerHttpRequest.get(Constants.SOLICITUDES_PATH));
+  }
+
+  private double gauge(String name) {
+    return meterRegistry.get(name).tag(Constants.ROUTE_GROUP_TAG, "advisor_list").gauge().value();
+  }
+
+  @Test
+  void filter_overLimit_shouldRejectWith503AndRetryAfter() {
+    // Arrange: la primera petición queda en curso hasta que se complete el sink
+    Sinks.Empty<Void> pending = Sinks.empty();
+    filter.filter(listRequest(), exchange -> pending.asMono()).subscribe();
+    MockServerWebExchange rejected = listRequest();
+
+    // Act
+    StepVerifier.create(filter.filter(rejected, exchange -> Mono.error(new IllegalStateException("no debe llegar"))))
+            .verifyComplete();
+
+    // Assert
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+    assertEquals("3", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    assertEquals(1.0, meterRegistry.get(Constants.CONCURRENCY_REJECTED_METRIC)
+            .tag(Constants.ROUTE_GROUP_TAG, "advisor_list").counter().count());
+    assertEquals(1.0, gauge(Constants.CONCURRENCY_IN_FLIGHT_METRIC));
+    pending.tryEmitEmpty();
+    assertEquals(0.0, gauge(Constants.CONCURRENCY_IN_FLIGHT_METRIC));
+  }
+
+  @Test
+  void filter_ungroupedRoute_shouldPassThrough() {
+    // Arrange
+    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(Constants.STATUS_EVENTS_PATH));
+
+    // Act & Assert
+    StepVerifier.create(filter.filter(exchange, e -> Mono.empty())).verifyComplete();
+    assertNull(exchange.getResponse().getStatusCode());
+  }
+}
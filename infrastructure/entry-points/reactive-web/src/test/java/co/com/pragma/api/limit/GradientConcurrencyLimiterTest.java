@@ -0,0 +1,109 @@
+package co.com.pragma.api.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GradientConcurrencyLimiterTest {
+
+  private static final long FAST = Duration.ofMillis(10).toNanos();
+  private static final long SLOW = Duration.ofMillis(100).toNanos();
+
+  private GradientConcurrencyLimiter limiter(int initial, int min, int max) {
+    return new GradientConcurrencyLimiter(new ConcurrencyLimitProperties.Group(initial, min, max, 1.5, 0.5, null));
+  }
+
+  private void saturateAndSample(GradientConcurrencyLimiter limiter, long rttNanos, int samples) {
+    for (int i = 0; i < samples; i++) {
+      List<GradientConcurrencyLimiter.Permit> permits = new ArrayList<>();
+      GradientConcurrencyLimiter.Permit permit;
+      while ((permit = limiter.tryAcquire()) != null) {
+        permits.add(permit);
+      }
+      permits.remove(permits.size() - 1).release(rttNanos, false);
+      permits.forEach(GradientConcurrencyLimiter.Permit::releaseWithoutSample);
+    }
+  }
+
+  @Test
+  void tryAcquire_shouldRejectAboveLimit() {
+    // Arrange
+    GradientConcurrencyLimiter limiter = limiter(2, 1, 10);
+
+    // Act & Assert
+    GradientConcurrencyLimiter.Permit first = limiter.tryAcquire();
+    assertNotNull(first);
+    assertNotNull(limiter.tryAcquire());
+    assertNull(limiter.tryAcquire());
+    first.releaseWithoutSample();
+    assertNotNull(limiter.tryAcquire());
+  }
+
+  @Test
+  void release_risingLatency_shouldShrinkLimit() {
+    // Arrange
+    GradientConcurrencyLimiter limiter = limiter(50, 4, 200);
+    saturateAndSample(limiter, FAST, 20);
+    int steady = limiter.getLimit();
+
+    // Act
+    saturateAndSample(limiter, SLOW, 10);
+
+    // Assert
+    assertTrue(limiter.getLimit() < steady, "el límite debe bajar cuando la latencia crece");
+  }
+
+  @Test
+  void release_permitAdmittedUnderLowLoad_shouldIgnoreLaterLoad() {
+    // Arrange
+    GradientConcurrencyLimiter limiter = limiter(10, 4, 40);
+    limiter.tryAcquire().release(FAST, false);
+    GradientConcurrencyLimiter.Permit early = limiter.tryAcquire();
+    List<GradientConcurrencyLimiter.Permit> later = new ArrayList<>();
+    for (int i = 0; i < 9; i++) {
+      later.add(limiter.tryAcquire());
+    }
+
+    // Act
+    early.release(SLOW, false);
+
+    // Assert
+    assertEquals(10, limiter.getLimit(), "la muestra debe usar la carga del momento de la admisión");
+    later.forEach(GradientConcurrencyLimiter.Permit::releaseWithoutSample);
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  void release_stableLatency_shouldGrowUpToMax() {
+    // Arrange
+    GradientConcurrencyLimiter limiter = limiter(10, 4, 40);
+
+    // Act
+    saturateAndSample(limiter, FAST, 200);
+
+    // Assert
+    assertEquals(40, limiter.getLimit());
+  }
+
+  @Test
+  void release_dropped_shouldBackOffButNotBelowMin() {
+    // Arrange
+    GradientConcurrencyLimiter limiter = limiter(10, 8, 40);
+
+    // Act
+    for (int i = 0; i < 10; i++) {
+      limiter.tryAcquire().release(FAST, true);
+    }
+
+    // Assert
+    assertEquals(8, limiter.getLimit());
+    assertEquals(0, limiter.getInFlight());
+  }
+}
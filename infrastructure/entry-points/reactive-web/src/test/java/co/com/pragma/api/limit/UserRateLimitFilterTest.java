@@ -0,0 +1,93 @@
+package co.com.pragma.api.limit;
+
+import co.com.pragma.api.utils.Constants;
+import co.com.pragma.model.token.TokenClaims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class UserRateLimitFilterTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private UserRateLimitFilter filter;
+  private AtomicInteger chainCalls;
+  private WebFilterChain chain;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    RateLimitProperties properties = new RateLimitProperties(true, Duration.ofMinutes(1), 100L, List.of(
+            new RateLimitProperties.Route(HttpMethod.POST, Constants.DEBT_CAPACITY_PATH, 0.01, 2)));
+    filter = new UserRateLimitFilter(new UserRateLimiter(properties, meterRegistry), meterRegistry);
+    chainCalls = new AtomicInteger();
+    chain = exchange -> {
+      chainCalls.incrementAndGet();
+      return Mono.empty();
+    };
+  }
+
+  private MockServerWebExchange exchange(HttpMethod method, String path, String userId) {
+    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.method(method, path));
+    if (userId != null) {
+      exchange.getAttributes().put(Constants.TOKEN_CLAIMS_ATTRIBUTE, TokenClaims.builder().userId(userId).build());
+    }
+    return exchange;
+  }
+
+  @Test
+  void filter_overBurst_shouldRejectWith429AndRetryAfter() {
+    // Arrange
+    StepVerifier.create(filter.filter(exchange(HttpMethod.POST, Constants.DEBT_CAPACITY_PATH, "1"), chain)).verifyComplete();
+    StepVerifier.create(filter.filter(exchange(HttpMethod.POST, Constants.DEBT_CAPACITY_PATH, "1"), chain)).verifyComplete();
+    MockServerWebExchange third = exchange(HttpMethod.POST, Constants.DEBT_CAPACITY_PATH, "1");
+
+    // Act
+    StepVerifier.create(filter.filter(third, chain)).verifyComplete();
+
+    // Assert
+    assertEquals(2, chainCalls.get());
+    assertEquals(HttpStatus.TOO_MANY_REQUESTS, third.getResponse().getStatusCode());
+    assertNotNull(third.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    assertEquals(1.0, meterRegistry.get(Constants.RATE_LIMIT_REJECTED_METRIC).counter().count());
+  }
+
+  @Test
+  void filter_shouldKeepSeparateBucketsPerUser() {
+    // Arrange
+    filter.filter(exchange(HttpMethod.POST, Constants.DEBT_CAPACITY_PATH, "1"), chain).block();
+    filter.filter(exchange(HttpMethod.POST, Constants.DEBT_CAPACITY_PATH, "1"), chain).block();
+
+    // Act
+    filter.filter(exchange(HttpMethod.POST, Constants.DEBT_CAPACITY_PATH, "2"), chain).block();
+
+    // Assert
+    assertEquals(3, chainCalls.get());
+  }
+
+  @Test
+  void filter_unlimitedRouteOrAnonymous_shouldPassThrough() {
+    // Act
+    for (int i = 0; i < 5; i++) {
+      filter.filter(exchange(HttpMethod.GET, Constants.SOLICITUDES_PATH, "1"), chain).block();
+      filter.filter(exchange(HttpMethod.POST, Constants.DEBT_CAPACITY_PATH, null), chain).block();
+    }
+
+    // Assert
+    assertEquals(10, chainCalls.get());
+  }
+}
@@ -0,0 +1,52 @@
+package co.com.pragma.api.security;
+
+import co.com.pragma.api.utils.Constants;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthorityRegistryTest {
+
+  private final AuthorityRegistry registry = new AuthorityRegistry();
+
+  @Test
+  void authoritiesFor_shouldPrefixRolesAndReuseInstance() {
+    // Act
+    List<GrantedAuthority> first = registry.authoritiesFor(List.of(Constants.ROLE_CLIENT));
+    List<GrantedAuthority> second = registry.authoritiesFor(List.of(Constants.ROLE_CLIENT));
+
+    // Assert
+    assertSame(first, second);
+    assertEquals(Constants.ROLE_PREFIX + Constants.ROLE_CLIENT, first.get(0).getAuthority());
+    assertEquals(1, registry.size());
+  }
+
+  @Test
+  void authoritiesFor_equivalentCombinations_shouldShareCanonicalSet() {
+    // Act
+    List<GrantedAuthority> ordered = registry.authoritiesFor(List.of("ASESOR", "CLIENTE"));
+    List<GrantedAuthority> reversed = registry.authoritiesFor(List.of(" CLIENTE", "ASESOR", "ASESOR"));
+
+    // Assert
+    assertSame(ordered, reversed);
+    assertEquals(2, ordered.size());
+  }
+
+  @Test
+  void authoritiesFor_shouldReturnImmutableSets() {
+    List<GrantedAuthority> authorities = registry.authoritiesFor(List.of(Constants.ROLE_ADMIN));
+    assertThrows(UnsupportedOperationException.class, authorities::clear);
+  }
+
+  @Test
+  void authoritiesFor_withoutRoles_shouldReturnEmpty() {
+    assertTrue(registry.authoritiesFor(List.of()).isEmpty());
+    assertTrue(registry.authoritiesFor(null).isEmpty());
+  }
+}
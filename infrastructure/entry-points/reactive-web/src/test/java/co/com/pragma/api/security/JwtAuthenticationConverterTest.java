@@ -0,0 +1,108 @@
+package co.com.pragma.api.security;
+
+import co.com.pragma.api.utils.Constants;
+import co.com.pragma.model.gateway.JwtProvider;
+import co.com.pragma.model.token.TokenClaims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationConverterTest {
+
+  private JwtProvider jwtProvider;
+  private RejectedTokenGuard rejectedTokenGuard;
+  private JwtAuthenticationConverter converter;
+
+  @BeforeEach
+  void setUp() {
+    jwtProvider = Mockito.mock(JwtProvider.class);
+    rejectedTokenGuard = Mockito.mock(RejectedTokenGuard.class);
+    converter = new JwtAuthenticationConverter(jwtProvider, rejectedTokenGuard, new AuthorityRegistry());
+  }
+
+  private MockServerWebExchange exchangeWith(String authorization) {
+    return MockServerWebExchange.from(MockServerHttpRequest.get(Constants.SOLICITUD_PATH)
+            .header(Constants.AUTHORIZATION_HEADER, authorization));
+  }
+
+  @Test
+  void convert_validToken_shouldAuthenticateAndStoreClaims() {
+    // Arrange
+    TokenClaims claims = TokenClaims.builder()
+            .userId("1")
+            .roles(List.of(Constants.ROLE_CLIENT))
+            .build();
+    when(jwtProvider.getClaimsFromToken("token")).thenReturn(claims);
+    MockServerWebExchange exchange = exchangeWith("Bearer token");
+
+    // Act & Assert
+    StepVerifier.create(converter.convert(exchange))
+            .assertNext(authentication -> {
+              assertEquals("1", authentication.getPrincipal());
+              assertEquals(Constants.ROLE_PREFIX + Constants.ROLE_CLIENT,
+                      authentication.getAuthorities().iterator().next().getAuthority());
+            })
+            .verifyComplete();
+    assertEquals(claims, exchange.getAttribute(Constants.TOKEN_CLAIMS_ATTRIBUTE));
+  }
+
+  @Test
+  void setAuthenticated_true_shouldBeRejected() {
+    // Arrange
+    JwtAuthentication authentication = new JwtAuthentication(TokenClaims.builder().userId("1").build(), List.of());
+
+    // Act
+    authentication.setAuthenticated(false);
+
+    // Assert
+    assertThrows(IllegalArgumentException.class, () -> authentication.setAuthenticated(true));
+    assertFalse(authentication.isAuthenticated());
+  }
+
+  @Test
+  void convert_invalidToken_shouldReturnEmpty() {
+    // Arrange
+    when(jwtProvider.getClaimsFromToken("token")).thenThrow(new RuntimeException("Token inválido"));
+    MockServerWebExchange exchange = exchangeWith("Bearer token");
+
+    // Act & Assert
+    StepVerifier.create(converter.convert(exchange))
+            .verifyComplete();
+    assertNull(exchange.getAttribute(Constants.TOKEN_CLAIMS_ATTRIBUTE));
+    verify(rejectedTokenGuard).recordFailure(eq("token"), anyString());
+  }
+
+  @Test
+  void convert_tokenWithSpaces_shouldRecordTheTrimmedToken() {
+    // Arrange
+    when(jwtProvider.getClaimsFromToken("token")).thenThrow(new RuntimeException("Token inválido"));
+    MockServerWebExchange exchange = exchangeWith("Bearer  token ");
+
+    // Act & Assert
+    StepVerifier.create(converter.convert(exchange))
+            .verifyComplete();
+    verify(rejectedTokenGuard).recordFailure(eq("token"), anyString());
+  }
+
+  @Test
+  void convert_withoutBearer_shouldNotParseToken() {
+    StepVerifier.create(converter.convert(exchangeWith("Basic abc")))
+            .verifyComplete();
+    verifyNoInteractions(jwtProvider);
+  }
+}
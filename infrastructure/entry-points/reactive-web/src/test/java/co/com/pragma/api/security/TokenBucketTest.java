@@ -0,0 +1,37 @@
+package co.com.pragma.api.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+  @Test
+  void tryAcquire_shouldAllowBurstThenReject() {
+    // Arrange
+    TokenBucket bucket = new TokenBucket(1, 3, 0);
+
+    // Act & Assert
+    assertTrue(bucket.tryAcquire(0));
+    assertTrue(bucket.tryAcquire(0));
+    assertTrue(bucket.tryAcquire(0));
+    assertFalse(bucket.tryAcquire(0));
+    assertTrue(bucket.isExhausted(0));
+  }
+
+  @Test
+  void tryAcquire_shouldRefillOverTime() {
+    // Arrange
+    TokenBucket bucket = new TokenBucket(1, 1, 0);
+    bucket.tryAcquire(0);
+
+    // Act & Assert
+    assertFalse(bucket.tryAcquire(TimeUnit.MILLISECONDS.toNanos(500)));
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(500), bucket.nanosUntilAvailable(TimeUnit.MILLISECONDS.toNanos(500)));
+    assertTrue(bucket.tryAcquire(TimeUnit.SECONDS.toNanos(1)));
+  }
+}
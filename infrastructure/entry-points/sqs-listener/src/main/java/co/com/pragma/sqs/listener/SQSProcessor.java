@@ -1,40 +1,111 @@
 package co.com.pragma.sqs.listener;
 
+import co.com.pragma.model.credit.CreditStateChange;
 import co.com.pragma.model.credit.MessageCapacidadEndeudamiento;
+import co.com.pragma.sqs.listener.config.SQSBatchProperties;
 import co.com.pragma.sqs.listener.utils.Constants;
 import co.com.pragma.usecase.GuardarCapacidadEndeudamientoUseCase;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import software.amazon.awssdk.services.sqs.model.Message;
 
+import java.util.List;
 import java.util.function.Function;
 
+/**
+ * Los mensajes se validan, se encolan y se aplican en micro-lotes con un único UPDATE. El Mono que
+ * devuelve apply termina cuando termina el lote del mensaje. Si el lote falla se reintenta mensaje
+ * a mensaje, de modo que solo queda sin confirmar el que falla y SQS lo reentrega al vencer la
+ * visibilidad.
+ */
 @Service
 @Log4j2
-@RequiredArgsConstructor
-public class SQSProcessor implements Function<Message, Mono<Void>> {
+public class SQSProcessor implements Function<Message, Mono<Void>>, DisposableBean {
+
   private final GuardarCapacidadEndeudamientoUseCase myUseCase;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Disposable batches;
+  private FluxSink<PendingMessage> pending;
+  private volatile boolean closed;
+
+  public SQSProcessor(GuardarCapacidadEndeudamientoUseCase myUseCase, SQSBatchProperties batchProperties) {
+    this.myUseCase = myUseCase;
+    // FluxSink serializa los next concurrentes de los hilos del listener sin reintentos activos;
+    // bufferTimeout justo no emite lotes sin demanda mientras concatMap aplica el anterior
+    this.batches = Flux.<PendingMessage>create(sink -> this.pending = sink, FluxSink.OverflowStrategy.BUFFER)
+            .bufferTimeout(batchProperties.maxSize(), batchProperties.maxWait(), true)
+            .concatMap(this::applyBatch)
+            .subscribe();
+  }
 
   @Override
   public Mono<Void> apply(Message message) {
+    PendingMessage pendingMessage;
     try {
       String body = message.body();
       log.info(Constants.LOG_BODY_MESSAGE + "{}", body);
-      myUseCase.actualizarEstadoSolicitudCredito(convertirMensaje(body)).subscribe();
+      pendingMessage = new PendingMessage(toStateChange(convertirMensaje(body)), Sinks.one());
     } catch (Exception ex) {
       log.error(Constants.ERROR_PROCESSING_MESSAGE, ex);
       throw new RuntimeException(Constants.ERROR_PROCESSING_MESSAGE, ex);
     }
-    return Mono.empty();
+    if (closed || pending.isCancelled()) {
+      return Mono.error(new IllegalStateException(Constants.ERROR_PROCESSOR_CLOSED));
+    }
+    pending.next(pendingMessage);
+    return pendingMessage.result().asMono();
+  }
+
+  private Mono<Void> applyBatch(List<PendingMessage> batch) {
+    return applyChanges(batch)
+            .onErrorResume(e -> batch.size() > 1, e -> {
+              log.warn(Constants.LOG_BATCH_FALLBACK + batch.size(), e);
+              return Flux.fromIterable(batch).concatMap(message -> applyChanges(List.of(message))).then();
+            })
+            .onErrorResume(e -> fail(batch, e));
+  }
+
+  private Mono<Void> applyChanges(List<PendingMessage> batch) {
+    return Mono.defer(() -> myUseCase.actualizarEstadosSolicitudesCredito(
+                    batch.stream().map(PendingMessage::change).toList()))
+            .doOnSuccess(v -> batch.forEach(message -> message.result().tryEmitEmpty()))
+            .onErrorResume(e -> batch.size() == 1, e -> fail(batch, e));
   }
 
+  private Mono<Void> fail(List<PendingMessage> batch, Throwable e) {
+    log.error(Constants.ERROR_PROCESSING_BATCH + batch.size(), e);
+    batch.forEach(message -> message.result().tryEmitError(e));
+    return Mono.empty();
+  }
 
   MessageCapacidadEndeudamiento convertirMensaje(String body) throws com.fasterxml.jackson.core.JsonProcessingException {
-    ObjectMapper objectMapper = new ObjectMapper();
     return objectMapper.readValue(body, MessageCapacidadEndeudamiento.class);
   }
 
+  CreditStateChange toStateChange(MessageCapacidadEndeudamiento message) {
+    if (message.getIdSolicitud() == null || message.getEstado() == null || message.getEstado().isBlank()) {
+      throw new IllegalArgumentException(Constants.ERROR_INVALID_MESSAGE + message);
+    }
+    return CreditStateChange.builder()
+            .idSolicitud(Long.valueOf(message.getIdSolicitud().trim()))
+            .estado(message.getEstado())
+            .build();
+  }
+
+  @Override
+  public void destroy() {
+    closed = true;
+    pending.complete();
+    batches.dispose();
+  }
+
+  private record PendingMessage(CreditStateChange change, Sinks.One<Void> result) {
+  }
 }
@@ -0,0 +1,22 @@
+package co.com.pragma.sqs.listener.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Micro-lotes de la cola de capacidad: se aplica un lote al juntar maxSize mensajes o al pasar
+ * maxWait desde el primero, lo que ocurra antes. Con maxSize 1 cada mensaje va solo.
+ */
+@ConfigurationProperties(prefix = "entrypoint.sqs.batch")
+public record SQSBatchProperties(Integer maxSize, Duration maxWait) {
+
+  public SQSBatchProperties {
+    if (maxSize == null || maxSize < 1) {
+      maxSize = 50;
+    }
+    if (maxWait == null) {
+      maxWait = Duration.ofMillis(50);
+    }
+  }
+}
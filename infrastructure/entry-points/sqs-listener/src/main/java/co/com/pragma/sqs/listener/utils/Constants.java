@@ -3,4 +3,8 @@ package co.com.pragma.sqs.listener.utils;
 public class Constants {
   public static final String LOG_BODY_MESSAGE = "body: ";
   public static final String ERROR_PROCESSING_MESSAGE = "Error al procesar el mensaje SQS";
+  public static final String ERROR_PROCESSING_BATCH = "Error al aplicar mensajes SQS, se reintentarán: ";
+  public static final String LOG_BATCH_FALLBACK = "Falló el lote de mensajes SQS, se aplica mensaje a mensaje: ";
+  public static final String ERROR_INVALID_MESSAGE = "Mensaje de cambio de estado inválido: ";
+  public static final String ERROR_PROCESSOR_CLOSED = "El procesador de mensajes SQS está cerrado";
 }
@@ -1,33 +1,178 @@
 package co.com.pragma.sqs.listener;
 
+import co.com.pragma.model.credit.CreditStateChange;
 import co.com.pragma.model.credit.MessageCapacidadEndeudamiento;
+import co.com.pragma.sqs.listener.config.SQSBatchProperties;
 import co.com.pragma.usecase.GuardarCapacidadEndeudamientoUseCase;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 import software.amazon.awssdk.services.sqs.model.Message;
 
+import java.time.Duration;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.when;
 
 class SQSProcessorTest {
+  private static final String BODY = "{\"idSolicitud\":\"123\",\"estado\":\"APROBADO\"}";
+
   @Test
   void apply_shouldProcessMessageAndCallUseCase() throws Exception {
     // Arrange
     GuardarCapacidadEndeudamientoUseCase useCase = mock(GuardarCapacidadEndeudamientoUseCase.class);
     Message message = mock(Message.class);
-    String body = "{\"idSolicitud\":\"123\",\"estado\":\"APROBADO\"}";
-    when(message.body()).thenReturn(body);
-    when(useCase.actualizarEstadoSolicitudCredito(any()))
+    when(message.body()).thenReturn(BODY);
+    when(useCase.actualizarEstadosSolicitudesCredito(anyList()))
+            .thenReturn(Mono.empty());
+    SQSProcessor processor = new SQSProcessor(useCase, new SQSBatchProperties(1, Duration.ofMillis(10)));
+
+    // Act
+    processor.apply(message).block(Duration.ofSeconds(5));
+
+    // Assert
+    verify(useCase).actualizarEstadosSolicitudesCredito(anyList());
+    processor.destroy();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void apply_shouldGroupConcurrentMessagesInOneBatch() {
+    // Arrange
+    GuardarCapacidadEndeudamientoUseCase useCase = mock(GuardarCapacidadEndeudamientoUseCase.class);
+    Message first = mock(Message.class);
+    Message second = mock(Message.class);
+    when(first.body()).thenReturn(BODY);
+    when(second.body()).thenReturn("{\"idSolicitud\":\"456\",\"estado\":\"RECHAZADO\"}");
+    when(useCase.actualizarEstadosSolicitudesCredito(anyList()))
+            .thenReturn(Mono.empty());
+    SQSProcessor processor = new SQSProcessor(useCase, new SQSBatchProperties(2, Duration.ofSeconds(5)));
+
+    // Act
+    Mono<Void> firstResult = processor.apply(first);
+    Mono<Void> secondResult = processor.apply(second);
+
+    // Assert
+    StepVerifier.create(Mono.when(firstResult, secondResult))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    ArgumentCaptor<List<CreditStateChange>> batch = ArgumentCaptor.forClass(List.class);
+    verify(useCase, times(1)).actualizarEstadosSolicitudesCredito(batch.capture());
+    assertEquals(List.of(123L, 456L),
+            batch.getValue().stream().map(CreditStateChange::getIdSolicitud).toList());
+    processor.destroy();
+  }
+
+  @Test
+  void apply_shouldFailMessageWhenBatchFails() {
+    // Arrange
+    GuardarCapacidadEndeudamientoUseCase useCase = mock(GuardarCapacidadEndeudamientoUseCase.class);
+    Message message = mock(Message.class);
+    when(message.body()).thenReturn(BODY);
+    when(useCase.actualizarEstadosSolicitudesCredito(anyList()))
+            .thenReturn(Mono.error(new RuntimeException("db down")), Mono.empty());
+    SQSProcessor processor = new SQSProcessor(useCase, new SQSBatchProperties(1, Duration.ofMillis(10)));
+
+    // Act & Assert
+    StepVerifier.create(processor.apply(message))
+            .expectErrorMessage("db down")
+            .verify(Duration.ofSeconds(5));
+    StepVerifier.create(processor.apply(message))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    processor.destroy();
+  }
+
+  @Test
+  void apply_whenBatchFails_shouldRetryEachMessageAndFailOnlyTheInvalidOne() {
+    // Arrange
+    GuardarCapacidadEndeudamientoUseCase useCase = mock(GuardarCapacidadEndeudamientoUseCase.class);
+    Message first = mock(Message.class);
+    Message second = mock(Message.class);
+    when(first.body()).thenReturn(BODY);
+    when(second.body()).thenReturn("{\"idSolicitud\":\"456\",\"estado\":\"RECHAZADO\"}");
+    CreditStateChange firstChange = CreditStateChange.builder().idSolicitud(123L).estado("APROBADO").build();
+    CreditStateChange secondChange = CreditStateChange.builder().idSolicitud(456L).estado("RECHAZADO").build();
+    when(useCase.actualizarEstadosSolicitudesCredito(List.of(firstChange, secondChange)))
+            .thenReturn(Mono.error(new RuntimeException("fk")));
+    when(useCase.actualizarEstadosSolicitudesCredito(List.of(firstChange)))
+            .thenReturn(Mono.error(new RuntimeException("fk")));
+    when(useCase.actualizarEstadosSolicitudesCredito(List.of(secondChange)))
             .thenReturn(Mono.empty());
-    SQSProcessor processor = new SQSProcessor(useCase);
+    SQSProcessor processor = new SQSProcessor(useCase, new SQSBatchProperties(2, Duration.ofSeconds(5)));
 
     // Act
-    processor.apply(message).block();
+    Mono<Void> firstResult = processor.apply(first);
+    Mono<Void> secondResult = processor.apply(second);
 
     // Assert
-    org.mockito.Mockito.verify(useCase).actualizarEstadoSolicitudCredito(org.mockito.Mockito.any());
+    StepVerifier.create(Mono.zip(firstResult.thenReturn(true).onErrorReturn(false),
+                    secondResult.thenReturn(true).onErrorReturn(false)))
+            .expectNextMatches(results -> !results.getT1() && results.getT2())
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    processor.destroy();
+  }
+
+  @Test
+  void apply_whileSlowBatchIsApplying_shouldStillApplyLaterMessages() {
+    // Arrange: el timeout del buffer vence mientras el lote anterior sigue en la base de datos
+    GuardarCapacidadEndeudamientoUseCase useCase = mock(GuardarCapacidadEndeudamientoUseCase.class);
+    Message message = mock(Message.class);
+    when(message.body()).thenReturn(BODY);
+    when(useCase.actualizarEstadosSolicitudesCredito(anyList()))
+            .thenAnswer(invocation -> Mono.delay(Duration.ofMillis(20)).then());
+    SQSProcessor processor = new SQSProcessor(useCase, new SQSBatchProperties(1, Duration.ofMillis(1)));
+
+    // Act
+    Mono<Void> results = Flux.range(0, 10)
+            .flatMap(i -> processor.apply(message))
+            .then();
+
+    // Assert
+    StepVerifier.create(results)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    verify(useCase, times(10)).actualizarEstadosSolicitudesCredito(anyList());
+    processor.destroy();
+  }
+
+  @Test
+  void apply_whenUseCaseThrows_shouldFailMessageAndKeepProcessing() {
+    // Arrange
+    GuardarCapacidadEndeudamientoUseCase useCase = mock(GuardarCapacidadEndeudamientoUseCase.class);
+    Message message = mock(Message.class);
+    when(message.body()).thenReturn(BODY);
+    when(useCase.actualizarEstadosSolicitudesCredito(anyList()))
+            .thenThrow(new IllegalArgumentException("estado"))
+            .thenReturn(Mono.empty());
+    SQSProcessor processor = new SQSProcessor(useCase, new SQSBatchProperties(1, Duration.ofMillis(10)));
+
+    // Act & Assert
+    StepVerifier.create(processor.apply(message))
+            .expectError(IllegalArgumentException.class)
+            .verify(Duration.ofSeconds(5));
+    StepVerifier.create(processor.apply(message))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    processor.destroy();
+  }
+
+  @Test
+  void apply_whenIdSolicitudIsNotNumeric_shouldThrowBeforeEnqueueing() {
+    GuardarCapacidadEndeudamientoUseCase useCase = mock(GuardarCapacidadEndeudamientoUseCase.class);
+    Message message = mock(Message.class);
+    when(message.body()).thenReturn("{\"idSolicitud\":\"abc\",\"estado\":\"APROBADO\"}");
+    SQSProcessor processor = new SQSProcessor(useCase, new SQSBatchProperties(1, Duration.ofMillis(10)));
+
+    Assertions.assertThrows(RuntimeException.class, () -> processor.apply(message));
+    verifyNoInteractions(useCase);
+    processor.destroy();
   }
 
   @Test
@@ -35,20 +180,21 @@ class SQSProcessorTest {
     GuardarCapacidadEndeudamientoUseCase useCase = mock(GuardarCapacidadEndeudamientoUseCase.class);
     Message message = mock(Message.class);
     when(message.body()).thenReturn("invalid-json");
-    SQSProcessor processor = new SQSProcessor(useCase);
+    SQSProcessor processor = new SQSProcessor(useCase, new SQSBatchProperties(null, null));
 
     Assertions.assertThrows(RuntimeException.class, () -> {
       processor.apply(message).block();
     });
+    verifyNoInteractions(useCase);
   }
 
   @Test
   void convertirMensaje_shouldReturnParsedObject() throws Exception {
-    SQSProcessor processor = new SQSProcessor(mock(GuardarCapacidadEndeudamientoUseCase.class));
-    String body = "{\"idSolicitud\":\"123\",\"estado\":\"APROBADO\"}";
-    MessageCapacidadEndeudamiento result = processor.convertirMensaje(body);
+    SQSProcessor processor = new SQSProcessor(mock(GuardarCapacidadEndeudamientoUseCase.class),
+            new SQSBatchProperties(null, null));
+    MessageCapacidadEndeudamiento result = processor.convertirMensaje(BODY);
     assertNotNull(result);
     assertEquals("123", result.getIdSolicitud());
     assertEquals("APROBADO", result.getEstado());
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,63 @@
+package co.com.pragma.benchmarks;
+
+import co.com.pragma.api.security.AuthorityRegistry;
+import co.com.pragma.api.security.JwtAuthenticationConverter;
+import co.com.pragma.api.security.RejectedTokenGuard;
+import co.com.pragma.r2dbc.jwt.JwtProviderImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la conversión completa del header Authorization a {@link Authentication}
+ * que ejecuta el filtro de autenticación en cada request.
+ * {@link #newExchange()} es la línea base del costo de crear el exchange.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AuthenticationConverterBenchmark {
+
+  @Param({"SMALL", "LARGE"})
+  public String tokenSize;
+
+  @Param({"0", "10000"})
+  public long cacheMaxSize;
+
+  private JwtAuthenticationConverter converter;
+  private MockServerHttpRequest request;
+
+  @Setup
+  public void setUp() {
+    TokenFixtures.silenceLogs(JwtProviderImpl.class, JwtAuthenticationConverter.class);
+    JwtProviderImpl jwtProvider = new JwtProviderImpl(TokenFixtures.SECRET, 3600, cacheMaxSize, new SimpleMeterRegistry());
+    converter = new JwtAuthenticationConverter(jwtProvider,
+            new RejectedTokenGuard(TokenFixtures.preFilterProperties()), new AuthorityRegistry());
+    request = MockServerHttpRequest.post("/api/v1/solicitud")
+            .header(HttpHeaders.AUTHORIZATION,
+                    TokenFixtures.BEARER + TokenFixtures.token(TokenFixtures.TokenSize.valueOf(tokenSize)))
+            .build();
+  }
+
+  @Benchmark
+  public MockServerWebExchange newExchange() {
+    return MockServerWebExchange.from(request);
+  }
+
+  @Benchmark
+  public Authentication convert() {
+    return converter.convert(MockServerWebExchange.from(request)).block();
+  }
+}
@@ -0,0 +1,71 @@
+package co.com.pragma.benchmarks;
+
+import co.com.pragma.model.token.TokenClaims;
+import co.com.pragma.r2dbc.jwt.JwtProviderImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtProviderBenchmark {
+
+  @Param({"SMALL", "LARGE"})
+  public String tokenSize;
+
+  /** 0 deshabilita el cache de claims verificados y mide el parseo completo. */
+  @Param({"0", "10000"})
+  public long cacheMaxSize;
+
+  private JwtProviderImpl jwtProvider;
+  private String token;
+  private String bearerToken;
+
+  @Setup
+  public void setUp() {
+    TokenFixtures.silenceLogs(JwtProviderImpl.class);
+    jwtProvider = new JwtProviderImpl(TokenFixtures.SECRET, 3600, cacheMaxSize, new SimpleMeterRegistry());
+    token = TokenFixtures.token(TokenFixtures.TokenSize.valueOf(tokenSize));
+    bearerToken = TokenFixtures.BEARER + token;
+  }
+
+  @Benchmark
+  public boolean validateToken() {
+    return jwtProvider.validateToken(token);
+  }
+
+  @Benchmark
+  public TokenClaims getClaimsFromToken() {
+    return jwtProvider.getClaimsFromToken(token);
+  }
+
+  @Benchmark
+  public String getUserIdFromToken() {
+    return jwtProvider.getUserIdFromToken(bearerToken);
+  }
+
+  @Benchmark
+  public String getEmailFromToken() {
+    return jwtProvider.getEmailFromToken(bearerToken);
+  }
+
+  @Benchmark
+  public Double getSalarioFromToken() {
+    return jwtProvider.getSalarioFromToken(bearerToken);
+  }
+
+  @Benchmark
+  public List<String> getRoleFromToken() {
+    return jwtProvider.getRoleFromToken(token);
+  }
+}
@@ -0,0 +1,116 @@
+package co.com.pragma.benchmarks;
+
+import co.com.pragma.r2dbc.credit.repository.CreditApplicationRepository;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.spi.Connection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de las consultas de listado e inserción con y sin caché de sentencias preparadas y
+ * transferencia binaria. Usa una sola conexión para medir el costo por sentencia y no la espera
+ * del pool. Cada inserción se confirma sola y las filas de prueba se borran al final. Necesita una
+ * base real: r2dbcHost, r2dbcPort, r2dbcDataBase, r2dbcUsername y r2dbcPassword en el entorno.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatementCacheBenchmark {
+
+  private static final String BENCHMARK_EMAIL = "benchmark.statement-cache@crediya.local";
+  private static final String LIST_SQL = CreditApplicationRepository.CREDIT_DETAILS_SELECT
+          + " ORDER BY sc.fecha_creacion DESC, sc.id DESC LIMIT $1";
+  private static final String INSERT_SQL = "INSERT INTO crediya.solicitudes_credito (user_id, monto, plazo_meses,"
+          + " id_tipo_credito, estado, email_notificaciones, fecha_creacion) VALUES ($1, $2, $3, $4, $5, $6, now())"
+          + " RETURNING id";
+  private static final String SAMPLE_ROW_SQL =
+          "SELECT user_id, id_tipo_credito FROM crediya.solicitudes_credito LIMIT 1";
+  private static final String CLEANUP_SQL = "DELETE FROM crediya.solicitudes_credito WHERE email_notificaciones = $1";
+
+  /** 0 deshabilita el caché de sentencias del driver; 256 es el valor por defecto del servicio. */
+  @Param({"0", "256"})
+  public int preparedStatementCacheQueries;
+
+  @Param({"false", "true"})
+  public boolean forceBinary;
+
+  private Connection connection;
+  private Long userId;
+  private Long idTipoCredito;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    PostgresqlConnectionFactory factory = new PostgresqlConnectionFactory(PostgresqlConnectionConfiguration.builder()
+            .host(requiredEnv("r2dbcHost"))
+            .port(Integer.parseInt(System.getenv().getOrDefault("r2dbcPort", "5432")))
+            .database(requiredEnv("r2dbcDataBase"))
+            .username(requiredEnv("r2dbcUsername"))
+            .password(requiredEnv("r2dbcPassword"))
+            .preparedStatementCacheQueries(preparedStatementCacheQueries)
+            .forceBinary(forceBinary)
+            .build());
+    connection = Mono.from(factory.create()).block();
+    List<Long> sample = Flux.from(connection.createStatement(SAMPLE_ROW_SQL).execute())
+            .flatMap(result -> result.map((row, metadata) ->
+                    List.of(row.get("user_id", Long.class), row.get("id_tipo_credito", Long.class))))
+            .blockFirst();
+    if (sample == null) {
+      throw new IllegalStateException("crediya.solicitudes_credito necesita al menos una fila");
+    }
+    userId = sample.get(0);
+    idTipoCredito = sample.get(1);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    Flux.from(connection.createStatement(CLEANUP_SQL).bind("$1", BENCHMARK_EMAIL).execute())
+            .flatMap(result -> result.getRowsUpdated())
+            .blockLast();
+    Mono.from(connection.close()).block();
+  }
+
+  @Benchmark
+  public Long listado() {
+    return Flux.from(connection.createStatement(LIST_SQL).bind("$1", 20).execute())
+            .flatMap(result -> result.map((row, metadata) -> row.get("id", Long.class)))
+            .count()
+            .block();
+  }
+
+  @Benchmark
+  public Long insert() {
+    return Flux.from(connection.createStatement(INSERT_SQL)
+                    .bind("$1", userId)
+                    .bind("$2", new BigDecimal("1500000.00"))
+                    .bind("$3", 36)
+                    .bind("$4", idTipoCredito)
+                    .bind("$5", "PENDIENTE")
+                    .bind("$6", BENCHMARK_EMAIL)
+                    .execute())
+            .flatMap(result -> result.map((row, metadata) -> row.get("id", Long.class)))
+            .blockFirst();
+  }
+
+  private static String requiredEnv(String name) {
+    String value = System.getenv(name);
+    if (value == null || value.isBlank()) {
+      throw new IllegalStateException("Falta la variable de entorno " + name);
+    }
+    return value;
+  }
+}
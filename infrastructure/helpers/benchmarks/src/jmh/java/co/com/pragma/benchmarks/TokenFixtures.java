@@ -0,0 +1,68 @@
+package co.com.pragma.benchmarks;
+
+import co.com.pragma.api.security.TokenPreFilterProperties;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+final class TokenFixtures {
+  static final String SECRET = "ClaveSuperSecretaDeBenchmarkQueDebeTenerAlMenos256Bits!";
+  static final String BEARER = "Bearer ";
+
+  private TokenFixtures() {
+  }
+
+  /**
+   * SMALL replica el token que emite hoy el servicio de autenticación (~400 bytes);
+   * LARGE agrega perfil y permisos como lo hacen los asesores (~1.5 KB).
+   */
+  enum TokenSize { SMALL, LARGE }
+
+  static String token(TokenSize size) {
+    long now = System.currentTimeMillis();
+    JwtBuilder builder = Jwts.builder()
+            .setSubject("1024")
+            .claim("objectId", "1024")
+            .claim("correoElectronico", Base64.getEncoder()
+                    .encodeToString("cliente.benchmark@crediya.com".getBytes(StandardCharsets.UTF_8)))
+            .claim("salarioBase", 4500000.0)
+            .setIssuedAt(new Date(now))
+            .setExpiration(new Date(now + 3600000));
+
+    if (size == TokenSize.LARGE) {
+      builder.claim("roles", "CLIENTE, ASESOR, ADMIN, USER")
+              .claim("nombres", "María Fernanda")
+              .claim("apellidos", "Rodríguez Gutiérrez")
+              .claim("direccion", "Calle 100 # 19-61 Oficina 802, Bogotá D.C.")
+              .claim("telefono", "+57 300 123 4567")
+              .claim("permisos", IntStream.range(0, 30)
+                      .mapToObj(i -> "solicitudes:permiso-" + i)
+                      .toList());
+    } else {
+      builder.claim("roles", "CLIENTE");
+    }
+
+    return builder.signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+            .compact();
+  }
+
+  static TokenPreFilterProperties preFilterProperties() {
+    return new TokenPreFilterProperties(4096, Duration.ofSeconds(60), 50000, 5, 20,
+            Duration.ofMinutes(5), 100000);
+  }
+
+  static void silenceLogs(Class<?>... classes) {
+    // Los loggers JUL de los adaptadores escriben por consola en cada llamada
+    List.of(classes).forEach(c -> Logger.getLogger(c.getName()).setLevel(Level.WARNING));
+  }
+}